@@ -0,0 +1,63 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.analytics.BookingAnalytics;
+import com.skypay.hotel.analytics.BookingStatistics;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.store.BookingStore;
+import com.skypay.hotel.store.BookingStoreType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics of one year (revenue per room type, length of stay, booked rooms per
+ * night) over a booking history spread across 3 years, by fork/join scans of the
+ * store columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g", "-XX:MaxDirectMemorySize=2g"})
+public class AnalyticsBenchmark {
+
+    private static final int ROOMS = 5000;
+    private static final LocalDate ORIGIN = LocalDate.of(2030, 1, 1);
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    @Param({"1000000", "10000000"})
+    private int bookingCount;
+
+    @Param({"COLUMNAR", "OFF_HEAP"})
+    private BookingStoreType storeType;
+
+    private BookingAnalytics analytics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BookingStore store = storeType.create();
+        Booking booking = Booking.builder().userId(1).pricePerNight(1000).build();
+        for (int i = 0; i < bookingCount; i++) {
+            // 1 to 7 nights, check-ins spread over 3 years
+            int nights = i % 7 + 1;
+            LocalDate checkIn = ORIGIN.plusDays(i % 1095);
+            booking.setId(i + 1);
+            booking.setRoomNumber(i % ROOMS + 1);
+            booking.setRoomType(ROOM_TYPES[i % ROOM_TYPES.length]);
+            booking.setCheckIn(checkIn);
+            booking.setCheckOut(checkIn.plusDays(nights));
+            booking.setNumberOfNights(nights);
+            booking.setTotalCost(nights * 1000);
+            store.append(booking);
+        }
+        analytics = new BookingAnalytics(store);
+    }
+
+    @Benchmark
+    public BookingStatistics yearStatistics() {
+        return analytics.statistics(ORIGIN.plusYears(1), ORIGIN.plusYears(2));
+    }
+}
@@ -0,0 +1,84 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability check: linear scan over every booking (previous implementation)
+ * versus the per-room interval index and the per-room night calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AvailabilityBenchmark {
+
+    private static final int ROOMS = 500;
+    private static final LocalDate ORIGIN = LocalDate.of(2030, 1, 1);
+
+    @Param({"1000", "100000"})
+    private int bookingCount;
+
+    private final List<Booking> bookings = new ArrayList<>();
+    private final BookingIntervalIndex index = new BookingIntervalIndex();
+    private final RoomCalendar calendar = new RoomCalendar(index,
+            Clock.fixed(ORIGIN.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    @Setup
+    public void setUp() {
+        // Back-to-back 2-night stays, spread round-robin over the rooms
+        for (int i = 0; i < bookingCount; i++) {
+            int roomNumber = i % ROOMS + 1;
+            LocalDate checkIn = ORIGIN.plusDays((long) (i / ROOMS) * 3);
+            LocalDate checkOut = checkIn.plusDays(2);
+            bookings.add(Booking.builder()
+                    .id(i + 1)
+                    .roomNumber(roomNumber)
+                    .checkIn(checkIn)
+                    .checkOut(checkOut)
+                    .build());
+            index.add(roomNumber, i + 1, checkIn, checkOut);
+            calendar.add(roomNumber, checkIn, checkOut);
+        }
+    }
+
+    @Benchmark
+    public boolean linearScan() {
+        int roomNumber = ThreadLocalRandom.current().nextInt(ROOMS) + 1;
+        LocalDate checkIn = randomCheckIn();
+        LocalDate checkOut = checkIn.plusDays(1);
+        return bookings.stream()
+                .filter(b -> b.getRoomNumber().equals(roomNumber))
+                .noneMatch(b -> !b.getCheckOut().isBefore(checkIn) && !checkOut.isBefore(b.getCheckIn()));
+    }
+
+    @Benchmark
+    public boolean intervalIndex() {
+        int roomNumber = ThreadLocalRandom.current().nextInt(ROOMS) + 1;
+        LocalDate checkIn = randomCheckIn();
+        return index.isFree(roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    public boolean roomCalendar() {
+        int roomNumber = ThreadLocalRandom.current().nextInt(ROOMS) + 1;
+        LocalDate checkIn = randomCheckIn();
+        return calendar.isFree(roomNumber, checkIn, checkIn.plusDays(1));
+    }
+
+    private LocalDate randomCheckIn() {
+        int days = Math.max(1, bookingCount / ROOMS * 3);
+        return ORIGIN.plusDays(ThreadLocalRandom.current().nextInt(days));
+    }
+}
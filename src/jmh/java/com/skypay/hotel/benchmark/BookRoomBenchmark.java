@@ -0,0 +1,75 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full bookRoom path (validation, lookups, availability, charge, creation).
+ * Every call books a distinct free period so no request is rejected; the
+ * hotel is rebuilt for each iteration to keep the booking count bounded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookRoomBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int entityCount;
+
+    private HotelServiceImpl hotel;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        hotel = HotelFixture.create(entityCount);
+    }
+
+    /**
+     * Per-thread request sequence: thread t issues t, t + threads, t + 2 * threads...
+     * so threads never compete for the same (room, period).
+     */
+    @State(Scope.Thread)
+    public static class RequestCursor {
+
+        private long next;
+        private int stride;
+
+        @Setup(Level.Iteration)
+        public void setUp(BenchmarkParams benchmarkParams, ThreadParams threadParams) {
+            next = threadParams.getThreadIndex();
+            stride = benchmarkParams.getThreads();
+        }
+
+        BookingRequest nextRequest(int entityCount) {
+            long sequence = next;
+            next += stride;
+            int id = (int) (sequence % entityCount) + 1;
+            // Periods [d, d + 1] every 2 days never overlap, even with inclusive bounds
+            LocalDate checkIn = HotelFixture.ORIGIN.plusDays(10 + 2 * (sequence / entityCount));
+            return BookingRequest.builder()
+                    .userId(id)
+                    .roomNumber(id)
+                    .checkIn(checkIn)
+                    .checkOut(checkIn.plusDays(1))
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public void bookRoom(RequestCursor cursor) {
+        hotel.bookRoom(cursor.nextRequest(entityCount));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void bookRoomParallel(RequestCursor cursor) {
+        hotel.bookRoom(cursor.nextRequest(entityCount));
+    }
+}
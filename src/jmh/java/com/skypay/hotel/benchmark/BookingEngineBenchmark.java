@@ -0,0 +1,67 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.engine.BookingEngine;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-writer BookingEngine against the room locks of HotelServiceImpl, on the
+ * same hotel and request sequence as {@link BookRoomBenchmark}.
+ * <p>
+ * engineBookRoom waits for each booking (one ring round trip per call);
+ * enginePipelined publishes {@link #PIPELINE} bookings before waiting for the
+ * last one, the way an asynchronous caller drives the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BookingEngineBenchmark {
+
+    private static final int PIPELINE = 64;
+
+    @Param({"1000", "100000"})
+    private int entityCount;
+
+    private HotelServiceImpl hotel;
+    private BookingEngine engine;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        hotel = HotelFixture.create(entityCount);
+        engine = HotelFixture.createEngine(entityCount);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        engine.close();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Booking lockingBookRoom(BookRoomBenchmark.RequestCursor cursor) {
+        return hotel.bookRoom(cursor.nextRequest(entityCount));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Booking engineBookRoom(BookRoomBenchmark.RequestCursor cursor) {
+        return engine.bookRoom(cursor.nextRequest(entityCount)).join();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    @OperationsPerInvocation(PIPELINE)
+    public Booking enginePipelined(BookRoomBenchmark.RequestCursor cursor) {
+        CompletableFuture<Booking> last = null;
+        for (int i = 0; i < PIPELINE; i++) {
+            last = engine.bookRoom(cursor.nextRequest(entityCount));
+        }
+        return last.join();
+    }
+}
@@ -0,0 +1,125 @@
+package com.skypay.hotel.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * HTTP load test of POST /api/bookings against a running server.
+ * <p>
+ * Seeds the rooms and users, then sends the booking requests from virtual
+ * threads, at most {@code concurrency} in flight. Request i books room
+ * i % rooms on its own two-night slot, so no request conflicts with another.
+ * Prints the throughput, latency percentiles and status code counts.
+ * <pre>
+ * ./mvnw spring-boot:run
+ * ./mvnw -Pbenchmarks test-compile exec:exec \
+ *     -Dbenchmark.mainClass=com.skypay.hotel.benchmark.BookingLoadGenerator \
+ *     -Djmh.args="http://localhost:8080 1000 100000 2000"
+ * </pre>
+ * Arguments: base URL, rooms, requests, concurrency.
+ */
+public final class BookingLoadGenerator {
+
+    private static final int FIRST_ID = 1_000_000;
+
+    private BookingLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int rooms = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 2_000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        // Ids above FIRST_ID to stay clear of manually created data
+        for (int room = 0; room < rooms; room++) {
+            send(client, put(baseUrl + "/api/rooms/" + (FIRST_ID + room),
+                    "{\"type\":\"STANDARD\",\"pricePerNight\":1}"));
+            send(client, put(baseUrl + "/api/users/" + (FIRST_ID + room),
+                    "{\"balance\":" + Integer.MAX_VALUE + "}"));
+        }
+
+        LocalDate origin = LocalDate.now().plusDays(1);
+        long[] latencies = new long[requests];
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                int request = i;
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        int room = request % rooms;
+                        LocalDate checkIn = origin.plusDays(3L * (request / rooms));
+                        String body = String.format(
+                                "{\"userId\":%d,\"roomNumber\":%d,\"checkIn\":\"%s\",\"checkOut\":\"%s\"}",
+                                FIRST_ID + room, FIRST_ID + room, checkIn, checkIn.plusDays(2));
+                        long sent = System.nanoTime();
+                        int status = send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build());
+                        latencies[request] = System.nanoTime() - sent;
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("Requests: %d, Concurrency: %d, Time: %d ms, Throughput: %.0f req/s%n",
+                requests, concurrency, elapsed / 1_000_000, requests * 1e9 / elapsed);
+        System.out.printf("Latency (ms) p50: %.2f, p90: %.2f, p99: %.2f, max: %.2f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[requests - 1] / 1e6);
+        System.out.println("Status codes: " + new TreeMap<>(statuses));
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static HttpRequest put(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /**
+     * @return the status code, or -1 if the request failed
+     */
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            return -1;
+        }
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.engine.BookingEngine;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.model.BookingCreationData;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Builds a populated hotel for the benchmarks: rooms and users numbered
+ * 1..entityCount, and one existing 2-night booking per room starting at {@link #ORIGIN}.
+ * The same hotel is available as a {@link BookingEngine}.
+ */
+final class HotelFixture {
+
+    static final LocalDate ORIGIN = LocalDate.now().plusDays(30);
+    static final int PRICE_PER_NIGHT = 1;
+
+    private HotelFixture() {
+    }
+
+    static HotelServiceImpl create(int entityCount) {
+        HotelServiceImpl hotel = new HotelServiceImpl();
+        RoomType[] types = RoomType.values();
+        for (int id = 1; id <= entityCount; id++) {
+            hotel.setRoom(Room.builder()
+                    .id(id)
+                    .type(types[id % types.length])
+                    .roomPricePerNight(PRICE_PER_NIGHT)
+                    .build());
+            hotel.setUser(User.builder()
+                    .id(id)
+                    .balance(Integer.MAX_VALUE)
+                    .build());
+        }
+
+        BookingService bookingService = hotel.getBookingService();
+        for (int id = 1; id <= entityCount; id++) {
+            bookingService.createBooking(BookingCreationData.builder()
+                    .userId(id)
+                    .roomNumber(id)
+                    .roomType(types[id % types.length])
+                    .pricePerNight(PRICE_PER_NIGHT)
+                    .checkIn(ORIGIN)
+                    .checkOut(ORIGIN.plusDays(2))
+                    .numberOfNights(2)
+                    .totalCost(2 * PRICE_PER_NIGHT)
+                    .build());
+        }
+        return hotel;
+    }
+
+    static BookingEngine createEngine(int entityCount) {
+        BookingEngine engine = new BookingEngine();
+        RoomType[] types = RoomType.values();
+        for (int id = 1; id <= entityCount; id++) {
+            engine.setRoom(id, types[id % types.length], PRICE_PER_NIGHT);
+            engine.setUser(id, Integer.MAX_VALUE);
+        }
+        CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+        for (int id = 1; id <= entityCount; id++) {
+            last = engine.bookRoom(BookingRequest.builder()
+                    .userId(id)
+                    .roomNumber(id)
+                    .checkIn(ORIGIN)
+                    .checkOut(ORIGIN.plusDays(2))
+                    .build());
+        }
+        // Commands are applied in order: the last one done means all are
+        last.join();
+        return engine;
+    }
+}
@@ -0,0 +1,79 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.RoomService;
+import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read paths of bookRoom: room lookup, user lookup and availability check,
+ * on one thread and on every available core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class HotelLookupBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int entityCount;
+
+    private RoomService roomService;
+    private UserService userService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        HotelServiceImpl hotel = HotelFixture.create(entityCount);
+        roomService = hotel.getRoomService();
+        userService = hotel.getUserService();
+        bookingService = hotel.getBookingService();
+    }
+
+    @Benchmark
+    public Optional<Room> findRoomByNumber() {
+        return roomService.findRoomByNumber(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Room> findRoomByNumberParallel() {
+        return findRoomByNumber();
+    }
+
+    @Benchmark
+    public Optional<User> findUserById() {
+        return userService.findUserById(randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<User> findUserByIdParallel() {
+        return findUserById();
+    }
+
+    @Benchmark
+    public boolean isRoomAvailable() {
+        LocalDate checkIn = HotelFixture.ORIGIN.plusDays(ThreadLocalRandom.current().nextInt(-3, 4));
+        return bookingService.isRoomAvailable(randomId(), checkIn, checkIn.plusDays(1));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean isRoomAvailableParallel() {
+        return isRoomAvailable();
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(entityCount) + 1;
+    }
+}
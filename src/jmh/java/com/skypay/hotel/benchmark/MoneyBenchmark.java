@@ -0,0 +1,62 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.money.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a stay: overflow-checked long arithmetic against the previous unchecked
+ * int multiplication and against BigDecimal, over a spread of prices and stays.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MoneyBenchmark {
+
+    private static final int STAYS = 1024;
+
+    private final int[] prices = new int[STAYS];
+    private final int[] nights = new int[STAYS];
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < STAYS; i++) {
+            prices[i] = 1000 + i * 37;
+            nights[i] = i % 30 + 1;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAYS)
+    public long uncheckedInt() {
+        int total = 0;
+        for (int i = 0; i < STAYS; i++) {
+            total += prices[i] * nights[i];
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAYS)
+    public long checkedLong() {
+        long total = 0;
+        for (int i = 0; i < STAYS; i++) {
+            total = Money.add(total, Money.totalCost(prices[i], nights[i]));
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAYS)
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < STAYS; i++) {
+            total = total.add(BigDecimal.valueOf(prices[i]).multiply(BigDecimal.valueOf(nights[i])));
+        }
+        return total;
+    }
+}
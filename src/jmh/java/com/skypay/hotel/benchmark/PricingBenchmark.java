@@ -0,0 +1,84 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.pricing.DynamicPricing;
+import com.skypay.hotel.pricing.RatePlan;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a stay under a seasonal, weekday and occupancy rate plan: a difference of
+ * two entries of the cached rate table against pricing every night of the stay.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PricingBenchmark {
+
+    private static final int ROOMS = 100;
+    private static final int STAYS = 1024;
+    private static final long PRICE = 10_000L;
+
+    private static final RatePlan PLAN = RatePlan.builder()
+            .season(new RatePlan.Season(MonthDay.of(7, 1), MonthDay.of(8, 31), 25))
+            .season(new RatePlan.Season(MonthDay.of(12, 20), MonthDay.of(1, 5), 40))
+            .weekday(DayOfWeek.FRIDAY, 15)
+            .weekday(DayOfWeek.SATURDAY, 20)
+            .occupancyTier(new RatePlan.OccupancyTier(50, 10))
+            .occupancyTier(new RatePlan.OccupancyTier(80, 30))
+            .build();
+
+    @Param({"1", "7", "30"})
+    public int nights;
+
+    private final Room[] rooms = new Room[ROOMS];
+    private final LocalDate[] checkIns = new LocalDate[STAYS];
+    private DynamicPricing pricing;
+
+    @Setup
+    public void setUp() {
+        pricing = new DynamicPricing(PLAN);
+        for (int i = 0; i < ROOMS; i++) {
+            rooms[i] = Room.builder().id(i + 1).type(RoomType.STANDARD).roomPricePerNight(PRICE + i * 100L).build();
+            pricing.onRoomSet(i + 1, RoomType.STANDARD, rooms[i].getRoomPricePerNight());
+        }
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < STAYS; i++) {
+            checkIns[i] = today.plusDays(1 + i * 7L % 600);
+        }
+        // Build the tables before measuring
+        for (Room room : rooms) {
+            pricing.totalCost(room, today, today.plusDays(1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAYS)
+    public long rateTable() {
+        long total = 0;
+        for (int i = 0; i < STAYS; i++) {
+            total += pricing.totalCost(rooms[i % ROOMS], checkIns[i], checkIns[i].plusDays(nights));
+        }
+        return total;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STAYS)
+    public long nightByNight() {
+        long total = 0;
+        for (int i = 0; i < STAYS; i++) {
+            long price = rooms[i % ROOMS].getRoomPricePerNight();
+            for (LocalDate night = checkIns[i]; night.isBefore(checkIns[i].plusDays(nights)); night = night.plusDays(1)) {
+                total += RatePlan.nightlyRate(price, PLAN.factor(night, 0, ROOMS));
+            }
+        }
+        return total;
+    }
+}
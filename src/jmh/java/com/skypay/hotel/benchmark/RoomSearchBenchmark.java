@@ -0,0 +1,64 @@
+package com.skypay.hotel.benchmark;
+
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.RoomService;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Which suites are free on these dates": one availability check per Room of the
+ * RoomService versus the AND of the per-type night bitmaps of the calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class RoomSearchBenchmark {
+
+    @Param({"1000", "100000"})
+    private int entityCount;
+
+    private RoomService roomService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        HotelServiceImpl hotel = HotelFixture.create(entityCount);
+        roomService = hotel.getRoomService();
+        bookingService = hotel.getBookingService();
+    }
+
+    @Benchmark
+    public List<Integer> perRoomCheck() {
+        LocalDate checkIn = randomCheckIn();
+        LocalDate checkOut = checkIn.plusDays(2);
+        List<Integer> free = new ArrayList<>();
+        for (Room room : roomService.getAllRooms()) {
+            if (room.getType() == RoomType.SUITE
+                    && bookingService.isRoomAvailable(room.getRoomNumber(), checkIn, checkOut)) {
+                free.add(room.getRoomNumber());
+            }
+        }
+        return free;
+    }
+
+    @Benchmark
+    public List<Integer> calendarSearch() {
+        LocalDate checkIn = randomCheckIn();
+        return bookingService.findAvailableRooms(RoomType.SUITE, checkIn, checkIn.plusDays(2), null);
+    }
+
+    private LocalDate randomCheckIn() {
+        // Half of the periods overlap the fixture bookings
+        return HotelFixture.ORIGIN.plusDays(ThreadLocalRandom.current().nextInt(6));
+    }
+}
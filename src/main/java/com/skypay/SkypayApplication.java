@@ -5,8 +5,11 @@ import com.skypay.hotel.entity.Room;
 import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.entity.User;
 import com.skypay.hotel.service.HotelService;
-import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 
 import java.time.LocalDate;
 
@@ -14,9 +17,19 @@ import java.time.LocalDate;
 public class SkypayApplication {
 
     public static void main(String[] args) {
-        // Initialize service
-        HotelService hotelService = new HotelServiceImpl();
+        SpringApplication.run(SkypayApplication.class, args);
+    }
+
+    /**
+     * Seeds and prints the sample hotel of the technical test (hotel.demo.enabled=true)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "hotel.demo.enabled", havingValue = "true")
+    public CommandLineRunner demo(HotelService hotelService) {
+        return args -> runDemo(hotelService);
+    }
 
+    private static void runDemo(HotelService hotelService) {
         // Create rooms using DTOs
         hotelService.setRoom(Room.builder()
                 .id(1)
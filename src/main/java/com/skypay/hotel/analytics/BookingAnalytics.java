@@ -0,0 +1,165 @@
+package com.skypay.hotel.analytics;
+
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.money.Money;
+import com.skypay.hotel.store.BookingRowVisitor;
+import com.skypay.hotel.store.BookingStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Revenue, length of stay and occupancy over the booking history.
+ * <p>
+ * A query is one pass over the store columns ({@link BookingStore#scan}), with no
+ * Booking created: the rows are split in ranges of {@value #SPLIT_ROWS} scanned in
+ * parallel by a fork/join pool, each into its own totals, merged pairwise on the way
+ * back. Bookings appended during a query are included up to the store size read by
+ * the query.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class BookingAnalytics {
+
+    /**
+     * Rows scanned by one task: 16 blocks of the columnar store
+     */
+    static final int SPLIT_ROWS = 1 << 16;
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final int CANCELLED = BookingStatus.CANCELLED.ordinal();
+
+    private final BookingStore store;
+    private final ForkJoinPool pool;
+
+    public BookingAnalytics(BookingStore store) {
+        this(store, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregates the confirmed bookings of a period.
+     * Revenue and length of stay count the bookings checking in during the period;
+     * occupancy counts every booked night of the period.
+     *
+     * @param from the first day
+     * @param to   the end of the period (excluded)
+     * @return the statistics of the period
+     */
+    public BookingStatistics statistics(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidDateException(from, to, "La fin de la période doit être après son début");
+        }
+        long start = System.nanoTime();
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        Totals totals = pool.invoke(new ScanTask(0, store.size(), fromDay, toDay));
+
+        Map<RoomType, Long> revenueByRoomType = new EnumMap<>(RoomType.class);
+        for (RoomType roomType : ROOM_TYPES) {
+            revenueByRoomType.put(roomType, totals.revenueByRoomType[roomType.ordinal()]);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("Booking statistics computed - Period: {} to {}, Bookings: {}, Time: {} ms",
+                    from, to, totals.bookings, (System.nanoTime() - start) / 1_000_000);
+        }
+        return new BookingStatistics(from, to, totals.bookings, totals.nights, totals.revenue,
+                revenueByRoomType, totals.bookedRooms);
+    }
+
+    // ========== Scan ==========
+
+    /**
+     * Splits a row range until it is small enough to scan
+     */
+    private final class ScanTask extends RecursiveTask<Totals> {
+
+        private final int fromRow;
+        private final int toRow;
+        private final int fromDay;
+        private final int toDay;
+
+        ScanTask(int fromRow, int toRow, int fromDay, int toDay) {
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (toRow - fromRow <= SPLIT_ROWS) {
+                Totals totals = new Totals(fromDay, toDay);
+                store.scan(fromRow, toRow, totals);
+                return totals;
+            }
+            // Split on a multiple of SPLIT_ROWS so a task never shares a block with another
+            int chunks = (toRow - fromRow + SPLIT_ROWS - 1) / SPLIT_ROWS;
+            int middle = fromRow + chunks / 2 * SPLIT_ROWS;
+            ScanTask left = new ScanTask(fromRow, middle, fromDay, toDay);
+            left.fork();
+            Totals right = new ScanTask(middle, toRow, fromDay, toDay).compute();
+            return left.join().add(right);
+        }
+    }
+
+    /**
+     * Running totals of one scanned range
+     */
+    private static final class Totals implements BookingRowVisitor {
+
+        private final int fromDay;
+        private final int toDay;
+        private final long[] revenueByRoomType = new long[ROOM_TYPES.length];
+        private final int[] bookedRooms;
+        private long bookings;
+        private long nights;
+        private long revenue;
+
+        Totals(int fromDay, int toDay) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+            this.bookedRooms = new int[toDay - fromDay];
+        }
+
+        @Override
+        public void visit(int roomNumber, int roomType, int status, int checkIn, int checkOut,
+                          int numberOfNights, long totalCost) {
+            if (status == CANCELLED) {
+                return;
+            }
+            if (checkIn >= fromDay && checkIn < toDay) {
+                bookings++;
+                nights += numberOfNights;
+                revenue = Money.add(revenue, totalCost);
+                if (roomType >= 0) {
+                    revenueByRoomType[roomType] = Money.add(revenueByRoomType[roomType], totalCost);
+                }
+            }
+            int last = Math.min(checkOut, toDay);
+            for (int night = Math.max(checkIn, fromDay); night < last; night++) {
+                bookedRooms[night - fromDay]++;
+            }
+        }
+
+        Totals add(Totals other) {
+            bookings += other.bookings;
+            nights += other.nights;
+            revenue = Money.add(revenue, other.revenue);
+            for (int i = 0; i < revenueByRoomType.length; i++) {
+                revenueByRoomType[i] = Money.add(revenueByRoomType[i], other.revenueByRoomType[i]);
+            }
+            for (int i = 0; i < bookedRooms.length; i++) {
+                bookedRooms[i] += other.bookedRooms[i];
+            }
+            return this;
+        }
+    }
+
+}
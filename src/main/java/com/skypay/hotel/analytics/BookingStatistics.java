@@ -0,0 +1,41 @@
+package com.skypay.hotel.analytics;
+
+import com.skypay.hotel.entity.RoomType;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+
+/**
+ * Aggregates of the confirmed bookings over a period [from, to)
+ *
+ * @param from                the first day of the period
+ * @param to                  the end of the period (excluded)
+ * @param bookings            the number of bookings checking in during the period
+ * @param nights              their total number of nights
+ * @param revenue             their total cost
+ * @param revenueByRoomType   their total cost per room type
+ * @param bookedRoomsPerNight the number of booked rooms for each night of the period, whatever the check-in
+ */
+public record BookingStatistics(LocalDate from, LocalDate to, long bookings, long nights, long revenue,
+                                Map<RoomType, Long> revenueByRoomType, int[] bookedRoomsPerNight) {
+
+    /**
+     * @return the average number of nights of the bookings checking in during the period, 0 if none
+     */
+    public double averageLengthOfStay() {
+        return bookings == 0 ? 0 : (double) nights / bookings;
+    }
+
+    /**
+     * @param night a night of the period
+     * @return the number of rooms booked that night
+     */
+    public int bookedRooms(LocalDate night) {
+        if (night.isBefore(from) || !night.isBefore(to)) {
+            throw new IllegalArgumentException("Night outside of the period: " + night);
+        }
+        return bookedRoomsPerNight[(int) ChronoUnit.DAYS.between(from, night)];
+    }
+
+}
@@ -0,0 +1,313 @@
+package com.skypay.hotel.audit;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.event.HotelEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of the hotel changes, one JSON object per line.
+ * <p>
+ * A change costs the calling thread a slot claim (one compare-and-set) and a
+ * few primitive writes into a preallocated ring: no formatting, no boxing, no
+ * I/O. A background writer formats the published slots in order and flushes
+ * the file whenever it catches up. When the ring is full the event is dropped
+ * rather than blocking a booking; the writer reports the count as a DROPPED line.
+ */
+@Slf4j
+public class AuditLog implements HotelEventListener, Closeable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    /**
+     * Set in the claim counter once the log is closed
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private enum EventType {
+        ROOM_SET, USER_SET, BOOKING_CREATED, BOOKING_CANCELLED, BOOKING_MODIFIED
+    }
+
+    private static final EventType[] EVENT_TYPES = EventType.values();
+
+    private final Path file;
+    private final Writer out;
+    private final int capacity;
+    private final int mask;
+
+    // Slot columns: published holds sequence + 1 once the slot's fields are written
+    private final long[] published;
+    private final byte[] types;
+    private final long[] timestamps;
+    private final int[] bookingIds;
+    private final int[] userIds;
+    private final int[] roomNumbers;
+    private final int[] checkIns;
+    private final int[] checkOuts;
+    private final long[] amounts;
+    private final byte[] roomTypes;
+
+    /**
+     * Next sequence to claim, with the CLOSED bit once closed: a claim and the close
+     * are ordered on this counter, so the writer knows every event it has to wait for
+     */
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * First sequence the writer has not consumed yet
+     */
+    private volatile long consumed;
+    private final Thread writer;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private AuditLog(Path file, Writer out, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.file = file;
+        this.out = out;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.published = new long[capacity];
+        this.types = new byte[capacity];
+        this.timestamps = new long[capacity];
+        this.bookingIds = new int[capacity];
+        this.userIds = new int[capacity];
+        this.roomNumbers = new int[capacity];
+        this.checkIns = new int[capacity];
+        this.checkOuts = new int[capacity];
+        this.amounts = new long[capacity];
+        this.roomTypes = new byte[capacity];
+        writer = Thread.ofPlatform().daemon().name("audit-writer").start(this::runWriter);
+        log.info("Audit log opened - File: {}, Capacity: {}", file, capacity);
+    }
+
+    /**
+     * Opens an audit file for appending, creating it if needed
+     *
+     * @param file     the JSON-lines file
+     * @param capacity the number of events the ring holds, a power of two
+     * @return the running audit log
+     */
+    public static AuditLog open(Path file, int capacity) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return new AuditLog(file, out, capacity);
+    }
+
+    @Override
+    public void onRoomSet(int roomNumber, RoomType roomType, long roomPricePerNight) {
+        append(EventType.ROOM_SET, 0, 0, roomNumber, 0, 0, roomPricePerNight, ordinalOf(roomType));
+    }
+
+    @Override
+    public void onUserSet(int userId, long balance) {
+        append(EventType.USER_SET, 0, userId, 0, 0, 0, balance, -1);
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        append(EventType.BOOKING_CREATED, booking);
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking) {
+        append(EventType.BOOKING_CANCELLED, booking);
+    }
+
+    @Override
+    public void onBookingModified(Booking booking) {
+        append(EventType.BOOKING_MODIFIED, booking);
+    }
+
+    /**
+     * @return the number of events dropped because the ring was full, since opening
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Writes the pending events and closes the file
+     */
+    @Override
+    public void close() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence | CLOSED));
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Cannot close audit log {}", file, e);
+        }
+        log.info("Audit log closed - File: {}, Dropped: {}", file, dropped.sum());
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * @return the ordinal of a room type, -1 when unknown
+     */
+    private static int ordinalOf(RoomType roomType) {
+        return roomType == null ? -1 : roomType.ordinal();
+    }
+
+    private void append(EventType type, Booking booking) {
+        append(type, booking.getId(), booking.getUserId(), booking.getRoomNumber(),
+                (int) booking.getCheckIn().toEpochDay(), (int) booking.getCheckOut().toEpochDay(),
+                booking.getTotalCost(), ordinalOf(booking.getRoomType()));
+    }
+
+    private void append(EventType type, int bookingId, int userId, int roomNumber,
+                        int checkIn, int checkOut, long amount, int roomType) {
+        long sequence = claim();
+        if (sequence < 0) {
+            return;
+        }
+        int slot = (int) sequence & mask;
+        types[slot] = (byte) type.ordinal();
+        timestamps[slot] = System.currentTimeMillis();
+        bookingIds[slot] = bookingId;
+        userIds[slot] = userId;
+        roomNumbers[slot] = roomNumber;
+        checkIns[slot] = checkIn;
+        checkOuts[slot] = checkOut;
+        amounts[slot] = amount;
+        roomTypes[slot] = (byte) roomType;
+        PUBLISHED.setRelease(published, slot, sequence + 1);
+    }
+
+    /**
+     * @return the claimed sequence, or -1 if the ring is full or the log closed
+     */
+    private long claim() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return -1;
+            }
+            if (sequence - consumed >= capacity) {
+                dropped.increment();
+                return -1;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        return sequence;
+    }
+
+    private void runWriter() {
+        long next = 0;
+        long reportedDrops = 0;
+        while (true) {
+            int slot = (int) next & mask;
+            if ((long) PUBLISHED.getAcquire(published, slot) == next + 1) {
+                write(formatEvent(slot));
+                next++;
+                consumed = next;
+                continue;
+            }
+            // Caught up: report drops and flush before idling
+            long drops = dropped.sum();
+            if (drops != reportedDrops) {
+                write(formatDropped(drops - reportedDrops));
+                reportedDrops = drops;
+            }
+            flush();
+            // Claimed before the close: published or about to be, waited for
+            long sequence = claimed.get();
+            if ((sequence & CLOSED) != 0 && next == (sequence & ~CLOSED)) {
+                return;
+            }
+            LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    private CharSequence formatEvent(int slot) {
+        EventType type = EVENT_TYPES[types[slot]];
+        beginLine(timestamps[slot], type.name());
+        switch (type) {
+            case ROOM_SET -> {
+                line.append(",\"roomNumber\":").append(roomNumbers[slot]).append(",\"roomType\":");
+                if (roomTypes[slot] < 0) {
+                    line.append("null");
+                } else {
+                    line.append('"').append(ROOM_TYPES[roomTypes[slot]]).append('"');
+                }
+                line.append(",\"pricePerNight\":").append(amounts[slot]);
+            }
+            case USER_SET -> line
+                    .append(",\"userId\":").append(userIds[slot])
+                    .append(",\"balance\":").append(amounts[slot]);
+            case BOOKING_CREATED, BOOKING_CANCELLED, BOOKING_MODIFIED -> line
+                    .append(",\"bookingId\":").append(bookingIds[slot])
+                    .append(",\"userId\":").append(userIds[slot])
+                    .append(",\"roomNumber\":").append(roomNumbers[slot])
+                    .append(",\"checkIn\":\"").append(LocalDate.ofEpochDay(checkIns[slot]))
+                    .append("\",\"checkOut\":\"").append(LocalDate.ofEpochDay(checkOuts[slot]))
+                    .append("\",\"totalCost\":").append(amounts[slot]);
+        }
+        return line.append("}\n");
+    }
+
+    private CharSequence formatDropped(long count) {
+        beginLine(System.currentTimeMillis(), "DROPPED");
+        return line.append(",\"count\":").append(count).append("}\n");
+    }
+
+    private void beginLine(long timestamp, String event) {
+        line.setLength(0);
+        line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(timestamp))
+                .append("\",\"event\":\"").append(event).append('"');
+    }
+
+    private void write(CharSequence text) {
+        try {
+            out.append(text);
+        } catch (IOException e) {
+            log.warn("Cannot write audit log {}", file, e);
+        }
+    }
+
+    private void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            log.warn("Cannot flush audit log {}", file, e);
+        }
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.skypay.hotel.concurrent;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Insertion-ordered map with primitive int keys.
+ * <p>
+ * Entries are stored densely in insertion order and located through an
+ * open-addressing slot table (linear probing), so lookups cost O(1) without
+ * boxing the key, and iteration follows creation order without sorting.
+ * <p>
+ * Reads are lock-free; writes are serialized on the map. A new entry is
+ * published by the volatile size of the table, and a resize publishes a new
+ * table, so readers always see a consistent snapshot. Keys are never removed.
+ *
+ * @param <V> the type of the values
+ */
+public class ConcurrentIntObjectMap<V> {
+
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private volatile Table table;
+
+    public ConcurrentIntObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ConcurrentIntObjectMap(int initialCapacity) {
+        this.table = new Table(Math.max(DEFAULT_CAPACITY, initialCapacity));
+    }
+
+    /**
+     * Gets the value mapped to a key
+     *
+     * @param key the key
+     * @return the value, or null if absent
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        Table t = table;
+        int position = t.positionOf(key, t.size);
+        return position < 0 ? null : (V) VALUES.getAcquire(t.values, position);
+    }
+
+    public boolean containsKey(int key) {
+        Table t = table;
+        return t.positionOf(key, t.size) >= 0;
+    }
+
+    /**
+     * Maps a key to a value, keeping the original insertion position of an existing key
+     *
+     * @return the previous value, or null if the key was absent
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V put(int key, V value) {
+        Table t = table;
+        int position = t.positionOf(key, t.size);
+        if (position >= 0) {
+            return (V) VALUES.getAndSetRelease(t.values, position, value);
+        }
+        append(key, value);
+        return null;
+    }
+
+    /**
+     * Maps a key to a value only if the key is absent
+     *
+     * @return the existing value, or null if the value was inserted
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized V putIfAbsent(int key, V value) {
+        Table t = table;
+        int position = t.positionOf(key, t.size);
+        if (position >= 0) {
+            return (V) t.values[position];
+        }
+        append(key, value);
+        return null;
+    }
+
+    /**
+     * Replaces the value of a key only if it is still the expected instance
+     *
+     * @return true if the value was replaced
+     */
+    public synchronized boolean replace(int key, V expected, V value) {
+        Table t = table;
+        int position = t.positionOf(key, t.size);
+        if (position < 0 || t.values[position] != expected) {
+            return false;
+        }
+        VALUES.setRelease(t.values, position, value);
+        return true;
+    }
+
+    /**
+     * Gets the value of a key, creating it on first access
+     */
+    public V computeIfAbsent(int key, IntFunction<? extends V> factory) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            value = get(key);
+            if (value == null) {
+                value = factory.apply(key);
+                append(key, value);
+            }
+            return value;
+        }
+    }
+
+    public int size() {
+        return table.size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Snapshot of the values in insertion order
+     */
+    public List<V> values() {
+        Table t = table;
+        int n = t.size;
+        List<V> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            values.add(t.valueAt(i));
+        }
+        return values;
+    }
+
+    /**
+     * Visits the values in insertion order
+     */
+    public void forEach(Consumer<? super V> action) {
+        Table t = table;
+        int n = t.size;
+        for (int i = 0; i < n; i++) {
+            action.accept(t.valueAt(i));
+        }
+    }
+
+    /**
+     * Visits the values from the latest inserted to the oldest
+     */
+    public void forEachDescending(Consumer<? super V> action) {
+        Table t = table;
+        for (int i = t.size - 1; i >= 0; i--) {
+            action.accept(t.valueAt(i));
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void append(int key, V value) {
+        Table t = table;
+        if (t.size == t.keys.length) {
+            t = t.grow();
+            table = t;
+        }
+        t.insert(key, value);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // ========== Storage ==========
+
+    private static final class Table {
+
+        /**
+         * Open-addressing slots: dense position + 1, 0 when empty
+         */
+        final int[] slots;
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+
+        /**
+         * Number of published entries, written last on insertion
+         */
+        volatile int size;
+
+        Table(int capacity) {
+            int slotCount = Integer.highestOneBit(capacity - 1) << 2;
+            this.slots = new int[slotCount];
+            this.keys = new int[slotCount >> 1];
+            this.values = new Object[slotCount >> 1];
+            this.mask = slotCount - 1;
+        }
+
+        int positionOf(int key, int publishedSize) {
+            int i = hash(key) & mask;
+            int slot;
+            while ((slot = slots[i]) != 0) {
+                int position = slot - 1;
+                if (position < publishedSize && keys[position] == key) {
+                    return position;
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        void insert(int key, Object value) {
+            int position = size;
+            keys[position] = key;
+            VALUES.setRelease(values, position, value);
+            int i = hash(key) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = position + 1;
+            size = position + 1;
+        }
+
+        @SuppressWarnings("unchecked")
+        <V> V valueAt(int position) {
+            return (V) VALUES.getAcquire(values, position);
+        }
+
+        Table grow() {
+            Table bigger = new Table(keys.length << 1);
+            for (int i = 0; i < size; i++) {
+                bigger.insert(keys[i], values[i]);
+            }
+            return bigger;
+        }
+    }
+
+}
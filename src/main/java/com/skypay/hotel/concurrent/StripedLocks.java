@@ -0,0 +1,71 @@
+package com.skypay.hotel.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key.
+ * Different keys rarely share a stripe, so threads working on different rooms
+ * or users proceed in parallel without a global lock.
+ */
+public class StripedLocks {
+
+    private final Lock[] locks;
+    private final int mask;
+
+    /**
+     * @param minStripes minimum number of stripes (rounded up to a power of two)
+     */
+    public StripedLocks(int minStripes) {
+        int stripes = stripeCount(minStripes);
+        this.locks = new Lock[stripes];
+        this.mask = stripes - 1;
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Default sizing: a few stripes per core keeps collisions rare
+     */
+    public static StripedLocks forAvailableProcessors() {
+        return new StripedLocks(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    /**
+     * Gets the lock guarding a key
+     *
+     * @param key the key (room number, user ID...)
+     * @return the stripe lock for this key
+     */
+    public Lock get(int key) {
+        return locks[stripeOf(key)];
+    }
+
+    /**
+     * Gets the stripe index of a key
+     *
+     * @param key the key
+     * @return index in [0, stripeCount)
+     */
+    public int stripeOf(int key) {
+        return stripeOf(key, mask);
+    }
+
+    public int stripeCount() {
+        return locks.length;
+    }
+
+    static int stripeCount(int minStripes) {
+        if (minStripes <= 0) {
+            throw new IllegalArgumentException("Stripe count must be positive: " + minStripes);
+        }
+        return Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+    }
+
+    static int stripeOf(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+}
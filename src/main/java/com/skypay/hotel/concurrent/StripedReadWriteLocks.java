@@ -0,0 +1,61 @@
+package com.skypay.hotel.concurrent;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Fixed pool of read-write locks selected by key, striped as {@link StripedLocks}.
+ * Changes that commute share the read lock of their key, a change that must be
+ * ordered against all of them takes the write lock.
+ */
+public class StripedReadWriteLocks {
+
+    private final ReadWriteLock[] locks;
+    private final int mask;
+
+    /**
+     * @param minStripes minimum number of stripes (rounded up to a power of two)
+     */
+    public StripedReadWriteLocks(int minStripes) {
+        int stripes = StripedLocks.stripeCount(minStripes);
+        this.locks = new ReadWriteLock[stripes];
+        this.mask = stripes - 1;
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+    }
+
+    /**
+     * Default sizing: a few stripes per core keeps collisions rare
+     */
+    public static StripedReadWriteLocks forAvailableProcessors() {
+        return new StripedReadWriteLocks(Runtime.getRuntime().availableProcessors() * 16);
+    }
+
+    /**
+     * Gets the lock guarding a key
+     *
+     * @param key the key (user ID...)
+     * @return the stripe lock for this key
+     */
+    public ReadWriteLock get(int key) {
+        return locks[StripedLocks.stripeOf(key, mask)];
+    }
+
+    /**
+     * Locks of several keys, in stripe order so that two holders never wait on each other
+     *
+     * @param keys the keys, duplicates allowed
+     * @return the distinct stripe locks, to lock in this order
+     */
+    public ReadWriteLock[] getAll(int... keys) {
+        return Arrays.stream(keys)
+                .map(key -> StripedLocks.stripeOf(key, mask))
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> locks[stripe])
+                .toArray(ReadWriteLock[]::new);
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.skypay.hotel.config;
+
+import com.skypay.hotel.audit.AuditLog;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Audit log settings (hotel.audit.*), no audit trail is written when no file is set
+ *
+ * @param file     the JSON-lines audit file
+ * @param capacity the number of events buffered for the writer, a power of two
+ */
+@ConfigurationProperties("hotel.audit")
+public record AuditProperties(
+        Path file,
+        @DefaultValue("" + AuditLog.DEFAULT_CAPACITY) int capacity) {
+}
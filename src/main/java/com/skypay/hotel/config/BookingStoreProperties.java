@@ -0,0 +1,14 @@
+package com.skypay.hotel.config;
+
+import com.skypay.hotel.store.BookingStoreType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Booking store settings (hotel.booking-store.*)
+ *
+ * @param type where the bookings are kept: on the heap, or off-heap for long histories
+ */
+@ConfigurationProperties("hotel.booking-store")
+public record BookingStoreProperties(@DefaultValue("COLUMNAR") BookingStoreType type) {
+}
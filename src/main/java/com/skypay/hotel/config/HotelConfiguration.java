@@ -0,0 +1,108 @@
+package com.skypay.hotel.config;
+
+import com.skypay.hotel.audit.AuditLog;
+import com.skypay.hotel.journal.BookingJournal;
+import com.skypay.hotel.journal.JournalCompactor;
+import com.skypay.hotel.journal.JournalRecovery;
+import com.skypay.hotel.metrics.BookingMetrics;
+import com.skypay.hotel.pricing.DynamicPricing;
+import com.skypay.hotel.query.BookingReadModel;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.RoomService;
+import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+import java.io.IOException;
+
+/**
+ * Wires the hotel services, with the journal when hotel.journal.dir is set
+ * and the booking store chosen by hotel.booking-store.type.
+ * Changes are audited to a JSON-lines file when hotel.audit.file is set.
+ * Reports are served by a read model kept apart from the booking path.
+ * Stays are priced by a rate plan when hotel.pricing.enabled is set.
+ */
+@Configuration
+@EnableConfigurationProperties({JournalProperties.class, BookingStoreProperties.class, AuditProperties.class,
+        PricingProperties.class})
+public class HotelConfiguration {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("hotel.journal.dir")
+    public BookingJournal bookingJournal(JournalProperties properties) throws IOException {
+        return BookingJournal.open(properties.dir());
+    }
+
+    // Started once the journal is replayed
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("hotel.journal.dir")
+    @DependsOn("hotelService")
+    public JournalCompactor journalCompactor(BookingJournal journal, JournalProperties properties,
+                                             BookingStoreProperties storeProperties) {
+        return JournalCompactor.start(journal, properties.compactionInterval(), storeProperties.type());
+    }
+
+    @Bean
+    public HotelServiceImpl hotelService(ObjectProvider<BookingJournal> journal, JournalProperties properties,
+                                         BookingStoreProperties storeProperties,
+                                         MeterRegistry meterRegistry) throws IOException {
+        BookingJournal bookingJournal = journal.getIfAvailable();
+        HotelServiceImpl hotelService = bookingJournal == null
+                ? new HotelServiceImpl(storeProperties.type())
+                : JournalRecovery.recover(bookingJournal, properties.syncPolicy(), storeProperties.type());
+        hotelService.setMetrics(new BookingMetrics(meterRegistry));
+        return hotelService;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("hotel.audit.file")
+    public AuditLog auditLog(HotelServiceImpl hotelService, AuditProperties properties) throws IOException {
+        AuditLog auditLog = AuditLog.open(properties.file(), properties.capacity());
+        hotelService.addEventListener(auditLog);
+        return auditLog;
+    }
+
+    @Bean(destroyMethod = "close")
+    public BookingReadModel bookingReadModel(HotelServiceImpl hotelService) {
+        BookingReadModel readModel = new BookingReadModel();
+        // Recovered bookings first, then the changes from now on
+        readModel.load(hotelService.getBookingService().getAllBookings());
+        hotelService.addEventListener(readModel);
+        return readModel;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "hotel.pricing.enabled", havingValue = "true")
+    public DynamicPricing dynamicPricing(HotelServiceImpl hotelService, PricingProperties properties) {
+        DynamicPricing pricing = new DynamicPricing(properties.ratePlan());
+        // Recovered rooms and bookings first, then the changes from now on
+        pricing.load(hotelService.getRoomService().getAllRooms(), hotelService.getBookingService().getAllBookings());
+        hotelService.addEventListener(pricing);
+        hotelService.setPricing(pricing);
+        return pricing;
+    }
+
+    // Read side of the API, writes go through the HotelService
+
+    @Bean
+    public RoomService roomService(HotelServiceImpl hotelService) {
+        return hotelService.getRoomService();
+    }
+
+    @Bean
+    public UserService userService(HotelServiceImpl hotelService) {
+        return hotelService.getUserService();
+    }
+
+    @Bean
+    public BookingService bookingService(HotelServiceImpl hotelService) {
+        return hotelService.getBookingService();
+    }
+
+}
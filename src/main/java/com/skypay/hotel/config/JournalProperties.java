@@ -0,0 +1,22 @@
+package com.skypay.hotel.config;
+
+import com.skypay.hotel.journal.JournalSyncPolicy;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Journal settings (hotel.journal.*), state is kept in memory only when no directory is set
+ *
+ * @param dir                the journal and snapshot directory
+ * @param syncPolicy         when a change is acknowledged
+ * @param compactionInterval the time between two snapshots
+ */
+@ConfigurationProperties("hotel.journal")
+public record JournalProperties(
+        Path dir,
+        @DefaultValue("GROUP_COMMIT") JournalSyncPolicy syncPolicy,
+        @DefaultValue("5m") Duration compactionInterval) {
+}
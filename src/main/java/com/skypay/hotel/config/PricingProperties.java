@@ -0,0 +1,42 @@
+package com.skypay.hotel.config;
+
+import com.skypay.hotel.pricing.RatePlan;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.DayOfWeek;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dynamic pricing settings (hotel.pricing.*), rooms are charged their price every night when not enabled
+ *
+ * @param enabled   whether stays are priced by the rate plan
+ * @param seasons   the yearly seasons
+ * @param weekdays  the adjustment of each day of the week, in percent
+ * @param occupancy the adjustment, in percent, by share of booked rooms from which it applies
+ */
+@ConfigurationProperties("hotel.pricing")
+public record PricingProperties(
+        boolean enabled,
+        @DefaultValue List<Season> seasons,
+        @DefaultValue Map<DayOfWeek, Integer> weekdays,
+        @DefaultValue Map<Integer, Integer> occupancy) {
+
+    /**
+     * @param from    the first day, as MM-dd
+     * @param to      the last day, as MM-dd
+     * @param percent the adjustment
+     */
+    public record Season(String from, String to, int percent) {
+    }
+
+    public RatePlan ratePlan() {
+        RatePlan.RatePlanBuilder plan = RatePlan.builder().weekdays(weekdays);
+        seasons.forEach(season -> plan.season(new RatePlan.Season(
+                MonthDay.parse("--" + season.from()), MonthDay.parse("--" + season.to()), season.percent())));
+        occupancy.forEach((threshold, percent) -> plan.occupancyTier(new RatePlan.OccupancyTier(threshold, percent)));
+        return plan.build();
+    }
+}
@@ -0,0 +1,18 @@
+package com.skypay.hotel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Availability of a room on a period
+ */
+@Data
+@Builder
+public class AvailabilityResponse {
+    Integer roomNumber;
+    LocalDate checkIn;
+    LocalDate checkOut;
+    boolean available;
+}
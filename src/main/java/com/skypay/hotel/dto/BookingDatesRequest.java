@@ -0,0 +1,18 @@
+package com.skypay.hotel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+import java.time.LocalDate;
+
+/**
+ * Body of a booking modification: the new period
+ */
+@Data
+@Builder
+@Jacksonized
+public class BookingDatesRequest {
+    LocalDate checkIn;
+    LocalDate checkOut;
+}
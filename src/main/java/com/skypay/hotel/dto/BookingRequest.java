@@ -2,11 +2,13 @@ package com.skypay.hotel.dto;
 
 import lombok.Builder;
 import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
 
 import java.time.LocalDate;
 
 @Data
 @Builder
+@Jacksonized
 public class BookingRequest {
     Integer userId;
     Integer roomNumber;
@@ -0,0 +1,38 @@
+package com.skypay.hotel.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.exception.BookingException;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of one request of a batch: either the created booking or the rejection reason
+ */
+@Data
+@Builder
+public class BookingResult {
+    BookingRequest request;
+    Booking booking;
+    @JsonIgnore
+    BookingException error;
+
+    public static BookingResult booked(BookingRequest request, Booking booking) {
+        return BookingResult.builder().request(request).booking(booking).build();
+    }
+
+    public static BookingResult rejected(BookingRequest request, BookingException error) {
+        return BookingResult.builder().request(request).error(error).build();
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * Rejection reason, null if booked
+     */
+    public String getErrorMessage() {
+        return error == null ? null : error.getMessage();
+    }
+}
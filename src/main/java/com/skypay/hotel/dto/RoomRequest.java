@@ -0,0 +1,17 @@
+package com.skypay.hotel.dto;
+
+import com.skypay.hotel.entity.RoomType;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Body of a room creation or update
+ */
+@Data
+@Builder
+@Jacksonized
+public class RoomRequest {
+    RoomType type;
+    Long pricePerNight;
+}
@@ -0,0 +1,15 @@
+package com.skypay.hotel.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Body of a user creation or balance reset
+ */
+@Data
+@Builder
+@Jacksonized
+public class UserRequest {
+    Long balance;
+}
@@ -0,0 +1,507 @@
+package com.skypay.hotel.engine;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.exception.RoomNotAvailableException;
+import com.skypay.hotel.model.BookingDates;
+import com.skypay.hotel.money.Money;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-writer booking engine, an alternative to the room locks of HotelServiceImpl.
+ * <p>
+ * Callers publish their commands into a preallocated ring (one compare-and-set to
+ * claim a slot, a few primitive writes, no lock) and get a future. One thread, the
+ * only writer, applies the commands in sequence to plain non-concurrent structures:
+ * the check-then-act of a booking needs no lock since nothing else runs beside it.
+ * <p>
+ * A full ring parks the callers until the writer frees a slot instead of dropping commands.
+ * Futures are completed on the engine thread: dependent stages should be attached
+ * with the async variants so they do not hold the writer.
+ */
+@Slf4j
+public class BookingEngine implements Closeable {
+
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+
+    private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final int SPINS_BEFORE_PARK = 1_000;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    /**
+     * Set in the claim counter once the engine is closed
+     */
+    private static final long CLOSED = Long.MIN_VALUE;
+
+    private static final byte SET_ROOM = 0;
+    private static final byte SET_USER = 1;
+    private static final byte BOOK_ROOM = 2;
+
+    private final int capacity;
+    private final int mask;
+
+    // Slot columns: published holds sequence + 1 once the slot's fields are written
+    private final long[] published;
+    private final byte[] commands;
+    private final int[] ids;
+    private final int[] userIds;
+    private final long[] checkIns;
+    private final long[] checkOuts;
+    private final long[] amounts;
+    private final byte[] roomTypes;
+    private final CompletableFuture<?>[] futures;
+
+    /**
+     * Next sequence to claim, with the CLOSED bit once closed
+     */
+    private final AtomicLong claimed = new AtomicLong();
+
+    /**
+     * First sequence the engine has not applied yet
+     */
+    private volatile long consumed;
+    private volatile boolean sleeping;
+    private final Thread writer;
+
+    /**
+     * Callers parked on a full ring, unparked by the writer as it frees slots
+     */
+    private final ConcurrentLinkedQueue<Thread> blockedCallers = new ConcurrentLinkedQueue<>();
+
+    // Engine state, touched by the writer thread only
+    private final HotelState state = new HotelState();
+
+    private volatile int bookingCount;
+
+    public BookingEngine() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity the number of pending commands the ring holds, a power of two
+     */
+    public BookingEngine(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.published = new long[capacity];
+        this.commands = new byte[capacity];
+        this.ids = new int[capacity];
+        this.userIds = new int[capacity];
+        this.checkIns = new long[capacity];
+        this.checkOuts = new long[capacity];
+        this.amounts = new long[capacity];
+        this.roomTypes = new byte[capacity];
+        this.futures = new CompletableFuture<?>[capacity];
+        writer = Thread.ofPlatform().daemon().name("booking-engine").start(this::runWriter);
+        log.info("Booking engine started - Capacity: {}", capacity);
+    }
+
+    /**
+     * Creates or updates a room, bookings keep the price they were made at
+     *
+     * @return completed once the room is applied
+     */
+    public CompletableFuture<Void> setRoom(int roomNumber, RoomType roomType, long roomPricePerNight) {
+        if (roomNumber <= 0 || roomType == null || roomPricePerNight < 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Invalid room - Number: " + roomNumber + ", Type: " + roomType
+                            + ", Price: " + roomPricePerNight));
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        publish(SET_ROOM, roomNumber, 0, 0, 0, roomPricePerNight, roomType.ordinal(), future);
+        return future;
+    }
+
+    /**
+     * Creates a user or replaces its balance
+     *
+     * @return completed once the user is applied
+     */
+    public CompletableFuture<Void> setUser(int userId, long balance) {
+        if (userId <= 0 || balance < 0) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException(
+                    "Invalid user - ID: " + userId + ", Balance: " + balance));
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        publish(SET_USER, userId, 0, 0, 0, balance, 0, future);
+        return future;
+    }
+
+    /**
+     * Books a room with the rules of HotelService.bookRoom
+     *
+     * @return the created booking, or a failure with the BookingException of the rejection
+     */
+    public CompletableFuture<Booking> bookRoom(BookingRequest request) {
+        try {
+            BookingDates.validate(request.getCheckIn(), request.getCheckOut());
+        } catch (InvalidDateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Booking> future = new CompletableFuture<>();
+        publish(BOOK_ROOM, request.getRoomNumber(), request.getUserId(),
+                request.getCheckIn().toEpochDay(), request.getCheckOut().toEpochDay(), 0, 0, future);
+        return future;
+    }
+
+    /**
+     * @return the number of bookings applied so far
+     */
+    public int bookingCount() {
+        return bookingCount;
+    }
+
+    /**
+     * Applies the pending commands and stops the engine thread.
+     * Commands published afterwards fail with an IllegalStateException.
+     */
+    @Override
+    public void close() {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence | CLOSED));
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Booking engine closed - Bookings: {}", bookingCount);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void publish(byte command, int id, int userId, long checkIn, long checkOut,
+                         long amount, int roomType, CompletableFuture<?> future) {
+        long sequence = claim();
+        if (sequence < 0) {
+            future.completeExceptionally(new IllegalStateException("Booking engine closed"));
+            return;
+        }
+        int slot = (int) sequence & mask;
+        commands[slot] = command;
+        ids[slot] = id;
+        userIds[slot] = userId;
+        checkIns[slot] = checkIn;
+        checkOuts[slot] = checkOut;
+        amounts[slot] = amount;
+        roomTypes[slot] = (byte) roomType;
+        futures[slot] = future;
+        // Volatile store then volatile load: either the writer sees the slot, or we see it asleep
+        PUBLISHED.setVolatile(published, slot, sequence + 1);
+        if (sleeping) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Claims the next slot, parked while the ring is full
+     *
+     * @return the claimed sequence, or -1 if the engine is closed
+     */
+    private long claim() {
+        while (true) {
+            long sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return -1;
+            }
+            if (sequence - consumed >= capacity) {
+                awaitFreeSlot(sequence);
+            } else if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Parks the caller until the writer consumes past the slot it needs.
+     * Queued then re-checked: either the writer sees the caller, or the caller sees the slot freed.
+     */
+    private void awaitFreeSlot(long sequence) {
+        Thread caller = Thread.currentThread();
+        blockedCallers.add(caller);
+        if (sequence - consumed >= capacity) {
+            LockSupport.park(this);
+        }
+        blockedCallers.remove(caller);
+    }
+
+    private void unparkBlockedCallers() {
+        Thread caller;
+        while ((caller = blockedCallers.poll()) != null) {
+            LockSupport.unpark(caller);
+        }
+    }
+
+    private void runWriter() {
+        long next = 0;
+        int idle = 0;
+        while (true) {
+            int slot = (int) next & mask;
+            if ((long) PUBLISHED.getAcquire(published, slot) == next + 1) {
+                apply(slot);
+                next++;
+                consumed = next;
+                if (!blockedCallers.isEmpty()) {
+                    unparkBlockedCallers();
+                }
+                idle = 0;
+                continue;
+            }
+            long sequence = claimed.get();
+            if ((sequence & CLOSED) != 0 && next == (sequence & ~CLOSED)) {
+                return;
+            }
+            if (++idle < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+                continue;
+            }
+            sleeping = true;
+            if ((long) PUBLISHED.getVolatile(published, slot) != next + 1) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+            sleeping = false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(int slot) {
+        CompletableFuture<?> future = futures[slot];
+        futures[slot] = null;
+        try {
+            switch (commands[slot]) {
+                case SET_ROOM -> {
+                    state.setRoom(ids[slot], ROOM_TYPES[roomTypes[slot]], amounts[slot]);
+                    future.complete(null);
+                }
+                case SET_USER -> {
+                    state.setUser(ids[slot], amounts[slot]);
+                    future.complete(null);
+                }
+                default -> {
+                    Booking booking = state.bookRoom(ids[slot], userIds[slot], checkIns[slot], checkOuts[slot]);
+                    bookingCount = state.bookingCount;
+                    ((CompletableFuture<Booking>) future).complete(booking);
+                }
+            }
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    // ========== Engine State ==========
+
+    /**
+     * Rooms, users and booked periods of the engine, in plain arrays. Bookings themselves
+     * go to their callers: the engine keeps only their periods and a count for the next ID.
+     * Rooms and users are located by an open-addressing table of their dense position.
+     */
+    private static final class HotelState {
+
+        private final IntPositions roomPositions = new IntPositions();
+        private RoomType[] roomTypeOf = new RoomType[16];
+        private long[] priceOf = new long[16];
+
+        /**
+         * Booked periods of each room, sorted by check-in: (checkIn << 32) | checkOut in epoch days
+         */
+        private long[][] periodsOf = new long[16][];
+        private int[] periodCountOf = new int[16];
+
+        private final IntPositions userPositions = new IntPositions();
+        private long[] balanceOf = new long[16];
+
+        private int bookingCount;
+
+        void setRoom(int roomNumber, RoomType roomType, long pricePerNight) {
+            int room = roomPositions.positionOf(roomNumber);
+            if (room < 0) {
+                room = roomPositions.add(roomNumber);
+                if (room == roomTypeOf.length) {
+                    int length = room << 1;
+                    roomTypeOf = Arrays.copyOf(roomTypeOf, length);
+                    priceOf = Arrays.copyOf(priceOf, length);
+                    periodsOf = Arrays.copyOf(periodsOf, length);
+                    periodCountOf = Arrays.copyOf(periodCountOf, length);
+                }
+                periodsOf[room] = new long[4];
+            }
+            roomTypeOf[room] = roomType;
+            priceOf[room] = pricePerNight;
+        }
+
+        void setUser(int userId, long balance) {
+            int user = userPositions.positionOf(userId);
+            if (user < 0) {
+                user = userPositions.add(userId);
+                if (user == balanceOf.length) {
+                    balanceOf = Arrays.copyOf(balanceOf, user << 1);
+                }
+            }
+            balanceOf[user] = balance;
+        }
+
+        Booking bookRoom(int roomNumber, int userId, long checkIn, long checkOut) {
+            int user = userPositions.positionOf(userId);
+            if (user < 0) {
+                throw new EntityNotFoundException("User", userId);
+            }
+            int room = roomPositions.positionOf(roomNumber);
+            if (room < 0) {
+                throw new EntityNotFoundException("Room", roomNumber);
+            }
+
+            int index = insertionPoint(room, checkIn);
+            if (!isFree(room, index, checkIn, checkOut)) {
+                throw new RoomNotAvailableException(
+                        roomNumber, LocalDate.ofEpochDay(checkIn), LocalDate.ofEpochDay(checkOut));
+            }
+            int numberOfNights = (int) (checkOut - checkIn);
+            long totalCost;
+            try {
+                totalCost = Money.totalCost(priceOf[room], numberOfNights);
+            } catch (IllegalArgumentException e) {
+                throw InsufficientBalanceException.costOverflow(priceOf[room], numberOfNights);
+            }
+            if (balanceOf[user] < totalCost) {
+                throw new InsufficientBalanceException(totalCost, balanceOf[user]);
+            }
+
+            balanceOf[user] -= totalCost;
+            insertPeriod(room, index, checkIn, checkOut);
+            return Booking.builder()
+                    .id(++bookingCount)
+                    .userId(userId)
+                    .roomNumber(roomNumber)
+                    .roomType(roomTypeOf[room])
+                    .pricePerNight(priceOf[room])
+                    .checkIn(LocalDate.ofEpochDay(checkIn))
+                    .checkOut(LocalDate.ofEpochDay(checkOut))
+                    .numberOfNights(numberOfNights)
+                    .totalCost(totalCost)
+                    .createdDate(LocalDateTime.now())
+                    .build();
+        }
+
+        /**
+         * @return the index of the first period starting after checkIn
+         */
+        private int insertionPoint(int room, long checkIn) {
+            long[] periods = periodsOf[room];
+            int low = 0;
+            int high = periodCountOf[room];
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if ((periods[middle] >> 32) <= checkIn) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Booked periods are disjoint: only the neighbours of the insertion point can overlap.
+         * Bounds are inclusive on both sides, like the BookingService.
+         */
+        private boolean isFree(int room, int index, long checkIn, long checkOut) {
+            long[] periods = periodsOf[room];
+            if (index > 0 && (int) periods[index - 1] >= checkIn) {
+                return false;
+            }
+            return index == periodCountOf[room] || (periods[index] >> 32) > checkOut;
+        }
+
+        private void insertPeriod(int room, int index, long checkIn, long checkOut) {
+            long[] periods = periodsOf[room];
+            int count = periodCountOf[room];
+            if (count == periods.length) {
+                periods = Arrays.copyOf(periods, count << 1);
+                periodsOf[room] = periods;
+            }
+            System.arraycopy(periods, index, periods, index + 1, count - index);
+            periods[index] = (checkIn << 32) | checkOut;
+            periodCountOf[room] = count + 1;
+        }
+    }
+
+    /**
+     * Open-addressing table from an int key to its dense position, not thread-safe
+     */
+    private static final class IntPositions {
+
+        private int[] keys = new int[32];
+        private int[] positions = new int[32];
+        private int size;
+
+        int positionOf(int key) {
+            int mask = keys.length - 1;
+            for (int i = hash(key) & mask; positions[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return positions[i] - 1;
+                }
+            }
+            return -1;
+        }
+
+        int add(int key) {
+            if ((size + 1) << 1 > keys.length) {
+                grow();
+            }
+            insert(key, size);
+            return size++;
+        }
+
+        private void insert(int key, int position) {
+            int mask = keys.length - 1;
+            int i = hash(key) & mask;
+            while (positions[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = key;
+            positions[i] = position + 1;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldPositions = positions;
+            keys = new int[oldKeys.length << 1];
+            positions = new int[oldKeys.length << 1];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldPositions[i] != 0) {
+                    insert(oldKeys[i], oldPositions[i] - 1);
+                }
+            }
+        }
+
+        private static int hash(int key) {
+            int h = key * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+
+}
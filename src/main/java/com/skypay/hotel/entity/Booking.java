@@ -6,6 +6,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Booking Entity - Data only
@@ -36,9 +37,9 @@ public class Booking extends NumericAuditable<Integer> {
     private RoomType roomType;
 
     /**
-     * Snapshot: Price per night at the time of booking
+     * Snapshot: Price per night at the time of booking, in minor units of the currency
      */
-    private int pricePerNight;
+    private long pricePerNight;
 
     /**
      * Check-in date
@@ -51,13 +52,32 @@ public class Booking extends NumericAuditable<Integer> {
     private LocalDate checkOut;
 
     /**
-     * Total cost of the booking
+     * Total cost of the booking, in minor units of the currency
      */
-    private int totalCost;
+    private long totalCost;
 
     /**
      * Number of nights for this booking
      */
     private int numberOfNights;
 
+    /**
+     * Cancelled bookings stay in the history but no longer hold their room
+     */
+    @Builder.Default
+    private BookingStatus status = BookingStatus.CONFIRMED;
+
+    /**
+     * Bookings are mutable: their ID and modification date stay settable, unlike those of rooms and users
+     */
+    @Override
+    public void setId(Integer id) {
+        super.setId(id);
+    }
+
+    @Override
+    public void setLastModifiedDate(LocalDateTime lastModifiedDate) {
+        super.setLastModifiedDate(lastModifiedDate);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,5 @@
+package com.skypay.hotel.entity;
+
+public enum BookingStatus {
+    CONFIRMED, CANCELLED
+}
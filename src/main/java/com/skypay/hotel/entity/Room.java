@@ -1,20 +1,29 @@
 package com.skypay.hotel.entity;
 
 import com.skypay.hotel.entity.domain.NumericAuditable;
-import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
-@Data
+/**
+ * Room Entity - Immutable
+ * An update publishes a new version of the room, built with toBuilder(),
+ * so a reader always sees a type and a price from the same version.
+ * Its ID, version and audit fields are set through the builder only.
+ */
+@Getter
 @SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 @ToString(callSuper = true)
 public class Room extends NumericAuditable<Integer> {
 
-    private RoomType type;
+    private final RoomType type;
 
-    private Integer roomPricePerNight;
+    /**
+     * Price per night in minor units of the currency
+     */
+    private final long roomPricePerNight;
 
     /**
      * Convenience method to get room number (alias for getId)
@@ -22,4 +31,4 @@ public class Room extends NumericAuditable<Integer> {
     public Integer getRoomNumber() {
         return this.getId();
     }
-}
\ No newline at end of file
+}
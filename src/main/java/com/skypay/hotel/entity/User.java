@@ -1,15 +1,23 @@
 package com.skypay.hotel.entity;
 
 import com.skypay.hotel.entity.domain.NumericAuditable;
-import lombok.Data;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
-@Data
+/**
+ * User Entity - Immutable
+ * A balance change publishes a new version of the user, built with toBuilder().
+ * Its ID, version and audit fields are set through the builder only.
+ */
+@Getter
 @SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 @ToString(callSuper = true)
 public class User extends NumericAuditable<Integer> {
-    private int balance;
-}
\ No newline at end of file
+    /**
+     * Balance in minor units of the currency
+     */
+    private final long balance;
+}
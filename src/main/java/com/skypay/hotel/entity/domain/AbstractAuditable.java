@@ -1,6 +1,7 @@
 package com.skypay.hotel.entity.domain;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
@@ -11,10 +12,13 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 
+/**
+ * Creation and modification audit fields, settable by the subclasses only
+ */
 @SuperBuilder(toBuilder = true)
 @RequiredArgsConstructor
 @Getter
-@Setter
+@Setter(AccessLevel.PROTECTED)
 @ToString(callSuper = true)
 abstract class AbstractAuditable<I extends Serializable> extends AbstractPersistable<I> {
 
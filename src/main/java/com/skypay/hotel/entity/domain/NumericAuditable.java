@@ -1,18 +1,30 @@
 package com.skypay.hotel.entity.domain;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.experimental.SuperBuilder;
 
+/**
+ * Numeric ID and version. Setters are protected: immutable entities get them from
+ * the builder only, mutable ones open those they need.
+ */
 @SuperBuilder(toBuilder = true)
 @RequiredArgsConstructor
 @Getter
-@Setter
+@Setter(AccessLevel.PROTECTED)
 @ToString
 public class NumericAuditable<I extends Number> extends AbstractAuditable<I> {
 
     private I id;
 
+    /**
+     * Incremented by every published change of an entity replaced on update
+     */
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private long version;
+
 }
@@ -0,0 +1,79 @@
+package com.skypay.hotel.event;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+
+import java.util.List;
+
+/**
+ * Callback for the state changes applied by the HotelService.
+ * Called after the change is applied, under the lock that ordered it: the room
+ * lock for rooms and bookings. The changes of one room or one booking reach
+ * listeners in the order they were applied. A failing listener is logged: the
+ * change stays applied and the other listeners still see it.
+ * <p>
+ * A listener able to refuse changes does it in {@link #beforeChange}, and one that
+ * must block (e.g. waiting for durability) does it in {@link #afterChanges}, once
+ * the locks are released.
+ */
+public interface HotelEventListener {
+
+    /**
+     * Called under the lock that orders a change, before it is applied.
+     * Throwing rejects the change, which is left unapplied.
+     */
+    default void beforeChange() {
+    }
+
+    /**
+     * Called under the lock that orders a change once it is applied or refused.
+     * Also called when another listener refused the change in its beforeChange.
+     */
+    default void endChange() {
+    }
+
+    /**
+     * Called by the thread that applied changes once it released their locks.
+     * Throwing tells the caller its changes, which stay applied, are incomplete (e.g. not durable).
+     */
+    default void afterChanges() {
+    }
+
+    /**
+     * A room was created or updated
+     */
+    default void onRoomSet(int roomNumber, RoomType roomType, long roomPricePerNight) {
+    }
+
+    /**
+     * A user was created or its balance was reset
+     */
+    default void onUserSet(int userId, long balance) {
+    }
+
+    /**
+     * A booking was created and its total cost deducted from the user balance
+     */
+    default void onBookingCreated(Booking booking) {
+    }
+
+    /**
+     * Bookings created together by a batch request
+     */
+    default void onBookingsCreated(List<Booking> bookings) {
+        bookings.forEach(this::onBookingCreated);
+    }
+
+    /**
+     * A booking was cancelled and its total cost refunded to the user
+     */
+    default void onBookingCancelled(Booking booking) {
+    }
+
+    /**
+     * A booking was moved to new dates and the cost difference charged or refunded
+     */
+    default void onBookingModified(Booking booking) {
+    }
+
+}
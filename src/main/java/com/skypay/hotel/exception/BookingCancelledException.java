@@ -0,0 +1,11 @@
+package com.skypay.hotel.exception;
+
+/**
+ * Exception levée lorsqu'on annule ou modifie une réservation déjà annulée.
+ */
+public final class BookingCancelledException extends BookingException {
+
+    public BookingCancelledException(int bookingId) {
+        super(String.format("La réservation %d est annulée", bookingId));
+    }
+}
@@ -2,7 +2,8 @@ package com.skypay.hotel.exception;
 
 public sealed class BookingException extends RuntimeException
         permits InvalidDateException, InsufficientBalanceException,
-        RoomNotAvailableException, EntityNotFoundException {
+        RoomNotAvailableException, EntityNotFoundException, BookingCancelledException,
+        InvalidBookingRequestException {
 
     public BookingException(String message) {
         super(message);
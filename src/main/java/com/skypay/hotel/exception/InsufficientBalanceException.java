@@ -12,7 +12,15 @@ public final class InsufficientBalanceException extends BookingException {
     /**
      * Constructeur avec détails du solde.
      */
-    public InsufficientBalanceException(int required, int available) {
+    public InsufficientBalanceException(long required, long available) {
         super(String.format("Solde insuffisant. Requis: %d, Disponible: %d", required, available));
     }
+
+    /**
+     * Séjour dont le coût dépasse le plus grand montant possible : aucun solde ne peut le couvrir.
+     */
+    public static InsufficientBalanceException costOverflow(long pricePerNight, int numberOfNights) {
+        return new InsufficientBalanceException(String.format(
+                "Solde insuffisant. Coût hors limites: %d par nuit, %d nuits", pricePerNight, numberOfNights));
+    }
 }
\ No newline at end of file
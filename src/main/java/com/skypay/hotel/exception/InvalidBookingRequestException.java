@@ -0,0 +1,11 @@
+package com.skypay.hotel.exception;
+
+/**
+ * Exception levée lorsqu'une demande de réservation est incomplète.
+ */
+public final class InvalidBookingRequestException extends BookingException {
+
+    public InvalidBookingRequestException(String missingField) {
+        super(String.format("La demande de réservation doit préciser %s", missingField));
+    }
+}
@@ -0,0 +1,183 @@
+package com.skypay.hotel.index;
+
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
+
+import java.time.LocalDate;
+
+/**
+ * Per-room index of booked periods.
+ * Each room keeps its bookings sorted by check-in day. The confirmed periods of a
+ * room never overlap, so an availability check only looks at the last booking
+ * starting before the requested check-out, in O(log n), instead of every booking
+ * of the hotel.
+ */
+public class BookingIntervalIndex {
+
+    private final ConcurrentIntObjectMap<RoomIntervals> rooms = new ConcurrentIntObjectMap<>();
+
+    /**
+     * Registers a booked period for a room
+     *
+     * @param roomNumber the room number
+     * @param bookingId  the booking ID (keeps entries with the same check-in distinct)
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     */
+    public void add(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        rooms.computeIfAbsent(roomNumber, n -> new RoomIntervals())
+                .add(bookingId, checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Unregisters a booked period
+     *
+     * @param roomNumber the room number
+     * @param bookingId  the booking ID
+     * @param checkIn    the check-in date the period was registered with
+     */
+    public void remove(int roomNumber, int bookingId, LocalDate checkIn) {
+        RoomIntervals intervals = rooms.get(roomNumber);
+        if (intervals != null) {
+            intervals.remove(bookingId, checkIn.toEpochDay());
+        }
+    }
+
+    /**
+     * Checks that no registered period of the room overlaps the requested one, in O(log n).
+     * Bounds are inclusive on both sides, like the original overlap predicate.
+     *
+     * @param roomNumber the room number
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     * @return true if the room is free for the whole period
+     */
+    public boolean isFree(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        RoomIntervals intervals = rooms.get(roomNumber);
+        return intervals == null || intervals.isFree(checkIn.toEpochDay(), checkOut.toEpochDay());
+    }
+
+    /**
+     * Visits the registered periods of a room overlapping the requested days (bounds inclusive)
+     *
+     * @param roomNumber the room number
+     * @param fromDay    the first epoch day
+     * @param toDay      the last epoch day
+     * @param consumer   receives the check-in and check-out epoch days of each period
+     */
+    public void forEachOverlapping(int roomNumber, long fromDay, long toDay, PeriodConsumer consumer) {
+        RoomIntervals intervals = rooms.get(roomNumber);
+        if (intervals != null) {
+            intervals.forEachOverlapping(fromDay, toDay, consumer);
+        }
+    }
+
+    /**
+     * Receives a booked period as epoch days
+     */
+    @FunctionalInterface
+    public interface PeriodConsumer {
+        void accept(long checkInDay, long checkOutDay);
+    }
+
+    // ========== Per-room structure ==========
+
+    /**
+     * Sorted periods of a room in one primitive array, replaced on every change: the
+     * checks read a consistent array without a lock and without boxing. A change copies
+     * the periods of one room, checks outnumber changes by far.
+     */
+    private static final class RoomIntervals {
+
+        private static final long[] EMPTY = new long[0];
+
+        /**
+         * Pairs of (key, check-out epoch day), sorted by key.
+         * Key: check-in epoch day (high 32 bits) + booking ID (low 32 bits).
+         * The periods never overlap, so check-outs are sorted like check-ins.
+         */
+        private volatile long[] periods = EMPTY;
+
+        synchronized void add(int bookingId, long checkInDay, long checkOutDay) {
+            long key = key(checkInDay, bookingId);
+            long[] current = periods;
+            int index = indexOf(current, key);
+            long[] updated;
+            if (index >= 0) {
+                updated = current.clone();
+            } else {
+                index = -index - 1;
+                updated = new long[current.length + 2];
+                System.arraycopy(current, 0, updated, 0, index << 1);
+                System.arraycopy(current, index << 1, updated, (index + 1) << 1, current.length - (index << 1));
+                updated[index << 1] = key;
+            }
+            updated[(index << 1) + 1] = checkOutDay;
+            periods = updated;
+        }
+
+        synchronized void remove(int bookingId, long checkInDay) {
+            long[] current = periods;
+            int index = indexOf(current, key(checkInDay, bookingId));
+            if (index < 0) {
+                return;
+            }
+            long[] updated = new long[current.length - 2];
+            System.arraycopy(current, 0, updated, 0, index << 1);
+            System.arraycopy(current, (index + 1) << 1, updated, index << 1, updated.length - (index << 1));
+            periods = updated;
+        }
+
+        boolean isFree(long checkInDay, long checkOutDay) {
+            // [a, b] overlaps [checkIn, checkOut] iff a <= checkOut and b >= checkIn.
+            // The last period starting on or before checkOut ends after all the earlier ones.
+            long[] current = periods;
+            int last = floor(current, key(checkOutDay, -1));
+            return last < 0 || current[(last << 1) + 1] < checkInDay;
+        }
+
+        void forEachOverlapping(long fromDay, long toDay, PeriodConsumer consumer) {
+            long[] current = periods;
+            // Only the last period starting on or before fromDay can reach into the range from before it
+            int floor = floor(current, key(fromDay, -1));
+            long to = key(toDay, -1);
+            for (int i = Math.max(floor, 0) << 1; i < current.length && current[i] <= to; i += 2) {
+                if (current[i + 1] >= fromDay) {
+                    consumer.accept(current[i] >> 32, current[i + 1]);
+                }
+            }
+        }
+
+        /**
+         * @return the pair index of the key, or -(insertion point + 1) if absent
+         */
+        private static int indexOf(long[] periods, long key) {
+            int low = 0;
+            int high = (periods.length >> 1) - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long middleKey = periods[middle << 1];
+                if (middleKey < key) {
+                    low = middle + 1;
+                } else if (middleKey > key) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * @return the pair index of the greatest key less than or equal to the given one, -1 if none
+         */
+        private static int floor(long[] periods, long key) {
+            int index = indexOf(periods, key);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        private static long key(long epochDay, int bookingId) {
+            return (epochDay << 32) | (bookingId & 0xFFFF_FFFFL);
+        }
+    }
+
+}
@@ -0,0 +1,570 @@
+package com.skypay.hotel.index;
+
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
+import com.skypay.hotel.entity.RoomType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-room occupancy calendar: one bit per booked night over a rolling horizon,
+ * in front of a {@link BookingIntervalIndex}.
+ * <p>
+ * Inside the horizon an availability check is a bit-range test and a count of
+ * booked nights is a popcount. Periods reaching outside of it are answered by the
+ * interval index. A room calendar is a ring of {@link #HORIZON_NIGHTS} bits, under
+ * 200 bytes per room. It rolls forward, every {@link #ROLL_STEP_DAYS} days at most,
+ * into a fresh copy, so readers never see a half-rolled calendar: past nights leave
+ * it, nothing is kept for them.
+ * <p>
+ * The calendar also lists the type and price of the registered rooms, for the
+ * search of the free rooms of a period. Each room type gives its rooms dense slots
+ * and keeps, for every night of the horizon, a bitmap of the slots booked that
+ * night. A search inside the horizon clears the bitmaps of the requested nights
+ * from the rooms of the type: nights × rooms / 64 word operations, whatever the
+ * number of bookings. A period reaching outside of it is checked room by room.
+ * <p>
+ * A booking [a, b] books the nights a to b - 1. It overlaps a requested period
+ * [c, d], bounds inclusive, iff one of its nights falls in c - 1 to d.
+ */
+public class RoomCalendar {
+
+    /**
+     * Two years of nights, rounded up to whole words
+     */
+    public static final int HORIZON_NIGHTS = 768;
+
+    static final int ROLL_STEP_DAYS = 7;
+
+    private static final int WORDS_PER_ROOM = HORIZON_NIGHTS / Long.SIZE;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /**
+     * Slot of the rooms registered without a type in {@link #types}
+     */
+    private static final int UNTYPED = RoomType.values().length;
+
+    private static final int INITIAL_SLOTS = 64;
+
+    private final ConcurrentIntObjectMap<Nights> rooms = new ConcurrentIntObjectMap<>();
+
+    /**
+     * Registered rooms, in registration order
+     */
+    private final ConcurrentIntObjectMap<Listing> listings = new ConcurrentIntObjectMap<>();
+    private final AtomicInteger registrations = new AtomicInteger();
+
+    /**
+     * Night bitmaps of the rooms of each type, by type ordinal, the untyped rooms last
+     */
+    private final TypeNights[] types = new TypeNights[UNTYPED + 1];
+    private final BookingIntervalIndex periods;
+    private final Clock clock;
+
+    public RoomCalendar(BookingIntervalIndex periods) {
+        this(periods, Clock.systemDefaultZone());
+    }
+
+    public RoomCalendar(BookingIntervalIndex periods, Clock clock) {
+        this.periods = periods;
+        this.clock = clock;
+        for (int type = 0; type < types.length; type++) {
+            types[type] = new TypeNights();
+        }
+    }
+
+    /**
+     * @return the interval index answering the periods outside of the horizon
+     */
+    public BookingIntervalIndex periods() {
+        return periods;
+    }
+
+    /**
+     * Registers a room or records its new type and price
+     *
+     * @param roomNumber    the room number
+     * @param roomType      the room type
+     * @param pricePerNight the price per night
+     */
+    public void registerRoom(int roomNumber, RoomType roomType, long pricePerNight) {
+        Listing previous = listings.get(roomNumber);
+        int order = previous != null ? previous.order() : registrations.getAndIncrement();
+        listings.put(roomNumber, new Listing(roomNumber, roomType, pricePerNight, order));
+        if (previous == null || previous.type() != roomType) {
+            if (previous != null) {
+                types[typeIndex(previous.type())].unlist(roomNumber);
+            }
+            types[typeIndex(roomType)].list(roomNumber);
+        }
+    }
+
+    /**
+     * Records the nights of a booked period.
+     * The period must already be registered in the interval index.
+     *
+     * @param roomNumber the room number
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     */
+    public void add(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        rooms.computeIfAbsent(roomNumber, n -> new Nights(n, firstTrackedNight()))
+                .add(checkIn.toEpochDay(), checkOut.toEpochDay() - 1);
+        Listing listing = listings.get(roomNumber);
+        if (listing != null) {
+            types[typeIndex(listing.type())].update(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay() - 1, true);
+        }
+    }
+
+    /**
+     * Forgets the nights of a booked period.
+     * The period must already be removed from the interval index.
+     *
+     * @param roomNumber the room number
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     */
+    public void remove(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        Nights nights = rooms.get(roomNumber);
+        if (nights != null) {
+            nights.remove(checkIn.toEpochDay(), checkOut.toEpochDay() - 1);
+        }
+        Listing listing = listings.get(roomNumber);
+        if (listing != null) {
+            types[typeIndex(listing.type())].update(roomNumber, checkIn.toEpochDay(), checkOut.toEpochDay() - 1, false);
+        }
+    }
+
+    /**
+     * Checks that no booked period of the room overlaps the requested one, bounds inclusive
+     *
+     * @param roomNumber the room number
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     * @return true if the room is free for the whole period
+     */
+    public boolean isFree(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        Nights nights = rooms.get(roomNumber);
+        if (nights == null) {
+            return true;
+        }
+        long first = checkIn.toEpochDay() - 1;
+        long last = checkOut.toEpochDay();
+        Window window = nights.current(firstTrackedNight());
+        if (!window.covers(first, last)) {
+            return periods.isFree(roomNumber, checkIn, checkOut);
+        }
+        return window.count(first, last) == 0;
+    }
+
+    /**
+     * Finds the registered rooms free for the whole requested period
+     *
+     * @param roomType the wanted room type, or null for any type
+     * @param checkIn  the check-in date
+     * @param checkOut the check-out date
+     * @param maxPrice the highest accepted price per night
+     * @return the free room numbers, in registration order
+     */
+    public List<Integer> findFree(RoomType roomType, LocalDate checkIn, LocalDate checkOut, long maxPrice) {
+        List<Listing> free = new ArrayList<>();
+        for (int type = 0; type < types.length; type++) {
+            if (roomType == null || type == roomType.ordinal()) {
+                types[type].collectFree(type, checkIn, checkOut, maxPrice, free);
+            }
+        }
+        free.sort(Comparator.comparingInt(Listing::order));
+        List<Integer> roomNumbers = new ArrayList<>(free.size());
+        for (Listing listing : free) {
+            roomNumbers.add(listing.roomNumber());
+        }
+        return roomNumbers;
+    }
+
+    /**
+     * Counts the booked nights of a room in a period
+     *
+     * @param roomNumber the room number
+     * @param from       the first night
+     * @param to         the end of the period (excluded)
+     * @return the number of booked nights
+     */
+    public int bookedNights(int roomNumber, LocalDate from, LocalDate to) {
+        Nights nights = rooms.get(roomNumber);
+        if (nights == null || !from.isBefore(to)) {
+            return 0;
+        }
+        long first = from.toEpochDay();
+        long last = to.toEpochDay() - 1;
+        Window window = nights.current(firstTrackedNight());
+        if (window.covers(first, last)) {
+            return window.count(first, last);
+        }
+        int[] count = {0};
+        periods.forEachOverlapping(roomNumber, first, last, (checkInDay, checkOutDay) ->
+                count[0] += (int) Math.max(0, Math.min(checkOutDay - 1, last) - Math.max(checkInDay, first) + 1));
+        return count[0];
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Yesterday: the night an availability check starting today looks at first
+     */
+    private long firstTrackedNight() {
+        return LocalDate.now(clock).toEpochDay() - 1;
+    }
+
+    private static int typeIndex(RoomType roomType) {
+        return roomType == null ? UNTYPED : roomType.ordinal();
+    }
+
+    /**
+     * Type and price of a registered room, replaced as a whole on update
+     *
+     * @param order rank of the first registration of the room, kept across updates
+     */
+    private record Listing(int roomNumber, RoomType type, long pricePerNight, int order) {
+    }
+
+    /**
+     * Nights booked in a ring of bits: night n lives at bit n mod HORIZON_NIGHTS
+     *
+     * @param start first night covered
+     */
+    private record Window(long start, long[] words) {
+
+        boolean covers(long first, long last) {
+            return first >= start && last < start + HORIZON_NIGHTS;
+        }
+
+        void set(long first, long last) {
+            for (long night = Math.max(first, start); night <= Math.min(last, start + HORIZON_NIGHTS - 1); night++) {
+                int bit = (int) Math.floorMod(night, (long) HORIZON_NIGHTS);
+                WORDS.getAndBitwiseOrRelease(words, bit / Long.SIZE, 1L << bit);
+            }
+        }
+
+        void clear(long first, long last) {
+            for (long night = Math.max(first, start); night <= Math.min(last, start + HORIZON_NIGHTS - 1); night++) {
+                int bit = (int) Math.floorMod(night, (long) HORIZON_NIGHTS);
+                WORDS.getAndBitwiseAndRelease(words, bit / Long.SIZE, ~(1L << bit));
+            }
+        }
+
+        int count(long first, long last) {
+            int from = (int) Math.floorMod(first, (long) HORIZON_NIGHTS);
+            int to = (int) Math.floorMod(last, (long) HORIZON_NIGHTS);
+            return from <= to
+                    ? count(from, to)
+                    : count(from, HORIZON_NIGHTS - 1) + count(0, to);
+        }
+
+        private int count(int fromBit, int toBit) {
+            int fromWord = fromBit / Long.SIZE;
+            int toWord = toBit / Long.SIZE;
+            int total = 0;
+            for (int word = fromWord; word <= toWord; word++) {
+                long bits = (long) WORDS.getAcquire(words, word);
+                if (word == fromWord) {
+                    bits &= -1L << fromBit;
+                }
+                if (word == toWord) {
+                    bits &= -1L >>> (Long.SIZE - 1 - toBit % Long.SIZE);
+                }
+                total += Long.bitCount(bits);
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Calendar of one room. Writers and rolls are serialized on it, readers do not lock.
+     */
+    private final class Nights {
+
+        private final int roomNumber;
+        private volatile Window window;
+
+        Nights(int roomNumber, long start) {
+            this.roomNumber = roomNumber;
+            this.window = new Window(start, new long[WORDS_PER_ROOM]);
+        }
+
+        synchronized void add(long first, long last) {
+            roll(firstTrackedNight()).set(first, last);
+        }
+
+        synchronized void remove(long first, long last) {
+            roll(firstTrackedNight()).clear(first, last);
+        }
+
+        Window current(long firstTrackedNight) {
+            Window current = window;
+            if (firstTrackedNight - current.start() < ROLL_STEP_DAYS) {
+                return current;
+            }
+            synchronized (this) {
+                return roll(firstTrackedNight);
+            }
+        }
+
+        /**
+         * Moves the window to start at the given night once it is far enough ahead.
+         * Caller holds the room calendar lock.
+         */
+        private Window roll(long start) {
+            Window current = window;
+            if (start - current.start() < ROLL_STEP_DAYS) {
+                return current;
+            }
+            long[] words = current.words().clone();
+            Window rolled = new Window(start, words);
+            long oldEnd = current.start() + HORIZON_NIGHTS;
+            long newEnd = start + HORIZON_NIGHTS;
+            // Ring positions leaving the window are reused by the nights entering it
+            long enteringFrom = Math.max(oldEnd, start);
+            for (long night = enteringFrom; night < newEnd; night++) {
+                int bit = (int) Math.floorMod(night, (long) HORIZON_NIGHTS);
+                words[bit / Long.SIZE] &= ~(1L << bit);
+            }
+            periods.forEachOverlapping(roomNumber, enteringFrom, newEnd, (checkInDay, checkOutDay) ->
+                    rolled.set(Math.max(checkInDay, enteringFrom), checkOutDay - 1));
+            window = rolled;
+            return rolled;
+        }
+    }
+
+    /**
+     * Booked slots of one room type in a ring of bitmaps: night n lives at row n mod HORIZON_NIGHTS
+     *
+     * @param start     first night covered
+     * @param rows      one bitmap of the booked slots per night
+     * @param rooms     room number of each slot
+     * @param listed    slots of the rooms currently of this type
+     * @param slotCount number of slots given out
+     */
+    private record TypeWindow(long start, long[][] rows, int[] rooms, long[] listed, int slotCount) {
+
+        boolean covers(long first, long last) {
+            return first >= start && last < start + HORIZON_NIGHTS;
+        }
+
+        long[] row(long night) {
+            return rows[(int) Math.floorMod(night, (long) HORIZON_NIGHTS)];
+        }
+
+        void set(int slot, long first, long last, boolean booked) {
+            for (long night = Math.max(first, start); night <= Math.min(last, start + HORIZON_NIGHTS - 1); night++) {
+                if (booked) {
+                    WORDS.getAndBitwiseOrRelease(row(night), slot / Long.SIZE, 1L << slot);
+                } else {
+                    WORDS.getAndBitwiseAndRelease(row(night), slot / Long.SIZE, ~(1L << slot));
+                }
+            }
+        }
+
+        boolean isListed(int slot) {
+            return (listed[slot / Long.SIZE] & (1L << slot)) != 0;
+        }
+
+        TypeWindow withListed(int slot, boolean isListed) {
+            long[] mask = listed.clone();
+            if (isListed) {
+                mask[slot / Long.SIZE] |= 1L << slot;
+            } else {
+                mask[slot / Long.SIZE] &= ~(1L << slot);
+            }
+            return new TypeWindow(start, rows, rooms, mask, slotCount);
+        }
+    }
+
+    /**
+     * Night bitmaps of the rooms of one type. A room keeps its slot when it leaves
+     * the type, only its listed bit is cleared. Bookings set and clear bits under the
+     * read lock with atomic word operations; listings, growth and rolls publish a new
+     * window under the write lock. Searches do not lock.
+     */
+    private final class TypeNights {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final ConcurrentIntObjectMap<Integer> slots = new ConcurrentIntObjectMap<>();
+        private volatile TypeWindow window;
+
+        TypeNights() {
+            this.window = new TypeWindow(firstTrackedNight(), new long[HORIZON_NIGHTS][INITIAL_SLOTS / Long.SIZE],
+                    new int[INITIAL_SLOTS], new long[INITIAL_SLOTS / Long.SIZE], 0);
+        }
+
+        /**
+         * Lists a room under this type, with the nights it has booked so far
+         */
+        void list(int roomNumber) {
+            lock.writeLock().lock();
+            try {
+                TypeWindow current = roll(firstTrackedNight());
+                Integer known = slots.get(roomNumber);
+                int slot = known != null ? known : current.slotCount();
+                if (known == null) {
+                    current = grow(current, slot + 1);
+                    current.rooms()[slot] = roomNumber;
+                    current = new TypeWindow(current.start(), current.rows(), current.rooms(), current.listed(),
+                            slot + 1);
+                    slots.put(roomNumber, slot);
+                }
+                // The bits of a returning room went stale while it was of another type
+                TypeWindow filled = current;
+                long end = filled.start() + HORIZON_NIGHTS;
+                filled.set(slot, filled.start(), end - 1, false);
+                periods.forEachOverlapping(roomNumber, filled.start(), end, (checkInDay, checkOutDay) ->
+                        filled.set(slot, checkInDay, checkOutDay - 1, true));
+                window = filled.withListed(slot, true);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void unlist(int roomNumber) {
+            Integer slot = slots.get(roomNumber);
+            if (slot == null) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                window = window.withListed(slot, false);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Books or frees the nights first to last of a room of this type
+         */
+        void update(int roomNumber, long first, long last, boolean booked) {
+            Integer slot = slots.get(roomNumber);
+            if (slot == null) {
+                return;
+            }
+            current(firstTrackedNight());
+            lock.readLock().lock();
+            try {
+                window.set(slot, first, last, booked);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /**
+         * Adds the rooms of this type free for the whole period and priced up to maxPrice
+         */
+        void collectFree(int type, LocalDate checkIn, LocalDate checkOut, long maxPrice, List<Listing> free) {
+            long first = checkIn.toEpochDay() - 1;
+            long last = checkOut.toEpochDay();
+            TypeWindow current = current(firstTrackedNight());
+            if (!current.covers(first, last)) {
+                for (int slot = 0; slot < current.slotCount(); slot++) {
+                    int roomNumber = current.rooms()[slot];
+                    if (current.isListed(slot) && isFree(roomNumber, checkIn, checkOut)) {
+                        addListing(type, roomNumber, maxPrice, free);
+                    }
+                }
+                return;
+            }
+            long[] candidates = current.listed().clone();
+            for (long night = first; night <= last; night++) {
+                long[] booked = current.row(night);
+                for (int word = 0; word < candidates.length; word++) {
+                    candidates[word] &= ~(long) WORDS.getAcquire(booked, word);
+                }
+            }
+            for (int word = 0; word < candidates.length; word++) {
+                for (long bits = candidates[word]; bits != 0; bits &= bits - 1) {
+                    addListing(type, current.rooms()[word * Long.SIZE + Long.numberOfTrailingZeros(bits)],
+                            maxPrice, free);
+                }
+            }
+        }
+
+        // ========== Private Helper Methods ==========
+
+        /**
+         * Adds the listing of a room still of this type and within the price
+         */
+        private void addListing(int type, int roomNumber, long maxPrice, List<Listing> free) {
+            Listing listing = listings.get(roomNumber);
+            if (listing != null && typeIndex(listing.type()) == type && listing.pricePerNight() <= maxPrice) {
+                free.add(listing);
+            }
+        }
+
+        private TypeWindow current(long firstTrackedNight) {
+            TypeWindow current = window;
+            if (firstTrackedNight - current.start() < ROLL_STEP_DAYS) {
+                return current;
+            }
+            lock.writeLock().lock();
+            try {
+                return roll(firstTrackedNight);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Moves the window to start at the given night once it is far enough ahead.
+         * Caller holds the write lock.
+         */
+        private TypeWindow roll(long start) {
+            TypeWindow current = window;
+            if (start - current.start() < ROLL_STEP_DAYS) {
+                return current;
+            }
+            long[][] rows = current.rows().clone();
+            long oldEnd = current.start() + HORIZON_NIGHTS;
+            long newEnd = start + HORIZON_NIGHTS;
+            // Rows leaving the window are reused by the nights entering it
+            long enteringFrom = Math.max(oldEnd, start);
+            for (long night = enteringFrom; night < newEnd; night++) {
+                rows[(int) Math.floorMod(night, (long) HORIZON_NIGHTS)] = new long[current.listed().length];
+            }
+            TypeWindow rolled = new TypeWindow(start, rows, current.rooms(), current.listed(), current.slotCount());
+            for (int slot = 0; slot < current.slotCount(); slot++) {
+                int filledSlot = slot;
+                periods.forEachOverlapping(current.rooms()[slot], enteringFrom, newEnd, (checkInDay, checkOutDay) ->
+                        rolled.set(filledSlot, Math.max(checkInDay, enteringFrom), checkOutDay - 1, true));
+            }
+            window = rolled;
+            return rolled;
+        }
+
+        /**
+         * Copies the window into one with room for the given number of slots.
+         * Caller holds the write lock.
+         */
+        private TypeWindow grow(TypeWindow current, int slotCount) {
+            int capacity = current.rooms().length;
+            if (slotCount <= capacity) {
+                return current;
+            }
+            while (capacity < slotCount) {
+                capacity *= 2;
+            }
+            int words = capacity / Long.SIZE;
+            long[][] rows = new long[HORIZON_NIGHTS][];
+            for (int row = 0; row < HORIZON_NIGHTS; row++) {
+                rows[row] = Arrays.copyOf(current.rows()[row], words);
+            }
+            return new TypeWindow(current.start(), rows, Arrays.copyOf(current.rooms(), capacity),
+                    Arrays.copyOf(current.listed(), words), current.slotCount());
+        }
+    }
+
+}
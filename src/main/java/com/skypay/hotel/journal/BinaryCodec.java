@@ -0,0 +1,87 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Fixed-width binary encoding shared by the journal and the snapshots.
+ * Amounts are longs; files written when they were ints are read with intAmounts.
+ */
+final class BinaryCodec {
+
+    /**
+     * Epoch second, then nano
+     */
+    static final int TIMESTAMP_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Booking fields but its creation date
+     */
+    static final int BOOKING_SIZE = 4 * Integer.BYTES + Byte.BYTES + 4 * Long.BYTES;
+
+    private static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private BinaryCodec() {
+    }
+
+    static void putTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            buffer.putLong(NULL_TIMESTAMP).putInt(0);
+        } else {
+            buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        }
+    }
+
+    static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        return epochSecond == NULL_TIMESTAMP ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    static void putRoomType(ByteBuffer buffer, RoomType roomType) {
+        buffer.put(roomType == null ? -1 : (byte) roomType.ordinal());
+    }
+
+    static RoomType getRoomType(ByteBuffer buffer) {
+        byte code = buffer.get();
+        return code < 0 ? null : ROOM_TYPES[code];
+    }
+
+    static void putBooking(ByteBuffer buffer, Booking booking) {
+        buffer.putInt(booking.getId())
+                .putInt(booking.getUserId())
+                .putInt(booking.getRoomNumber());
+        putRoomType(buffer, booking.getRoomType());
+        buffer.putLong(booking.getPricePerNight())
+                .putLong(booking.getCheckIn().toEpochDay())
+                .putLong(booking.getCheckOut().toEpochDay())
+                .putInt(booking.getNumberOfNights())
+                .putLong(booking.getTotalCost());
+    }
+
+    static long getAmount(ByteBuffer buffer, boolean intAmounts) {
+        return intAmounts ? buffer.getInt() : buffer.getLong();
+    }
+
+    static Booking getBooking(ByteBuffer buffer, LocalDateTime createdDate, boolean intAmounts) {
+        return Booking.builder()
+                .id(buffer.getInt())
+                .userId(buffer.getInt())
+                .roomNumber(buffer.getInt())
+                .roomType(getRoomType(buffer))
+                .pricePerNight(getAmount(buffer, intAmounts))
+                .checkIn(LocalDate.ofEpochDay(buffer.getLong()))
+                .checkOut(LocalDate.ofEpochDay(buffer.getLong()))
+                .numberOfNights(buffer.getInt())
+                .totalCost(getAmount(buffer, intAmounts))
+                .createdDate(createdDate)
+                .build();
+    }
+
+}
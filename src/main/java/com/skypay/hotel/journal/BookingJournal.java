@@ -0,0 +1,672 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary journal of the hotel state changes.
+ * <p>
+ * Records are copied into fixed-size memory-mapped segment files, so an append
+ * costs no system call. A background flusher forces the written segments to
+ * disk and wakes up the writers blocked in {@link #awaitDurable}: one force
+ * covers every record appended since the previous one (group commit).
+ * <p>
+ * Record layout: length (int, whole record), type (byte), sequence number (long),
+ * timestamp (long epoch second and int nano, UTC), payload, then the CRC32C of
+ * type to payload. Amounts are longs; the record types written when they were
+ * ints, or before records had a sequence number, are still read.
+ * <p>
+ * A zero length marks the end of the written part of a segment. A record torn
+ * by a crash fails its checksum, and the rest of its segment is ignored. The
+ * pages of a mapped segment may reach the disk out of order, so valid-looking
+ * records can follow a hole: consecutive records have consecutive sequence
+ * numbers, and reading stops at the first gap. A reopened journal seals the end
+ * of its valid records, sets the segments past a gap aside, and appends to a new
+ * segment, so a new record never sits in front of stale bytes.
+ * <p>
+ * Segments are numbered in append order. Once their content is folded into a
+ * snapshot, the older segments are deleted with {@link #deleteSegmentsBefore}.
+ */
+@Slf4j
+public class BookingJournal implements Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis(10);
+
+    private static final byte BOOKING_CANCELLED = 4;
+    private static final byte ROOM_SET = 6;
+    private static final byte USER_SET = 7;
+    private static final byte BOOKING_CREATED = 8;
+    private static final byte BOOKING_MODIFIED = 9;
+
+    /**
+     * Flag of the type byte of the records carrying a sequence number
+     */
+    private static final int SEQUENCED = 0x80;
+
+    // Record types with int amounts, only read
+    private static final byte INT_ROOM_SET = 1;
+    private static final byte INT_USER_SET = 2;
+    private static final byte INT_BOOKING_CREATED = 3;
+    private static final byte INT_BOOKING_MODIFIED = 5;
+
+    private static final int UNSEQUENCED_HEADER_SIZE = Integer.BYTES + Byte.BYTES + BinaryCodec.TIMESTAMP_SIZE;
+    private static final int HEADER_SIZE = UNSEQUENCED_HEADER_SIZE + Long.BYTES;
+    private static final int CHECKSUM_SIZE = Integer.BYTES;
+    private static final int ROOM_SET_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES;
+    private static final int USER_SET_SIZE = Integer.BYTES + Long.BYTES;
+    private static final int BOOKING_CANCELLED_SIZE = Integer.BYTES;
+    private static final int BOOKING_MODIFIED_SIZE = Integer.BYTES + 3 * Long.BYTES;
+    private static final int MAX_RECORD_SIZE = HEADER_SIZE + BinaryCodec.BOOKING_SIZE + CHECKSUM_SIZE;
+
+    private static final String SEGMENT_PREFIX = "journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String DISCARDED_SUFFIX = ".discarded";
+
+    @Getter
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalNanos;
+
+    // Writer state, guarded by appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final CRC32C checksum = new CRC32C();
+    private final List<MappedByteBuffer> unforcedSegments = new ArrayList<>();
+    private MappedByteBuffer segment;
+    private int segmentIndex;
+    private long appendedPosition;
+    private long sequence;
+
+    // Flusher state
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushRequested = flushLock.newCondition();
+    private final Condition flushCompleted = flushLock.newCondition();
+    private boolean flushPending;
+    private volatile long durablePosition;
+
+    /**
+     * First failed force or segment creation: the journal refuses the next changes
+     */
+    private volatile UncheckedIOException writeFailure;
+    private volatile boolean closed;
+
+    /**
+     * Read-held by the changes admitted and not yet journaled, write-held by close()
+     */
+    private final ReentrantReadWriteLock changesInFlight = new ReentrantReadWriteLock();
+    private final Thread flusher;
+
+    private BookingJournal(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+
+        // Find the end of the valid records, which may lie before the last segment
+        ScanState state = new ScanState();
+        int lastIndex = -1;
+        int end = 0;
+        for (int index : segmentIndexes()) {
+            if (state.gap) {
+                discard(index);
+                continue;
+            }
+            MappedByteBuffer buffer = map(index);
+            end = scan(buffer, index, state, record -> {
+            });
+            sealEnd(buffer, index, end);
+            lastIndex = index;
+        }
+
+        // Append to a new segment: stale bytes may follow the valid records of the last one
+        if (lastIndex >= 0 && end == 0) {
+            if (state.gap) {
+                discard(lastIndex);
+            } else {
+                Files.delete(segmentPath(lastIndex));
+            }
+            segmentIndex = lastIndex;
+        } else {
+            segmentIndex = lastIndex + 1;
+        }
+        segment = map(segmentIndex);
+        sequence = state.lastSequence;
+        appendedPosition = position(segmentIndex, 0);
+        durablePosition = appendedPosition;
+
+        flusher = Thread.ofPlatform().daemon().name("journal-flusher").start(this::runFlusher);
+        log.info("Journal opened - Directory: {}, Segment: {}, Sequence: {}", directory, segmentIndex, sequence);
+    }
+
+    /**
+     * Opens the journal stored in a directory, creating it if needed
+     *
+     * @param directory the journal directory
+     * @return the journal, positioned after its last valid record
+     */
+    public static BookingJournal open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_FLUSH_INTERVAL);
+    }
+
+    /**
+     * Opens the journal stored in a directory, creating it if needed
+     *
+     * @param directory     the journal directory
+     * @param segmentSize   the size of a new segment file in bytes
+     * @param flushInterval the longest time between two forces
+     * @return the journal, positioned after its last valid record
+     */
+    public static BookingJournal open(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        if (segmentSize < MAX_RECORD_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        return new BookingJournal(directory, segmentSize, flushInterval);
+    }
+
+    /**
+     * Appends a room creation or update
+     *
+     * @return the position to pass to {@link #awaitDurable}
+     */
+    public long appendRoomSet(int roomNumber, RoomType roomType, long pricePerNight) {
+        appendLock.lock();
+        try {
+            ByteBuffer out = beginRecord(ROOM_SET, ROOM_SET_SIZE, LocalDateTime.now()).putInt(roomNumber);
+            BinaryCodec.putRoomType(out, roomType);
+            out.putLong(pricePerNight);
+            return endRecord();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a user creation or balance reset
+     *
+     * @return the position to pass to {@link #awaitDurable}
+     */
+    public long appendUserSet(int userId, long balance) {
+        appendLock.lock();
+        try {
+            beginRecord(USER_SET, USER_SET_SIZE, LocalDateTime.now())
+                    .putInt(userId)
+                    .putLong(balance);
+            return endRecord();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a booking creation, which implies charging its total cost to the user
+     *
+     * @return the position to pass to {@link #awaitDurable}
+     */
+    public long appendBookingCreated(Booking booking) {
+        appendLock.lock();
+        try {
+            BinaryCodec.putBooking(
+                    beginRecord(BOOKING_CREATED, BinaryCodec.BOOKING_SIZE, booking.getCreatedDate()), booking);
+            return endRecord();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a booking cancellation, which implies refunding its total cost to the user
+     *
+     * @return the position to pass to {@link #awaitDurable}
+     */
+    public long appendBookingCancelled(Booking booking) {
+        appendLock.lock();
+        try {
+            beginRecord(BOOKING_CANCELLED, BOOKING_CANCELLED_SIZE, booking.getLastModifiedDate())
+                    .putInt(booking.getId());
+            return endRecord();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a change of booking dates, which implies charging or refunding the cost difference
+     *
+     * @return the position to pass to {@link #awaitDurable}
+     */
+    public long appendBookingModified(Booking booking) {
+        appendLock.lock();
+        try {
+            beginRecord(BOOKING_MODIFIED, BOOKING_MODIFIED_SIZE, booking.getLastModifiedDate())
+                    .putInt(booking.getId())
+                    .putLong(booking.getCheckIn().toEpochDay())
+                    .putLong(booking.getCheckOut().toEpochDay())
+                    .putLong(booking.getTotalCost());
+            return endRecord();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Blocks until every record up to a position is forced to disk
+     *
+     * @param position a position returned by an append method
+     */
+    public void awaitDurable(long position) {
+        if (durablePosition >= position) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durablePosition < position) {
+                if (writeFailure != null) {
+                    throw writeFailure;
+                }
+                flushPending = true;
+                flushRequested.signal();
+                flushCompleted.awaitUninterruptibly();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Admits a change about to be applied and journaled by this thread. The journal
+     * is not closed before the matching {@link #endChange}, so the change can be appended.
+     *
+     * @throws IllegalStateException if the journal is closed, the change is not admitted
+     * @throws UncheckedIOException  if a write failed, the change is not admitted
+     */
+    public void beginChange() {
+        changesInFlight.readLock().lock();
+        try {
+            requireWritable();
+        } catch (RuntimeException e) {
+            changesInFlight.readLock().unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Ends the change this thread began, if any
+     */
+    public void endChange() {
+        if (changesInFlight.getReadHoldCount() > 0) {
+            changesInFlight.readLock().unlock();
+        }
+    }
+
+    /**
+     * Checks that the journal takes new changes: it is open, and no force or segment creation failed
+     *
+     * @throws IllegalStateException if the journal is closed
+     * @throws UncheckedIOException  if a write failed
+     */
+    public void requireWritable() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        UncheckedIOException failure = writeFailure;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Reads every valid record, oldest first
+     *
+     * @param consumer receives the records
+     * @return the number of records read
+     */
+    public int replay(Consumer<? super JournalRecord> consumer) throws IOException {
+        return replay(0, Integer.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Reads the valid records of a range of segments, oldest first
+     *
+     * @param fromSegment the first segment to read
+     * @param toSegment   the segment to stop at (excluded)
+     * @param consumer    receives the records
+     * @return the number of records read
+     */
+    public int replay(int fromSegment, int toSegment, Consumer<? super JournalRecord> consumer) throws IOException {
+        int[] count = new int[1];
+        ScanState state = new ScanState();
+        for (int index : segmentIndexes()) {
+            if (index < fromSegment || index >= toSegment) {
+                continue;
+            }
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(segmentPath(index), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            scan(buffer, index, state, record -> {
+                consumer.accept(record);
+                count[0]++;
+            });
+            if (state.gap) {
+                break;
+            }
+        }
+        return count[0];
+    }
+
+    /**
+     * Closes the current segment so the next records go to a new one.
+     * An empty current segment stays current.
+     *
+     * @return the index of the current segment, every record appended so far is in a lower one
+     */
+    public int startNewSegment() {
+        appendLock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Journal is closed");
+            }
+            if (segment.position() > 0) {
+                rollSegment();
+            }
+            return segmentIndex;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes the segment files below an index
+     *
+     * @param segment the first segment to keep, must not be above the current one
+     * @return the number of deleted segments
+     */
+    public int deleteSegmentsBefore(int segment) throws IOException {
+        appendLock.lock();
+        try {
+            if (segment > segmentIndex) {
+                throw new IllegalArgumentException("Cannot delete the current segment " + segmentIndex);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        int deleted = 0;
+        for (int index : segmentIndexes()) {
+            if (index < segment && Files.deleteIfExists(segmentPath(index))) {
+                deleted++;
+            }
+        }
+        log.info("Journal segments deleted - Before: {}, Count: {}", segment, deleted);
+        return deleted;
+    }
+
+    /**
+     * Waits for the changes in flight to be appended, forces the pending records and stops the flusher
+     */
+    @Override
+    public void close() {
+        changesInFlight.writeLock().lock();
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            appendLock.unlock();
+            changesInFlight.writeLock().unlock();
+        }
+        flushLock.lock();
+        try {
+            flushRequested.signal();
+        } finally {
+            flushLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        force();
+        log.info("Journal closed - Directory: {}", directory);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private ByteBuffer beginRecord(byte type, int payloadSize, LocalDateTime timestamp) {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int length = HEADER_SIZE + payloadSize + CHECKSUM_SIZE;
+        if (segment.remaining() < length) {
+            rollSegment();
+        }
+        segment.putInt(length).put((byte) (type | SEQUENCED)).putLong(++sequence);
+        BinaryCodec.putTimestamp(segment, timestamp);
+        return segment;
+    }
+
+    private long endRecord() {
+        // The previous end position is the start of this record (low half = offset)
+        int recordStart = (int) appendedPosition;
+        int checkedStart = recordStart + Integer.BYTES;
+        checksum.reset();
+        checksum.update(segment.slice(checkedStart, segment.position() - checkedStart));
+        segment.putInt((int) checksum.getValue());
+        appendedPosition = position(segmentIndex, segment.position());
+        return appendedPosition;
+    }
+
+    private void rollSegment() {
+        unforcedSegments.add(segment);
+        try {
+            segment = map(segmentIndex + 1);
+        } catch (IOException e) {
+            writeFailure = new UncheckedIOException("Cannot create journal segment " + (segmentIndex + 1), e);
+            throw writeFailure;
+        }
+        segmentIndex++;
+        appendedPosition = position(segmentIndex, 0);
+        log.info("Journal rolled to segment {}", segmentIndex);
+    }
+
+    private void runFlusher() {
+        while (!closed) {
+            flushLock.lock();
+            try {
+                if (!flushPending) {
+                    flushRequested.awaitNanos(flushIntervalNanos);
+                }
+                flushPending = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                flushLock.unlock();
+            }
+            force();
+        }
+    }
+
+    /**
+     * Forces everything appended so far, outside of the append lock
+     */
+    private void force() {
+        long target;
+        List<MappedByteBuffer> segments;
+        appendLock.lock();
+        try {
+            target = appendedPosition;
+            if (target == durablePosition) {
+                return;
+            }
+            segments = new ArrayList<>(unforcedSegments);
+            segments.add(segment);
+            unforcedSegments.clear();
+        } finally {
+            appendLock.unlock();
+        }
+
+        try {
+            segments.forEach(MappedByteBuffer::force);
+        } catch (UncheckedIOException e) {
+            log.error("Journal force failed - Directory: {}", directory, e);
+            writeFailure = e;
+        }
+
+        flushLock.lock();
+        try {
+            if (writeFailure == null) {
+                durablePosition = target;
+            }
+            flushCompleted.signalAll();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Reads the valid records of a segment, up to the first gap in the sequence numbers
+     *
+     * @param state the sequence number read last, carried from segment to segment
+     * @return the offset following the last valid record
+     */
+    private static int scan(ByteBuffer buffer, int index, ScanState state, Consumer<JournalRecord> consumer) {
+        CRC32C crc = new CRC32C();
+        int offset = 0;
+        while (offset + Integer.BYTES <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+            if (length == 0) {
+                break;
+            }
+            if (length < UNSEQUENCED_HEADER_SIZE + CHECKSUM_SIZE || length > buffer.limit() - offset) {
+                log.warn("Journal segment {}: invalid record length {} at offset {}", index, length, offset);
+                break;
+            }
+            int checkedStart = offset + Integer.BYTES;
+            int checkedLength = length - Integer.BYTES - CHECKSUM_SIZE;
+            crc.reset();
+            crc.update(buffer.slice(checkedStart, checkedLength));
+            if ((int) crc.getValue() != buffer.getInt(checkedStart + checkedLength)) {
+                log.warn("Journal segment {}: checksum mismatch at offset {}", index, offset);
+                break;
+            }
+            if ((buffer.get(checkedStart) & SEQUENCED) != 0) {
+                long recordSequence = buffer.getLong(checkedStart + Byte.BYTES);
+                if (state.lastSequence != 0 && recordSequence != state.lastSequence + 1) {
+                    log.warn("Journal segment {}: sequence {} follows {} at offset {}",
+                            index, recordSequence, state.lastSequence, offset);
+                    state.gap = true;
+                    break;
+                }
+                state.lastSequence = recordSequence;
+            }
+            consumer.accept(decode(buffer.slice(checkedStart, checkedLength)));
+            offset += length;
+        }
+        return offset;
+    }
+
+    private static JournalRecord decode(ByteBuffer record) {
+        byte type = record.get();
+        if ((type & SEQUENCED) != 0) {
+            type &= ~SEQUENCED;
+            record.getLong();
+        }
+        LocalDateTime timestamp = BinaryCodec.getTimestamp(record);
+        return switch (type) {
+            case ROOM_SET, INT_ROOM_SET -> new JournalRecord.RoomSet(timestamp, record.getInt(),
+                    BinaryCodec.getRoomType(record), BinaryCodec.getAmount(record, type == INT_ROOM_SET));
+            case USER_SET, INT_USER_SET -> new JournalRecord.UserSet(timestamp, record.getInt(),
+                    BinaryCodec.getAmount(record, type == INT_USER_SET));
+            case BOOKING_CREATED, INT_BOOKING_CREATED -> new JournalRecord.BookingCreated(
+                    BinaryCodec.getBooking(record, timestamp, type == INT_BOOKING_CREATED));
+            case BOOKING_CANCELLED -> new JournalRecord.BookingCancelled(timestamp, record.getInt());
+            case BOOKING_MODIFIED, INT_BOOKING_MODIFIED -> new JournalRecord.BookingModified(timestamp,
+                    record.getInt(), LocalDate.ofEpochDay(record.getLong()), LocalDate.ofEpochDay(record.getLong()),
+                    BinaryCodec.getAmount(record, type == INT_BOOKING_MODIFIED));
+            default -> throw new IllegalStateException("Unknown journal record type: " + type);
+        };
+    }
+
+    /**
+     * Zeroes the length following the last valid record of a segment, so the next
+     * reads stop there instead of on the torn record or the gap found this time
+     */
+    private static void sealEnd(MappedByteBuffer buffer, int index, int end) {
+        if (end + Integer.BYTES > buffer.limit() || buffer.getInt(end) == 0) {
+            return;
+        }
+        buffer.putInt(end, 0);
+        buffer.force();
+        log.warn("Journal segment {}: records past offset {} discarded", index, end);
+    }
+
+    /**
+     * Sets aside a segment holding records past a gap, keeping it for inspection
+     */
+    private void discard(int index) throws IOException {
+        Path path = segmentPath(index);
+        Files.move(path, path.resolveSibling(path.getFileName() + DISCARDED_SUFFIX));
+        log.warn("Journal segment {} discarded: its records follow a gap", index);
+    }
+
+    /**
+     * Sequence number read last while scanning, 0 before the first sequenced record
+     */
+    private static final class ScanState {
+        long lastSequence;
+        boolean gap;
+    }
+
+    private static long position(int segmentIndex, int offset) {
+        return ((long) segmentIndex << 32) | offset;
+    }
+
+    private MappedByteBuffer map(int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentPath(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = Math.max(channel.size(), segmentSize);
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    private Path segmentPath(int index) {
+        return directory.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+    }
+
+    private List<Integer> segmentIndexes() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+}
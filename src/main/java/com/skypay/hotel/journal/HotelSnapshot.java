@@ -0,0 +1,269 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.RoomService;
+import com.skypay.hotel.service.UserService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot of the room, user and booking stores.
+ * <p>
+ * A snapshot holds the state produced by the journal segments below its
+ * segment index, so a restart loads it and replays the segments from that
+ * index on. Layout: header, then fixed-width room, user and booking records,
+ * then the CRC32C of everything before it. A snapshot is written to a
+ * temporary file, forced, then renamed, so a crash never leaves a partial one.
+ *
+ * @param segment the first journal segment not folded into this snapshot
+ * @param file    the snapshot file
+ */
+@Slf4j
+public record HotelSnapshot(int segment, Path file) {
+
+    private static final int MAGIC = 0x48534E50; // "HSNP"
+    private static final int VERSION = 3;
+
+    /**
+     * Version 1 had no booking status nor modification date
+     */
+    private static final int FIRST_VERSION = 1;
+
+    /**
+     * Versions 1 and 2 had int room prices and booking amounts
+     */
+    private static final int LAST_INT_AMOUNTS_VERSION = 2;
+
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+    private static final int ROOM_SIZE = Integer.BYTES + Byte.BYTES + Long.BYTES + 2 * BinaryCodec.TIMESTAMP_SIZE;
+    private static final int USER_SIZE = Integer.BYTES + Long.BYTES + 2 * BinaryCodec.TIMESTAMP_SIZE;
+    private static final int BOOKING_SIZE = BinaryCodec.BOOKING_SIZE + 2 * BinaryCodec.TIMESTAMP_SIZE + Byte.BYTES;
+
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    /**
+     * Finds the most recent snapshot of a directory
+     *
+     * @param directory the journal directory
+     * @return the snapshot with the highest segment index, if any
+     */
+    public static Optional<HotelSnapshot> latest(Path directory) throws IOException {
+        List<HotelSnapshot> snapshots = list(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Lists the snapshots of a directory, oldest first
+     *
+     * @param directory the journal directory
+     * @return the snapshots sorted by segment index
+     */
+    public static List<HotelSnapshot> list(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .map(path -> {
+                        String name = path.getFileName().toString();
+                        int segment = Integer.parseInt(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                        return new HotelSnapshot(segment, path);
+                    })
+                    .sorted(Comparator.comparingInt(HotelSnapshot::segment))
+                    .toList();
+        }
+    }
+
+    /**
+     * Writes the content of the services as a snapshot
+     *
+     * @param directory the journal directory
+     * @param segment   the first journal segment not reflected in the services
+     * @return the written snapshot
+     */
+    public static HotelSnapshot write(Path directory, int segment, RoomService roomService,
+                                      UserService userService, BookingService bookingService) throws IOException {
+        List<Room> rooms = roomService.getAllRooms();
+        List<User> users = userService.getAllUsers();
+        List<Booking> bookings = bookingService.getAllBookings();
+
+        Path file = directory.resolve(String.format("%s%010d%s", PREFIX, segment, SUFFIX));
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (SnapshotOutput out = new SnapshotOutput(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.reserve(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).putInt(segment)
+                    .putInt(rooms.size()).putInt(users.size()).putInt(bookings.size());
+            for (Room room : rooms) {
+                ByteBuffer buffer = out.reserve(ROOM_SIZE).putInt(room.getRoomNumber());
+                BinaryCodec.putRoomType(buffer, room.getType());
+                buffer.putLong(room.getRoomPricePerNight());
+                BinaryCodec.putTimestamp(buffer, room.getCreatedDate());
+                BinaryCodec.putTimestamp(buffer, room.getLastModifiedDate());
+            }
+            for (User user : users) {
+                ByteBuffer buffer = out.reserve(USER_SIZE).putInt(user.getId()).putLong(user.getBalance());
+                BinaryCodec.putTimestamp(buffer, user.getCreatedDate());
+                BinaryCodec.putTimestamp(buffer, user.getLastModifiedDate());
+            }
+            for (Booking booking : bookings) {
+                ByteBuffer buffer = out.reserve(BOOKING_SIZE);
+                BinaryCodec.putTimestamp(buffer, booking.getCreatedDate());
+                BinaryCodec.putBooking(buffer, booking);
+                buffer.put((byte) booking.getStatus().ordinal());
+                BinaryCodec.putTimestamp(buffer, booking.getLastModifiedDate());
+            }
+            out.finish();
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        log.info("Snapshot written - Segment: {}, Rooms: {}, Users: {}, Bookings: {}",
+                segment, rooms.size(), users.size(), bookings.size());
+        return new HotelSnapshot(segment, file);
+    }
+
+    /**
+     * Restores the content of this snapshot into the services
+     *
+     * @return the number of restored records
+     */
+    public int load(RoomService roomService, UserService userService, BookingService bookingService) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        checkIntegrity(buffer);
+
+        int version = buffer.getInt(Integer.BYTES);
+        boolean intAmounts = version <= LAST_INT_AMOUNTS_VERSION;
+        buffer.position(3 * Integer.BYTES);
+        int roomCount = buffer.getInt();
+        int userCount = buffer.getInt();
+        int bookingCount = buffer.getInt();
+        for (int i = 0; i < roomCount; i++) {
+            roomService.restoreRoom(Room.builder()
+                    .id(buffer.getInt())
+                    .type(BinaryCodec.getRoomType(buffer))
+                    .roomPricePerNight(BinaryCodec.getAmount(buffer, intAmounts))
+                    .createdDate(BinaryCodec.getTimestamp(buffer))
+                    .lastModifiedDate(BinaryCodec.getTimestamp(buffer))
+                    .build());
+        }
+        for (int i = 0; i < userCount; i++) {
+            userService.restoreUser(User.builder()
+                    .id(buffer.getInt())
+                    .balance(buffer.getLong())
+                    .createdDate(BinaryCodec.getTimestamp(buffer))
+                    .lastModifiedDate(BinaryCodec.getTimestamp(buffer))
+                    .build());
+        }
+        // Balances already include the booking charges
+        for (int i = 0; i < bookingCount; i++) {
+            LocalDateTime createdDate = BinaryCodec.getTimestamp(buffer);
+            Booking booking = BinaryCodec.getBooking(buffer, createdDate, intAmounts);
+            if (version > FIRST_VERSION) {
+                booking.setStatus(BOOKING_STATUSES[buffer.get()]);
+                booking.setLastModifiedDate(BinaryCodec.getTimestamp(buffer));
+            }
+            bookingService.restoreBooking(booking);
+        }
+
+        log.info("Snapshot loaded - Segment: {}, Rooms: {}, Users: {}, Bookings: {}",
+                segment, roomCount, userCount, bookingCount);
+        return roomCount + userCount + bookingCount;
+    }
+
+    /**
+     * Deletes the snapshot file
+     */
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void checkIntegrity(ByteBuffer buffer) {
+        int checkedLength = buffer.limit() - Integer.BYTES;
+        if (checkedLength < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not a hotel snapshot: " + file);
+        }
+        int version = buffer.getInt(Integer.BYTES);
+        if (version < FIRST_VERSION || version > VERSION) {
+            throw new IllegalStateException("Unsupported snapshot version " + version + ": " + file);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, checkedLength));
+        if ((int) crc.getValue() != buffer.getInt(checkedLength)) {
+            throw new IllegalStateException("Corrupt snapshot: " + file);
+        }
+    }
+
+    /**
+     * Buffered channel writer computing the trailing checksum
+     */
+    private static final class SnapshotOutput implements AutoCloseable {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        private final CRC32C crc = new CRC32C();
+
+        SnapshotOutput(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        ByteBuffer reserve(int size) throws IOException {
+            if (buffer.remaining() < size) {
+                drain();
+            }
+            return buffer;
+        }
+
+        void finish() throws IOException {
+            drain();
+            buffer.putInt((int) crc.getValue()).flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+}
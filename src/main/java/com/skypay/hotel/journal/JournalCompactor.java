@@ -0,0 +1,122 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
+import com.skypay.hotel.service.impl.BookingServiceImpl;
+import com.skypay.hotel.service.impl.RoomServiceImpl;
+import com.skypay.hotel.service.impl.UserServiceImpl;
+import com.skypay.hotel.store.BookingStoreType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds the closed journal segments into a new snapshot, then deletes them.
+ * <p>
+ * The snapshot is rebuilt from the previous snapshot and the closed segments
+ * into private service instances, on the compactor thread: the live services
+ * and the bookRoom path are never touched or locked.
+ */
+@Slf4j
+public class JournalCompactor implements Closeable {
+
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(5);
+
+    private final BookingJournal journal;
+    private final BookingStoreType bookingStoreType;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("journal-compactor").factory());
+
+    public JournalCompactor(BookingJournal journal) {
+        this(journal, BookingStoreType.COLUMNAR);
+    }
+
+    /**
+     * @param journal          the journal to compact
+     * @param bookingStoreType where the bookings are kept while the snapshot is rebuilt
+     */
+    public JournalCompactor(BookingJournal journal, BookingStoreType bookingStoreType) {
+        this.journal = journal;
+        this.bookingStoreType = bookingStoreType;
+    }
+
+    /**
+     * Creates a compactor running every interval
+     *
+     * @param journal          the journal to compact
+     * @param interval         the time between two compactions
+     * @param bookingStoreType where the bookings are kept while the snapshot is rebuilt
+     * @return the running compactor
+     */
+    public static JournalCompactor start(BookingJournal journal, Duration interval, BookingStoreType bookingStoreType) {
+        JournalCompactor compactor = new JournalCompactor(journal, bookingStoreType);
+        compactor.scheduler.scheduleWithFixedDelay(compactor::compactQuietly,
+                interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+        return compactor;
+    }
+
+    /**
+     * Writes a snapshot covering every record appended so far
+     *
+     * @return the new snapshot, or empty if nothing was appended since the previous one
+     */
+    public synchronized Optional<HotelSnapshot> compact() throws IOException {
+        Path directory = journal.getDirectory();
+        Optional<HotelSnapshot> previous = HotelSnapshot.latest(directory);
+        int fromSegment = previous.map(HotelSnapshot::segment).orElse(0);
+        int toSegment = journal.startNewSegment();
+        if (toSegment == fromSegment) {
+            return Optional.empty();
+        }
+
+        long start = System.nanoTime();
+        UserServiceImpl userService = new UserServiceImpl();
+        RoomCalendar calendar = new RoomCalendar(new BookingIntervalIndex());
+        RoomServiceImpl roomService = new RoomServiceImpl(calendar);
+        BookingServiceImpl bookingService = new BookingServiceImpl(bookingStoreType.create(), userService, calendar);
+        if (previous.isPresent()) {
+            previous.get().load(roomService, userService, bookingService);
+        }
+        new JournalRecovery(roomService, userService, bookingService).replay(journal, fromSegment, toSegment);
+        HotelSnapshot snapshot = HotelSnapshot.write(directory, toSegment, roomService, userService, bookingService);
+
+        // The new snapshot is durable: older files are no longer needed
+        for (HotelSnapshot older : HotelSnapshot.list(directory)) {
+            if (older.segment() < toSegment) {
+                older.delete();
+            }
+        }
+        journal.deleteSegmentsBefore(toSegment);
+
+        log.info("Journal compacted - Segments: [{}, {}), Time: {} ms",
+                fromSegment, toSegment, (System.nanoTime() - start) / 1_000_000);
+        return Optional.of(snapshot);
+    }
+
+    /**
+     * Stops the periodic compaction
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void compactQuietly() {
+        try {
+            compact();
+        } catch (Exception e) {
+            // Keep the schedule alive: the next run retries from the same snapshot
+            log.error("Journal compaction failed", e);
+        }
+    }
+
+}
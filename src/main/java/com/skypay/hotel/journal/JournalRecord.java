@@ -0,0 +1,56 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A state change read back from the journal
+ */
+public sealed interface JournalRecord {
+
+    /**
+     * When the change was applied
+     */
+    LocalDateTime timestamp();
+
+    /**
+     * A room was created or updated
+     */
+    record RoomSet(LocalDateTime timestamp, int roomNumber, RoomType roomType, long pricePerNight)
+            implements JournalRecord {
+    }
+
+    /**
+     * A user was created or its balance was reset
+     */
+    record UserSet(LocalDateTime timestamp, int userId, long balance) implements JournalRecord {
+    }
+
+    /**
+     * A booking was created and charged to its user
+     */
+    record BookingCreated(Booking booking) implements JournalRecord {
+
+        @Override
+        public LocalDateTime timestamp() {
+            return booking.getCreatedDate();
+        }
+    }
+
+    /**
+     * A booking was cancelled and refunded to its user
+     */
+    record BookingCancelled(LocalDateTime timestamp, int bookingId) implements JournalRecord {
+    }
+
+    /**
+     * A booking was moved to new dates, the cost difference charged or refunded to its user
+     */
+    record BookingModified(LocalDateTime timestamp, int bookingId, LocalDate checkIn, LocalDate checkOut,
+                           long totalCost) implements JournalRecord {
+    }
+
+}
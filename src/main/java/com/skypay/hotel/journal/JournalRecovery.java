@@ -0,0 +1,178 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.RoomService;
+import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import com.skypay.hotel.store.BookingStoreType;
+import io.micrometer.core.instrument.Metrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Rebuilds the in-memory services from the latest snapshot and the journal
+ * segments written after it.
+ * Records are applied as is: no validation, no availability check.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalRecovery {
+
+    private final RoomService roomService;
+    private final UserService userService;
+    private final BookingService bookingService;
+
+    /**
+     * Creates a hotel holding the persisted state and journaling its next changes.
+     * The recovery time is published to the global meter registry.
+     *
+     * @param journal    the journal to replay and append to
+     * @param syncPolicy when changes are acknowledged
+     * @return the recovered hotel
+     */
+    public static HotelServiceImpl recover(BookingJournal journal, JournalSyncPolicy syncPolicy) throws IOException {
+        return recover(journal, syncPolicy, BookingStoreType.COLUMNAR);
+    }
+
+    /**
+     * Creates a hotel holding the persisted state in the given booking store, and journaling its next changes
+     *
+     * @param journal          the journal to replay and append to
+     * @param syncPolicy       when changes are acknowledged
+     * @param bookingStoreType where the bookings are kept
+     * @return the recovered hotel
+     */
+    public static HotelServiceImpl recover(BookingJournal journal, JournalSyncPolicy syncPolicy,
+                                           BookingStoreType bookingStoreType) throws IOException {
+        HotelServiceImpl hotelService = new HotelServiceImpl(bookingStoreType);
+        new JournalRecovery(hotelService.getRoomService(), hotelService.getUserService(),
+                hotelService.getBookingService()).recover(journal).bindTo(Metrics.globalRegistry);
+        hotelService.addEventListener(new JournalingListener(journal, syncPolicy));
+        return hotelService;
+    }
+
+    /**
+     * Loads the latest snapshot of the journal directory, then replays the segments it does not cover
+     *
+     * @return what was restored and how long it took
+     */
+    public RecoveryStats recover(BookingJournal journal) throws IOException {
+        long start = System.nanoTime();
+        Optional<HotelSnapshot> snapshot = HotelSnapshot.latest(journal.getDirectory());
+        int snapshotRecords = 0;
+        int fromSegment = 0;
+        if (snapshot.isPresent()) {
+            snapshotRecords = snapshot.get().load(roomService, userService, bookingService);
+            fromSegment = snapshot.get().segment();
+        }
+        int journalRecords = replay(journal, fromSegment, Integer.MAX_VALUE);
+
+        RecoveryStats stats = new RecoveryStats(snapshot.map(HotelSnapshot::segment).orElse(-1),
+                snapshotRecords, journalRecords, Duration.ofNanos(System.nanoTime() - start));
+        log.info("Hotel state recovered - Snapshot records: {}, Journal records: {}, Time: {} ms",
+                snapshotRecords, journalRecords, stats.duration().toMillis());
+        return stats;
+    }
+
+    /**
+     * Applies the records of a range of journal segments
+     *
+     * @param fromSegment the first segment to apply
+     * @param toSegment   the segment to stop at (excluded)
+     * @return the number of records applied
+     */
+    public int replay(BookingJournal journal, int fromSegment, int toSegment) throws IOException {
+        return journal.replay(fromSegment, toSegment, this::apply);
+    }
+
+    /**
+     * Applies one record
+     */
+    public void apply(JournalRecord record) {
+        switch (record) {
+            case JournalRecord.RoomSet roomSet -> applyRoomSet(roomSet);
+            case JournalRecord.UserSet userSet -> applyUserSet(userSet);
+            case JournalRecord.BookingCreated bookingCreated -> applyBookingCreated(bookingCreated.booking());
+            case JournalRecord.BookingCancelled bookingCancelled -> applyBookingCancelled(bookingCancelled);
+            case JournalRecord.BookingModified bookingModified -> applyBookingModified(bookingModified);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void applyRoomSet(JournalRecord.RoomSet record) {
+        Room existing = roomService.findRoomByNumber(record.roomNumber()).orElse(null);
+        Room room = existing != null
+                ? existing.toBuilder()
+                .type(record.roomType())
+                .roomPricePerNight(record.pricePerNight())
+                .lastModifiedDate(record.timestamp())
+                .build()
+                : Room.builder()
+                .id(record.roomNumber())
+                .type(record.roomType())
+                .roomPricePerNight(record.pricePerNight())
+                .createdDate(record.timestamp())
+                .build();
+        roomService.restoreRoom(room);
+    }
+
+    private void applyUserSet(JournalRecord.UserSet record) {
+        User existing = userService.findUserById(record.userId()).orElse(null);
+        User user = existing != null
+                ? existing.toBuilder()
+                .balance(record.balance())
+                .lastModifiedDate(record.timestamp())
+                .build()
+                : User.builder()
+                .id(record.userId())
+                .balance(record.balance())
+                .createdDate(record.timestamp())
+                .build();
+        userService.restoreUser(user);
+    }
+
+    private void applyBookingCreated(Booking booking) {
+        bookingService.restoreBooking(booking);
+        if (!userService.tryDeductBalance(booking.getUserId(), booking.getTotalCost())) {
+            log.warn("Journal replay: cannot charge booking {} to user {}", booking.getId(), booking.getUserId());
+        }
+    }
+
+    private void applyBookingCancelled(JournalRecord.BookingCancelled record) {
+        Booking booking = bookingService.findBookingById(record.bookingId()).orElse(null);
+        if (booking == null || booking.getStatus() == BookingStatus.CANCELLED) {
+            log.warn("Journal replay: cannot cancel booking {}", record.bookingId());
+            return;
+        }
+        bookingService.cancelBooking(booking, record.timestamp());
+        userService.creditBalance(booking.getUserId(), booking.getTotalCost());
+    }
+
+    private void applyBookingModified(JournalRecord.BookingModified record) {
+        Booking booking = bookingService.findBookingById(record.bookingId()).orElse(null);
+        long previousCost = booking != null ? booking.getTotalCost() : 0;
+        if (booking == null || booking.getStatus() == BookingStatus.CANCELLED
+                || !bookingService.rescheduleBooking(booking, record.checkIn(), record.checkOut(), record.totalCost(),
+                record.timestamp())) {
+            log.warn("Journal replay: cannot move booking {} to {} - {}",
+                    record.bookingId(), record.checkIn(), record.checkOut());
+            return;
+        }
+        long difference = record.totalCost() - previousCost;
+        if (difference > 0 && !userService.tryDeductBalance(booking.getUserId(), difference)) {
+            log.warn("Journal replay: cannot charge booking {} change to user {}", booking.getId(), booking.getUserId());
+        } else if (difference < 0) {
+            userService.creditBalance(booking.getUserId(), -difference);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.skypay.hotel.journal;
+
+/**
+ * When a journaled change is acknowledged to the caller
+ */
+public enum JournalSyncPolicy {
+
+    /**
+     * Once the record is forced to disk. Concurrent writers share one force (group commit).
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Once the record is in the page cache. It survives a process crash but not a power loss
+     * occurring before the next periodic force.
+     */
+    ASYNC
+}
@@ -0,0 +1,102 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.event.HotelEventListener;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * Writes the hotel changes to a journal.
+ * A closed or failed journal refuses the changes before they are applied, and is
+ * not closed while an admitted change is not yet appended. Records are appended
+ * under the lock of their change, and waited for once it is released: a failed
+ * wait reaches the caller, whose changes are applied but not durable.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class JournalingListener implements HotelEventListener {
+
+    private final BookingJournal journal;
+    private final JournalSyncPolicy syncPolicy;
+
+    /**
+     * End of the last record appended by each thread, 0 once waited for
+     */
+    private final ThreadLocal<long[]> pendingPosition = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeChange() {
+        journal.beginChange();
+    }
+
+    @Override
+    public void endChange() {
+        journal.endChange();
+    }
+
+    @Override
+    public void onRoomSet(int roomNumber, RoomType roomType, long roomPricePerNight) {
+        appended(journal.appendRoomSet(roomNumber, roomType, roomPricePerNight));
+    }
+
+    @Override
+    public void onUserSet(int userId, long balance) {
+        appended(journal.appendUserSet(userId, balance));
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        appended(journal.appendBookingCreated(booking));
+    }
+
+    @Override
+    public void onBookingsCreated(List<Booking> bookings) {
+        for (Booking booking : bookings) {
+            appended(journal.appendBookingCreated(booking));
+        }
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking) {
+        appended(journal.appendBookingCancelled(booking));
+    }
+
+    @Override
+    public void onBookingModified(Booking booking) {
+        appended(journal.appendBookingModified(booking));
+    }
+
+    /**
+     * Waits until the records appended by this thread are durable, one wait for all of them.
+     * A failed force cannot undo the applied changes: it is passed on to the caller, and the
+     * journal refuses the next changes.
+     */
+    @Override
+    public void afterChanges() {
+        long[] pending = pendingPosition.get();
+        long position = pending[0];
+        if (position == 0) {
+            return;
+        }
+        pending[0] = 0;
+        try {
+            journal.awaitDurable(position);
+        } catch (UncheckedIOException e) {
+            log.error("Journal: applied changes are not durable - Position: {}", position, e);
+            throw e;
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void appended(long position) {
+        if (syncPolicy == JournalSyncPolicy.GROUP_COMMIT) {
+            pendingPosition.get()[0] = position;
+        }
+    }
+
+}
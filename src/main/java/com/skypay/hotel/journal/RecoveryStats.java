@@ -0,0 +1,41 @@
+package com.skypay.hotel.journal;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a startup recovery
+ *
+ * @param snapshotSegment the segment of the loaded snapshot, -1 if none
+ * @param snapshotRecords the number of records restored from the snapshot
+ * @param journalRecords  the number of journal records replayed after it
+ * @param duration        the total recovery time
+ */
+public record RecoveryStats(int snapshotSegment, int snapshotRecords, int journalRecords, Duration duration) {
+
+    /**
+     * Publishes the recovery as gauges: hotel.recovery.time, hotel.recovery.snapshot.records
+     * and hotel.recovery.journal.records
+     *
+     * @param registry the registry to publish to
+     */
+    public void bindTo(MeterRegistry registry) {
+        TimeGauge.builder("hotel.recovery.time", this, TimeUnit.MILLISECONDS, stats -> stats.duration().toMillis())
+                .description("Time to restore the hotel state at startup")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("hotel.recovery.snapshot.records", this, RecoveryStats::snapshotRecords)
+                .description("Records restored from the snapshot at startup")
+                .strongReference(true)
+                .register(registry);
+        Gauge.builder("hotel.recovery.journal.records", this, RecoveryStats::journalRecords)
+                .description("Journal records replayed at startup")
+                .strongReference(true)
+                .register(registry);
+    }
+
+}
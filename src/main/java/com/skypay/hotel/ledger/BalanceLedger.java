@@ -0,0 +1,92 @@
+package com.skypay.hotel.ledger;
+
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
+import com.skypay.hotel.money.Money;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Source of truth for user balances.
+ * Each account is an AtomicLong updated by compare-and-set, so a debit checks
+ * and deducts in one atomic step and concurrent debits never lose an update,
+ * without any lock.
+ */
+public class BalanceLedger {
+
+    /**
+     * Returned by balanceOf for an unknown account
+     */
+    public static final long NO_ACCOUNT = Long.MIN_VALUE;
+
+    private final ConcurrentIntObjectMap<AtomicLong> accounts = new ConcurrentIntObjectMap<>();
+
+    /**
+     * Sets the balance of an account, opening it if needed
+     *
+     * @param accountId the account (user) ID
+     * @param balance   the new balance
+     */
+    public void set(int accountId, long balance) {
+        accounts.computeIfAbsent(accountId, id -> new AtomicLong()).set(balance);
+    }
+
+    /**
+     * Gets the current balance of an account
+     *
+     * @param accountId the account (user) ID
+     * @return the balance, or {@link #NO_ACCOUNT} if the account does not exist
+     */
+    public long balanceOf(int accountId) {
+        AtomicLong account = accounts.get(accountId);
+        return account == null ? NO_ACCOUNT : account.get();
+    }
+
+    /**
+     * Deducts an amount if and only if the balance covers it
+     *
+     * @param accountId the account (user) ID
+     * @param amount    the amount to deduct (not negative)
+     * @return true if the amount was deducted, false if the balance is insufficient
+     * or the account does not exist
+     */
+    public boolean tryDebit(int accountId, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Debit amount cannot be negative: " + amount);
+        }
+        AtomicLong account = accounts.get(accountId);
+        if (account == null) {
+            return false;
+        }
+        long current = account.get();
+        while (current >= amount) {
+            long witness = account.compareAndExchange(current, current - amount);
+            if (witness == current) {
+                return true;
+            }
+            current = witness;
+            Thread.onSpinWait();
+        }
+        return false;
+    }
+
+    /**
+     * Adds an amount to an account
+     *
+     * @param accountId the account (user) ID
+     * @param amount    the amount to add (not negative)
+     * @return true if the amount was added, false if the account does not exist
+     * @throws IllegalArgumentException if the balance would overflow, the account is left unchanged
+     */
+    public boolean credit(int accountId, long amount) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("Credit amount cannot be negative: " + amount);
+        }
+        AtomicLong account = accounts.get(accountId);
+        if (account == null) {
+            return false;
+        }
+        account.accumulateAndGet(amount, Money::add);
+        return true;
+    }
+
+}
@@ -0,0 +1,114 @@
+package com.skypay.hotel.metrics;
+
+import com.skypay.hotel.exception.BookingCancelledException;
+import com.skypay.hotel.exception.BookingException;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.exception.RoomNotAvailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters of the booking path:
+ * hotel.booking.stage, a timer per stage of bookRoom (tag stage),
+ * and hotel.booking.rejected, a counter per rejection reason (tag reason).
+ * <p>
+ * Every meter is registered up front: recording is a nanoTime difference
+ * added to a pre-resolved meter, with no lookup, tag or lambda allocation.
+ */
+public class BookingMetrics {
+
+    /**
+     * Stages of a booking, in execution order
+     */
+    public enum Stage {
+        VALIDATE_DATES("validate_dates"),
+        FIND_USER("find_user"),
+        FIND_ROOM("find_room"),
+        AVAILABILITY("availability"),
+        DEDUCT_BALANCE("deduct_balance"),
+        CREATE_BOOKING("create_booking");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final Counter invalidDate;
+    private final Counter entityNotFound;
+    private final Counter roomNotAvailable;
+    private final Counter insufficientBalance;
+    private final Counter bookingCancelled;
+    private final Counter invalidRequest;
+    private final Counter other;
+
+    public BookingMetrics(MeterRegistry registry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("hotel.booking.stage")
+                    .description("Time spent in a stage of a booking")
+                    .tag("stage", stage.tag)
+                    .register(registry);
+        }
+        invalidDate = rejectionCounter(registry, "invalid_date");
+        entityNotFound = rejectionCounter(registry, "entity_not_found");
+        roomNotAvailable = rejectionCounter(registry, "room_not_available");
+        insufficientBalance = rejectionCounter(registry, "insufficient_balance");
+        bookingCancelled = rejectionCounter(registry, "booking_cancelled");
+        invalidRequest = rejectionCounter(registry, "invalid_request");
+        other = rejectionCounter(registry, "other");
+    }
+
+    /**
+     * Meters kept in a private registry, until the application binds a real one
+     */
+    public static BookingMetrics unbound() {
+        return new BookingMetrics(new SimpleMeterRegistry());
+    }
+
+    /**
+     * Records the time of a stage
+     *
+     * @param stage      the completed stage
+     * @param startNanos the {@link System#nanoTime()} when the stage started
+     */
+    public void record(Stage stage, long startNanos) {
+        stageTimers[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Counts a rejected booking by reason
+     *
+     * @param rejection why the booking was rejected
+     */
+    public void rejected(BookingException rejection) {
+        Counter counter = switch (rejection) {
+            case InvalidDateException e -> invalidDate;
+            case EntityNotFoundException e -> entityNotFound;
+            case RoomNotAvailableException e -> roomNotAvailable;
+            case InsufficientBalanceException e -> insufficientBalance;
+            case BookingCancelledException e -> bookingCancelled;
+            case InvalidBookingRequestException e -> invalidRequest;
+            default -> other;
+        };
+        counter.increment();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static Counter rejectionCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("hotel.booking.rejected")
+                .description("Rejected bookings")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+}
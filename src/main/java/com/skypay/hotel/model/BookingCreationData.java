@@ -10,9 +10,9 @@ public record BookingCreationData(
         int userId,
         int roomNumber,
         RoomType roomType,
-        int pricePerNight,
+        long pricePerNight,
         LocalDate checkIn,
         LocalDate checkOut,
         int numberOfNights,
-        int totalCost
+        long totalCost
 ) {}
\ No newline at end of file
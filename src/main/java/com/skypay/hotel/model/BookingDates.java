@@ -0,0 +1,36 @@
+package com.skypay.hotel.model;
+
+import com.skypay.hotel.exception.InvalidDateException;
+
+import java.time.LocalDate;
+
+/**
+ * Rules on the dates of a stay, shared by the booking service and the booking engine.
+ */
+public final class BookingDates {
+
+    private BookingDates() {
+    }
+
+    /**
+     * Checks that a stay starts today or later and lasts at least one night
+     *
+     * @param checkIn  the check-in date
+     * @param checkOut the check-out date
+     * @throws InvalidDateException if a date is missing, in the past or out of order
+     */
+    public static void validate(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            throw new InvalidDateException("Les dates de check-in et check-out ne peuvent pas être nulles");
+        }
+        if (checkIn.isBefore(LocalDate.now())) {
+            throw new InvalidDateException(
+                    checkIn, checkOut, "La date de check-in ne peut pas être dans le passé");
+        }
+        if (!checkOut.isAfter(checkIn)) {
+            throw new InvalidDateException(
+                    checkIn, checkOut, "La date de check-out doit être après la date de check-in");
+        }
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.skypay.hotel.money;
+
+/**
+ * Arithmetic on amounts of money.
+ * <p>
+ * Balances, prices and costs are longs counting the minor unit of the currency
+ * (cents, centimes): they add exactly, need no allocation, and fit up to about
+ * 92 million billion units. These operations never wrap around: an overflowing
+ * result is rejected as an invalid amount.
+ */
+public final class Money {
+
+    private Money() {
+    }
+
+    /**
+     * @param pricePerNight  the price of one night
+     * @param numberOfNights the number of nights
+     * @return the cost of the stay
+     * @throws IllegalArgumentException if the cost overflows
+     */
+    public static long totalCost(long pricePerNight, int numberOfNights) {
+        try {
+            return Math.multiplyExact(pricePerNight, numberOfNights);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Amount overflow - Price per night: " + pricePerNight + ", Nights: " + numberOfNights, e);
+        }
+    }
+
+    /**
+     * @return the sum of two amounts
+     * @throws IllegalArgumentException if the sum overflows
+     */
+    public static long add(long amount, long other) {
+        try {
+            return Math.addExact(amount, other);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount overflow - " + amount + " + " + other, e);
+        }
+    }
+
+    /**
+     * @return the difference of two amounts
+     * @throws IllegalArgumentException if the difference overflows
+     */
+    public static long subtract(long amount, long other) {
+        try {
+            return Math.subtractExact(amount, other);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount overflow - " + amount + " - " + other, e);
+        }
+    }
+
+}
@@ -0,0 +1,351 @@
+package com.skypay.hotel.pricing;
+
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.event.HotelEventListener;
+import com.skypay.hotel.index.RoomCalendar;
+import com.skypay.hotel.money.Money;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Seasonal, weekday and occupancy pricing of stays, following a {@link RatePlan}.
+ * <p>
+ * Over a rolling horizon of {@value #HORIZON_NIGHTS} nights, every room has a table
+ * of cumulated nightly rates: the cost of a stay is the difference of two entries,
+ * whatever its length. Tables are immutable once published, so a quote takes no
+ * lock. A change publishes a fresh copy, with the rates recomputed from the first
+ * night it affects only:
+ * <ul>
+ *     <li>a new room price, all the nights of that room and no other;</li>
+ *     <li>an occupancy tier reached or left, the nights from that one, in every room.</li>
+ * </ul>
+ * Tables are rebuilt by the next quote that needs them. Nights outside of the
+ * horizon are priced one by one, with no occupancy adjustment past its end.
+ * <p>
+ * The occupancy is counted from the booking events, so the pricing must listen to
+ * the HotelService before its first booking, or be loaded with the existing rooms
+ * and bookings. Bookings keep the cost quoted when they were made. A moved booking
+ * is priced night by night at its own price per night, its current nights left out
+ * of the occupancy.
+ */
+@Slf4j
+public class DynamicPricing implements StayPricing, HotelEventListener {
+
+    /**
+     * Two years of nights, as the room calendars
+     */
+    public static final int HORIZON_NIGHTS = RoomCalendar.HORIZON_NIGHTS;
+
+    static final int ROLL_STEP_DAYS = 7;
+
+    private final RatePlan plan;
+    private final Clock clock;
+    private final ConcurrentIntObjectMap<RoomRates> rates = new ConcurrentIntObjectMap<>();
+
+    // Guarded by this
+    private final Set<Integer> rooms = new HashSet<>();
+    private final Map<Integer, Stay> stays = new HashMap<>();
+    private final int[] bookedRooms = new int[HORIZON_NIGHTS];
+    private final long[] factors = new long[HORIZON_NIGHTS];
+    private long origin;
+
+    public DynamicPricing(RatePlan plan) {
+        this(plan, Clock.systemDefaultZone());
+    }
+
+    public DynamicPricing(RatePlan plan, Clock clock) {
+        this.plan = plan;
+        this.clock = clock;
+        this.origin = today();
+        updateFactors();
+    }
+
+    /**
+     * Loads the rooms and bookings that existed before the pricing listened, e.g. after a journal replay
+     *
+     * @param rooms    the existing rooms
+     * @param bookings the existing bookings
+     */
+    public synchronized void load(List<Room> rooms, List<Booking> bookings) {
+        rooms.forEach(room -> this.rooms.add(room.getRoomNumber()));
+        if (!plan.ignoresOccupancy()) {
+            bookings.forEach(booking -> count(booking.getId(), Stay.of(booking)));
+        }
+        invalidate(updateFactors());
+        log.info("Dynamic pricing loaded - Rooms: {}, Tracked stays: {}", this.rooms.size(), stays.size());
+    }
+
+    @Override
+    public long totalCost(Room room, LocalDate checkIn, LocalDate checkOut) {
+        int roomNumber = room.getRoomNumber();
+        long price = room.getRoomPricePerNight();
+        long first = checkIn.toEpochDay();
+        long end = checkOut.toEpochDay();
+        RoomRates table = rates.get(roomNumber);
+        if (table == null || table.price != price || table.origin + ROLL_STEP_DAYS <= today()
+                || table.isStale(first, end)) {
+            table = refresh(roomNumber, price);
+        }
+        return table.covers(first, end) ? table.total(first, end) : totalCostNightByNight(price, first, end, null);
+    }
+
+    @Override
+    public synchronized long totalCost(Booking booking, LocalDate checkIn, LocalDate checkOut) {
+        // A booking does not compete with itself for the nights it holds
+        return totalCostNightByNight(booking.getPricePerNight(), checkIn.toEpochDay(), checkOut.toEpochDay(),
+                stays.get(booking.getId()));
+    }
+
+    @Override
+    public synchronized void onRoomSet(int roomNumber, RoomType roomType, long roomPricePerNight) {
+        if (rooms.add(roomNumber)) {
+            // One more room lowers the occupancy of every night
+            invalidate(updateFactors());
+            return;
+        }
+        RoomRates table = rates.get(roomNumber);
+        if (table != null && table.price != roomPricePerNight) {
+            table.validNights = 0;
+        }
+    }
+
+    @Override
+    public synchronized void onBookingCreated(Booking booking) {
+        if (!plan.ignoresOccupancy()) {
+            invalidate(count(booking.getId(), Stay.of(booking)));
+        }
+    }
+
+    @Override
+    public synchronized void onBookingsCreated(List<Booking> bookings) {
+        if (!plan.ignoresOccupancy()) {
+            int firstChanged = HORIZON_NIGHTS;
+            for (Booking booking : bookings) {
+                firstChanged = Math.min(firstChanged, count(booking.getId(), Stay.of(booking)));
+            }
+            invalidate(firstChanged);
+        }
+    }
+
+    @Override
+    public synchronized void onBookingCancelled(Booking booking) {
+        if (!plan.ignoresOccupancy()) {
+            invalidate(count(booking.getId(), null));
+        }
+    }
+
+    @Override
+    public synchronized void onBookingModified(Booking booking) {
+        if (!plan.ignoresOccupancy()) {
+            invalidate(count(booking.getId(), Stay.of(booking)));
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private long today() {
+        return LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Publishes the table of a room at a price, recomputed from its first stale night
+     */
+    private synchronized RoomRates refresh(int roomNumber, long price) {
+        rollIfDue();
+        RoomRates table = rates.get(roomNumber);
+        boolean reusable = table != null && table.price == price && table.origin == origin;
+        int start = reusable ? table.validNights : 0;
+        if (reusable && start == HORIZON_NIGHTS) {
+            return table;
+        }
+        long[] prefix = reusable ? table.prefix.clone() : new long[HORIZON_NIGHTS + 1];
+        int valid = start;
+        try {
+            for (; valid < HORIZON_NIGHTS; valid++) {
+                prefix[valid + 1] = Money.add(prefix[valid], RatePlan.nightlyRate(price, factors[valid]));
+            }
+        } catch (IllegalArgumentException e) {
+            // Stays reaching past the overflow are priced night by night, and rejected there
+            log.debug("Rate table of room {} stops at night {} - {}", roomNumber, valid, e.getMessage());
+        }
+        RoomRates refreshed = new RoomRates(price, origin, prefix, valid);
+        rates.put(roomNumber, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * @param excluded a counted stay to leave out of the occupancy, or null
+     */
+    private synchronized long totalCostNightByNight(long price, long first, long end, Stay excluded) {
+        long total = 0;
+        for (long night = first; night < end; night++) {
+            long index = night - origin;
+            long factor;
+            if (index < 0 || index >= HORIZON_NIGHTS) {
+                factor = plan.factor(LocalDate.ofEpochDay(night), 0, rooms.size());
+            } else if (excluded != null && excluded.covers(night)) {
+                factor = plan.factor(LocalDate.ofEpochDay(night), bookedRooms[(int) index] - 1, rooms.size());
+            } else {
+                factor = factors[(int) index];
+            }
+            total = Money.add(total, RatePlan.nightlyRate(price, factor));
+        }
+        return total;
+    }
+
+    /**
+     * Moves the horizon to today once it is {@value #ROLL_STEP_DAYS} days behind, must hold the lock
+     */
+    private void rollIfDue() {
+        long today = today();
+        if (today - origin < ROLL_STEP_DAYS) {
+            return;
+        }
+        origin = today;
+        Arrays.fill(bookedRooms, 0);
+        // Past stays have nothing left to count
+        stays.values().removeIf(stay -> stay.checkOut() <= origin);
+        stays.values().forEach(stay -> add(stay, 1));
+        updateFactors();
+        rates.forEach(table -> table.validNights = 0);
+        log.debug("Pricing horizon rolled - First night: {}", LocalDate.ofEpochDay(origin));
+    }
+
+    /**
+     * Replaces the counted stay of a booking, must hold the lock
+     *
+     * @param stay the booked nights, null when the booking no longer books any
+     * @return the first night whose factor changed, HORIZON_NIGHTS if none
+     */
+    private int count(int bookingId, Stay stay) {
+        Stay previous = stay == null ? stays.remove(bookingId) : stays.put(bookingId, stay);
+        int firstChanged = HORIZON_NIGHTS;
+        if (previous != null) {
+            firstChanged = add(previous, -1);
+        }
+        if (stay != null) {
+            firstChanged = Math.min(firstChanged, add(stay, 1));
+        }
+        return firstChanged;
+    }
+
+    /**
+     * Adds the nights of a stay to the occupancy, or removes them when delta is -1
+     *
+     * @return the first night whose factor changed, HORIZON_NIGHTS if none
+     */
+    private int add(Stay stay, int delta) {
+        int from = (int) Math.max(0, stay.checkIn() - origin);
+        int to = (int) Math.min(HORIZON_NIGHTS, Math.max(0, stay.checkOut() - origin));
+        int firstChanged = HORIZON_NIGHTS;
+        for (int night = from; night < to; night++) {
+            bookedRooms[night] += delta;
+            if (updateFactor(night) && firstChanged == HORIZON_NIGHTS) {
+                firstChanged = night;
+            }
+        }
+        return firstChanged;
+    }
+
+    /**
+     * @return the first night whose factor changed, HORIZON_NIGHTS if none
+     */
+    private int updateFactors() {
+        int firstChanged = HORIZON_NIGHTS;
+        for (int night = HORIZON_NIGHTS - 1; night >= 0; night--) {
+            if (updateFactor(night)) {
+                firstChanged = night;
+            }
+        }
+        return firstChanged;
+    }
+
+    private boolean updateFactor(int night) {
+        long factor = plan.factor(LocalDate.ofEpochDay(origin + night), bookedRooms[night], rooms.size());
+        if (factor == factors[night]) {
+            return false;
+        }
+        factors[night] = factor;
+        return true;
+    }
+
+    /**
+     * Marks the rates of every room stale from a night, must hold the lock
+     */
+    private void invalidate(int firstChanged) {
+        if (firstChanged >= HORIZON_NIGHTS) {
+            return;
+        }
+        rates.forEach(table -> {
+            if (table.validNights > firstChanged) {
+                table.validNights = firstChanged;
+            }
+        });
+        if (log.isDebugEnabled()) {
+            log.debug("Rates invalidated from {}", LocalDate.ofEpochDay(origin + firstChanged));
+        }
+    }
+
+    /**
+     * Nights booked by a confirmed booking, as epoch days, check-out excluded
+     */
+    private record Stay(long checkIn, long checkOut) {
+
+        static Stay of(Booking booking) {
+            return booking.getStatus() == BookingStatus.CONFIRMED
+                    ? new Stay(booking.getCheckIn().toEpochDay(), booking.getCheckOut().toEpochDay())
+                    : null;
+        }
+
+        boolean covers(long night) {
+            return night >= checkIn && night < checkOut;
+        }
+    }
+
+    /**
+     * Cumulated nightly rates of a room: prefix[i] is the cost of the first i nights of the horizon
+     */
+    private static final class RoomRates {
+
+        private final long price;
+        private final long origin;
+        private final long[] prefix;
+
+        /**
+         * Entries up to this one are up to date, lowered under the pricing lock
+         */
+        private volatile int validNights;
+
+        RoomRates(long price, long origin, long[] prefix, int validNights) {
+            this.price = price;
+            this.origin = origin;
+            this.prefix = prefix;
+            this.validNights = validNights;
+        }
+
+        boolean covers(long first, long end) {
+            return first >= origin && end - origin <= validNights;
+        }
+
+        boolean isStale(long first, long end) {
+            return first >= origin && end - origin <= HORIZON_NIGHTS && end - origin > validNights;
+        }
+
+        long total(long first, long end) {
+            return prefix[(int) (end - origin)] - prefix[(int) (first - origin)];
+        }
+    }
+
+}
@@ -0,0 +1,166 @@
+package com.skypay.hotel.pricing;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Adjustments of the room price, night by night.
+ * <p>
+ * A night costs the room price adjusted by the seasons covering it, then by its
+ * day of the week, then by the occupancy of the hotel that night. Adjustments are
+ * percentages (+25 for 25% more, -10 for 10% less), the rate is rounded down to
+ * the minor unit. A plan without adjustments charges the room price every night.
+ */
+@Getter
+@Builder
+public class RatePlan {
+
+    private static final long PERCENT = 100;
+    private static final long FLAT_FACTOR = PERCENT * PERCENT * PERCENT;
+
+    /**
+     * Yearly seasons, the adjustments of overlapping seasons add up
+     */
+    @Singular
+    private final List<Season> seasons;
+
+    @Singular
+    private final Map<DayOfWeek, Integer> weekdays;
+
+    /**
+     * Occupancy tiers, the tier with the highest threshold reached applies
+     */
+    @Singular("occupancyTier")
+    private final List<OccupancyTier> occupancy;
+
+    /**
+     * @return a plan charging the room price every night
+     */
+    public static RatePlan flat() {
+        return builder().build();
+    }
+
+    /**
+     * A period of every year, bounds inclusive. It wraps over the new year when it ends before it starts.
+     *
+     * @param from    the first day
+     * @param to      the last day
+     * @param percent the price adjustment
+     */
+    public record Season(MonthDay from, MonthDay to, int percent) {
+
+        public Season {
+            requireAdjustment(percent);
+        }
+
+        boolean covers(LocalDate night) {
+            MonthDay day = MonthDay.from(night);
+            return from.isAfter(to)
+                    ? !day.isBefore(from) || !day.isAfter(to)
+                    : !day.isBefore(from) && !day.isAfter(to);
+        }
+    }
+
+    /**
+     * @param minOccupancyPercent the share of booked rooms, in percent, from which the tier applies
+     * @param percent             the price adjustment
+     */
+    public record OccupancyTier(int minOccupancyPercent, int percent) {
+
+        public OccupancyTier {
+            if (minOccupancyPercent < 0 || minOccupancyPercent > PERCENT) {
+                throw new IllegalArgumentException("Occupancy threshold out of range: " + minOccupancyPercent);
+            }
+            requireAdjustment(percent);
+        }
+    }
+
+    /**
+     * @return true when no adjustment depends on the occupancy
+     */
+    public boolean ignoresOccupancy() {
+        return occupancy.isEmpty();
+    }
+
+    /**
+     * Price factor of a night, in millionths: 1 000 000 charges the room price
+     *
+     * @param night       the night
+     * @param bookedRooms the rooms booked that night
+     * @param rooms       the rooms of the hotel
+     * @return the factor of the night
+     */
+    public long factor(LocalDate night, int bookedRooms, int rooms) {
+        int season = 0;
+        for (Season s : seasons) {
+            if (s.covers(night)) {
+                season += s.percent();
+            }
+        }
+        try {
+            return Math.multiplyExact(adjusted(season) * adjusted(weekdays.getOrDefault(night.getDayOfWeek(), 0)),
+                    adjusted(occupancyPercent(bookedRooms, rooms)));
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Price adjustment overflow - Night: " + night, e);
+        }
+    }
+
+    /**
+     * @param pricePerNight the room price
+     * @param factor        the factor of the night, see {@link #factor}
+     * @return the rate of the night
+     * @throws IllegalArgumentException if the rate overflows
+     */
+    public static long nightlyRate(long pricePerNight, long factor) {
+        if (factor == FLAT_FACTOR) {
+            return pricePerNight;
+        }
+        try {
+            // Split so that only a rate past the largest amount overflows, not the product
+            return Math.addExact(Math.multiplyExact(pricePerNight / FLAT_FACTOR, factor),
+                    Math.multiplyExact(pricePerNight % FLAT_FACTOR, factor) / FLAT_FACTOR);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(
+                    "Amount overflow - Price per night: " + pricePerNight + ", Factor: " + factor, e);
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private int occupancyPercent(int bookedRooms, int rooms) {
+        if (rooms == 0) {
+            return 0;
+        }
+        long occupancyPercent = bookedRooms * PERCENT / rooms;
+        int threshold = -1;
+        int percent = 0;
+        for (OccupancyTier tier : occupancy) {
+            if (occupancyPercent >= tier.minOccupancyPercent() && tier.minOccupancyPercent() > threshold) {
+                threshold = tier.minOccupancyPercent();
+                percent = tier.percent();
+            }
+        }
+        return percent;
+    }
+
+    /**
+     * A price can be discounted down to zero, never below
+     */
+    private static long adjusted(int percent) {
+        return PERCENT + Math.max(percent, -PERCENT);
+    }
+
+    private static void requireAdjustment(int percent) {
+        if (percent < -PERCENT) {
+            throw new IllegalArgumentException("Price adjustment below -100%: " + percent);
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.skypay.hotel.pricing;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.Room;
+
+import java.time.LocalDate;
+
+/**
+ * Prices a stay when it is booked or moved. The booking keeps that cost.
+ */
+public interface StayPricing {
+
+    /**
+     * @param room     the room, at the version being booked
+     * @param checkIn  the check-in date
+     * @param checkOut the check-out date
+     * @return the cost of the nights checkIn to checkOut - 1
+     * @throws IllegalArgumentException if the cost overflows
+     */
+    long totalCost(Room room, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * @param booking  the booking to move, at its current dates, priced at its own price per night
+     * @param checkIn  the new check-in date
+     * @param checkOut the new check-out date
+     * @return the cost of the nights checkIn to checkOut - 1
+     * @throws IllegalArgumentException if the cost overflows
+     */
+    long totalCost(Booking booking, LocalDate checkIn, LocalDate checkOut);
+
+}
@@ -0,0 +1,184 @@
+package com.skypay.hotel.query;
+
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.event.HotelEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Query side of the hotel, maintained apart from the booking path.
+ * <p>
+ * The listener callbacks only copy the booking into an immutable {@link BookingView}
+ * and queue it; a single background thread folds the views into pre-aggregated
+ * views: bookings per user, revenue per room type and confirmed bookings per
+ * check-in date. Dashboards read those views without touching the booking store,
+ * at the price of a short lag behind the writes (see {@link #awaitApplied()}).
+ * <p>
+ * The model keeps its own last view of every booking, so a modification or a
+ * cancellation is applied as the difference with the previous version.
+ * Once closed, the model drops the events it still receives, with a warning:
+ * they come from a write that has already been applied and must not fail it.
+ */
+@Slf4j
+public class BookingReadModel implements HotelEventListener, Closeable {
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().daemon().name("booking-read-model").factory());
+
+    // Views updated by the updater thread only, read by any thread
+    private final Map<Integer, ConcurrentIntObjectMap<BookingView>> bookingsByUser = new ConcurrentHashMap<>();
+    private final AtomicLongArray revenueByRoomType = new AtomicLongArray(ROOM_TYPES.length);
+    private final NavigableMap<LocalDate, Integer> bookingsByCheckIn = new ConcurrentSkipListMap<>();
+
+    /**
+     * Loads the bookings that existed before the model listened, e.g. after a journal replay
+     *
+     * @param bookings the existing bookings, in creation order
+     */
+    public void load(List<Booking> bookings) {
+        List<BookingView> views = bookings.stream().map(BookingView::of).toList();
+        update(() -> views.forEach(this::apply), "Bookings", views.size());
+    }
+
+    @Override
+    public void onBookingCreated(Booking booking) {
+        queue(booking);
+    }
+
+    @Override
+    public void onBookingsCreated(List<Booking> bookings) {
+        load(bookings);
+    }
+
+    @Override
+    public void onBookingCancelled(Booking booking) {
+        queue(booking);
+    }
+
+    @Override
+    public void onBookingModified(Booking booking) {
+        queue(booking);
+    }
+
+    /**
+     * @return the bookings of a user in creation order, cancelled ones included
+     */
+    public List<BookingView> getUserBookings(int userId) {
+        ConcurrentIntObjectMap<BookingView> userBookings = bookingsByUser.get(userId);
+        return userBookings == null ? List.of() : userBookings.values();
+    }
+
+    /**
+     * @return the total cost of the confirmed bookings, per room type
+     */
+    public Map<RoomType, Long> getRevenueByRoomType() {
+        Map<RoomType, Long> revenue = new EnumMap<>(RoomType.class);
+        for (RoomType roomType : ROOM_TYPES) {
+            revenue.put(roomType, revenueByRoomType.get(roomType.ordinal()));
+        }
+        return revenue;
+    }
+
+    /**
+     * @param from the first check-in date
+     * @param to   the last check-in date (included)
+     * @return the number of confirmed bookings per check-in date, dates without booking omitted
+     */
+    public NavigableMap<LocalDate, Integer> getBookingsByCheckIn(LocalDate from, LocalDate to) {
+        return Collections.unmodifiableNavigableMap(bookingsByCheckIn.subMap(from, true, to, true));
+    }
+
+    /**
+     * Waits until the events received so far are applied to the views
+     */
+    public void awaitApplied() {
+        try {
+            updater.submit(() -> {
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Applies the queued events and stops the updater
+     */
+    @Override
+    public void close() {
+        updater.shutdown();
+        try {
+            if (!updater.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Booking read model still updating after 10 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private void queue(Booking booking) {
+        // Copied now: the caller keeps the Booking and may change it
+        BookingView view = BookingView.of(booking);
+        update(() -> apply(view), "Booking", view.id());
+    }
+
+    /**
+     * The dropped update is described by a label and a number, formatted only if it is dropped
+     */
+    private void update(Runnable update, String label, int value) {
+        try {
+            updater.execute(update);
+        } catch (RejectedExecutionException e) {
+            log.warn("Booking read model closed, update dropped - {}: {}", label, value);
+        }
+    }
+
+    private void apply(BookingView view) {
+        // A later version keeps the position of the booking, a booking never changes user
+        BookingView previous = bookingsByUser
+                .computeIfAbsent(view.userId(), userId -> new ConcurrentIntObjectMap<>())
+                .put(view.id(), view);
+        if (previous != null && previous.isConfirmed()) {
+            aggregate(previous, -1);
+        }
+        if (view.isConfirmed()) {
+            aggregate(view, 1);
+        }
+    }
+
+    /**
+     * Adds a confirmed booking to the aggregates, or removes it when sign is -1
+     */
+    private void aggregate(BookingView view, int sign) {
+        if (view.roomType() != null) {
+            revenueByRoomType.addAndGet(view.roomType().ordinal(), (long) sign * view.totalCost());
+        }
+        bookingsByCheckIn.compute(view.checkIn(), (date, count) -> {
+            int updated = (count == null ? 0 : count) + sign;
+            return updated == 0 ? null : updated;
+        });
+    }
+
+}
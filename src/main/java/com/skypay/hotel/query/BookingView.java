@@ -0,0 +1,25 @@
+package com.skypay.hotel.query;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+
+import java.time.LocalDate;
+
+/**
+ * Immutable copy of a booking as the read model last saw it
+ */
+public record BookingView(int id, int userId, int roomNumber, RoomType roomType,
+                          LocalDate checkIn, LocalDate checkOut, int numberOfNights,
+                          long totalCost, BookingStatus status) {
+
+    static BookingView of(Booking booking) {
+        return new BookingView(booking.getId(), booking.getUserId(), booking.getRoomNumber(),
+                booking.getRoomType(), booking.getCheckIn(), booking.getCheckOut(),
+                booking.getNumberOfNights(), booking.getTotalCost(), booking.getStatus());
+    }
+
+    boolean isConfirmed() {
+        return status != BookingStatus.CANCELLED;
+    }
+}
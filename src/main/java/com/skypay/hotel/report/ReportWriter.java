@@ -0,0 +1,169 @@
+package com.skypay.hotel.report;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+
+/**
+ * Buffered writer for the text reports (rooms, users, bookings).
+ * <p>
+ * Rows are formatted straight into a reusable char buffer: integers are written
+ * digit by digit and padded by hand, so a row costs no String.format call and
+ * no temporary string. The buffer is handed to the target in large chunks.
+ * A service keeps one writer and resets it to the target of each report.
+ */
+public class ReportWriter {
+
+    public static final String SEPARATOR = "=".repeat(80);
+
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final char[] buffer;
+    private final char[] digits = new char[20];
+    private int position;
+    private Appendable target;
+
+    public ReportWriter(Appendable target) {
+        this(target, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ReportWriter(Appendable target, int bufferSize) {
+        this.target = target;
+        this.buffer = new char[Math.max(64, bufferSize)];
+    }
+
+    /**
+     * Flushes pending output and redirects the writer, so its buffer can be reused
+     */
+    public ReportWriter reset(Appendable newTarget) {
+        if (position > 0) {
+            flush();
+        }
+        this.target = newTarget;
+        return this;
+    }
+
+    /**
+     * Writes the report title block: blank line, separator, title, separator
+     */
+    public ReportWriter header(String title) {
+        return append('\n').append(SEPARATOR).newLine()
+                .append(title).newLine()
+                .append(SEPARATOR).newLine();
+    }
+
+    /**
+     * Writes the closing separator followed by a blank line
+     */
+    public ReportWriter footer() {
+        return append(SEPARATOR).append('\n').newLine();
+    }
+
+    public ReportWriter append(char c) {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = c;
+        return this;
+    }
+
+    public ReportWriter append(CharSequence text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            append(text.charAt(i));
+        }
+        return this;
+    }
+
+    public ReportWriter appendText(Object value) {
+        return append(String.valueOf(value));
+    }
+
+    public ReportWriter append(long value) {
+        int start = formatDigits(value);
+        for (int i = start; i < digits.length; i++) {
+            append(digits[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Left-justified integer, same output as {@code %-<width>d}
+     */
+    public ReportWriter appendPadded(long value, int width) {
+        int length = digits.length - formatDigits(value);
+        append(value);
+        return pad(width - length);
+    }
+
+    /**
+     * Left-justified text, same output as {@code %-<width>s}
+     */
+    public ReportWriter appendPaddedText(Object value, int width) {
+        String text = String.valueOf(value);
+        append(text);
+        return pad(width - text.length());
+    }
+
+    public ReportWriter newLine() {
+        return append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Hands the buffered characters to the target and flushes it when it supports it
+     */
+    public void flush() {
+        drain();
+        if (target instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private ReportWriter pad(int count) {
+        for (int i = 0; i < count; i++) {
+            append(' ');
+        }
+        return this;
+    }
+
+    /**
+     * Writes the decimal digits of value at the end of the digits array
+     *
+     * @return index of the first character
+     */
+    private int formatDigits(long value) {
+        int index = digits.length;
+        boolean negative = value < 0;
+        // Work on the negative value so that Long.MIN_VALUE needs no special case
+        long remaining = negative ? value : -value;
+        do {
+            digits[--index] = (char) ('0' - (remaining % 10));
+            remaining /= 10;
+        } while (remaining != 0);
+        if (negative) {
+            digits[--index] = '-';
+        }
+        return index;
+    }
+
+    private void drain() {
+        if (position == 0) {
+            return;
+        }
+        try {
+            target.append(CharBuffer.wrap(buffer, 0, position));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.skypay.hotel.service;
 
 import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.model.BookingCreationData;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service interface for Booking management
@@ -19,6 +22,46 @@ public interface BookingService {
      */
     Booking createBooking(BookingCreationData creationData);
 
+    /**
+     * Restores a booking read from durable storage, keeping its ID and creation date.
+     * The user is not charged.
+     *
+     * @param booking the booking to restore
+     */
+    void restoreBooking(Booking booking);
+
+    /**
+     * Finds a booking by ID
+     *
+     * @param bookingId the booking ID
+     * @return Optional containing a copy of the booking if found
+     */
+    Optional<Booking> findBookingById(int bookingId);
+
+    /**
+     * Marks a booking cancelled and frees its period.
+     * The user is not refunded.
+     *
+     * @param booking      the booking to cancel
+     * @param modifiedDate when the booking was cancelled
+     */
+    void cancelBooking(Booking booking, LocalDateTime modifiedDate);
+
+    /**
+     * Moves a booking to new dates on the same room if no other booking holds the room then.
+     * The number of nights is recomputed, the total cost is the one priced by the caller.
+     * The user is not charged.
+     *
+     * @param booking      the booking to move
+     * @param checkIn      the new check-in date
+     * @param checkOut     the new check-out date
+     * @param totalCost    the total cost of the new dates
+     * @param modifiedDate when the booking was moved
+     * @return true if the booking was moved, false if the room is not available
+     */
+    boolean rescheduleBooking(Booking booking, LocalDate checkIn, LocalDate checkOut, long totalCost,
+                              LocalDateTime modifiedDate);
+
     /**
      * Checks if a room is available for the requested period
      *
@@ -29,6 +72,27 @@ public interface BookingService {
      */
     boolean isRoomAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut);
 
+    /**
+     * Counts the nights a room is booked in a period
+     *
+     * @param roomNumber the room number
+     * @param from       the first night
+     * @param to         the end of the period (excluded)
+     * @return the number of booked nights
+     */
+    int countBookedNights(int roomNumber, LocalDate from, LocalDate to);
+
+    /**
+     * Finds the rooms free for the whole requested period
+     *
+     * @param roomType the wanted room type, or null for any type
+     * @param checkIn  the check-in date
+     * @param checkOut the check-out date
+     * @param maxPrice the highest accepted price per night, or null for any price
+     * @return the numbers of the free rooms, in creation order
+     */
+    List<Integer> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, Long maxPrice);
+
     /**
      * Gets all bookings
      *
@@ -41,6 +105,13 @@ public interface BookingService {
      */
     void printAllBookings();
 
+    /**
+     * Streams all bookings from latest to oldest created to the given output
+     *
+     * @param out the report destination
+     */
+    void printAllBookings(Appendable out);
+
     /**
      * Validates booking dates
      *
@@ -65,7 +136,8 @@ public interface BookingService {
      * @param pricePerNight  the price per night
      * @param numberOfNights the number of nights
      * @return total cost
+     * @throws IllegalArgumentException if the total cost overflows
      */
-    int calculateTotalCost(int pricePerNight, int numberOfNights);
+    long calculateTotalCost(long pricePerNight, int numberOfNights);
 
 }
\ No newline at end of file
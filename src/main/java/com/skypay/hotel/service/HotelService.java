@@ -1,9 +1,15 @@
 package com.skypay.hotel.service;
 
 import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
+import com.skypay.hotel.entity.Booking;
 import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.entity.User;
 
+import java.time.LocalDate;
+import java.util.List;
+
 /**
  * Service interface for Hotel Reservation System
  * Based on technical requirements from Skypay Technical Test 2
@@ -21,8 +27,70 @@ public interface HotelService {
      * A User can book a room for a specific period if he has enough balance
      * for the specified period and the room is free on that period.
      * If the booking is successful, the user balance is updated.
+     *
+     * @return the created booking
+     */
+    Booking bookRoom(BookingRequest request);
+
+    /**
+     * Books a batch of requests (group or tour-operator allotments).
+     * Requests are processed grouped by room and sorted by check-in date; a request
+     * overlapping an earlier request of the same batch is rejected like one overlapping
+     * an existing booking. A rejected request does not stop the batch.
+     *
+     * @param requests the booking requests
+     * @return one result per request, in the order of the requests
+     */
+    List<BookingResult> bookRooms(List<BookingRequest> requests);
+
+    /**
+     * Cancels a booking: frees its room and refunds its total cost to the user
+     *
+     * @param bookingId the booking ID
+     * @return the cancelled booking
+     */
+    Booking cancelBooking(int bookingId);
+
+    /**
+     * Moves a booking to new dates on the same room, at the booked price per night.
+     * The difference with the previous total cost is charged to or refunded to the user.
+     *
+     * @param bookingId the booking ID
+     * @param checkIn   the new check-in date
+     * @param checkOut  the new check-out date
+     * @return the modified booking
+     */
+    Booking modifyBooking(int bookingId, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Checks if an existing room is free on a valid period
+     *
+     * @param roomNumber the room number
+     * @param checkIn    the check-in date
+     * @param checkOut   the check-out date
+     * @return true if the room can be booked on that period
+     */
+    boolean isRoomAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut);
+
+    /**
+     * Finds the rooms that can be booked on a valid period
+     *
+     * @param roomType the wanted room type, or null for any type
+     * @param checkIn  the check-in date
+     * @param checkOut the check-out date
+     * @param maxPrice the highest accepted price per night, or null for any price
+     * @return the free rooms, in creation order
+     */
+    List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, Long maxPrice);
+
+    /**
+     * Computes the share of room nights booked in a period, over all rooms
+     *
+     * @param from the first night
+     * @param to   the end of the period (excluded)
+     * @return the occupancy rate, between 0 and 1
      */
-    void bookRoom(BookingRequest request);
+    double getOccupancyRate(LocalDate from, LocalDate to);
 
     /**
      * Prints all rooms data and bookings data both from the latest created to the oldest created.
@@ -17,9 +17,17 @@ public interface RoomService {
      *
      * @param roomNumber the room number
      * @param roomType the type of room (standard, junior, suite)
-     * @param roomPricePerNight the price per night for booking
+     * @param roomPricePerNight the price per night for booking, in minor units of the currency
      */
-    void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight);
+    void setRoom(int roomNumber, RoomType roomType, long roomPricePerNight);
+
+    /**
+     * Restores a room read from durable storage as is, audit dates included.
+     * Replaces the room with the same number if any.
+     *
+     * @param room the room to restore
+     */
+    void restoreRoom(Room room);
 
     /**
      * Finds a room by its room number
@@ -41,4 +49,11 @@ public interface RoomService {
      */
     void printAllRooms();
 
+    /**
+     * Streams all rooms from latest to oldest created to the given output
+     *
+     * @param out the report destination
+     */
+    void printAllRooms(Appendable out);
+
 }
\ No newline at end of file
@@ -15,9 +15,17 @@ public interface UserService {
      * Creates a user if it does not already exist.
      *
      * @param userId  the user ID
-     * @param balance the user's balance
+     * @param balance the user's balance, in minor units of the currency
      */
-    void setUser(int userId, int balance);
+    void setUser(int userId, long balance);
+
+    /**
+     * Restores a user read from durable storage as is, audit dates included.
+     * Replaces the user with the same ID if any and resets its balance.
+     *
+     * @param user the user to restore
+     */
+    void restoreUser(User user);
 
     /**
      * Finds a user by ID
@@ -39,6 +47,13 @@ public interface UserService {
      */
     void printAllUsers();
 
+    /**
+     * Streams all users from latest to oldest created to the given output
+     *
+     * @param out the report destination
+     */
+    void printAllUsers(Appendable out);
+
     /**
      * Checks if user has sufficient balance
      *
@@ -46,7 +61,7 @@ public interface UserService {
      * @param amount the amount to check
      * @return true if user has sufficient balance
      */
-    boolean hasSufficientBalance(int userId, int amount);
+    boolean hasSufficientBalance(int userId, long amount);
 
     /**
      * Deducts balance from user account
@@ -54,6 +69,25 @@ public interface UserService {
      * @param userId the user ID
      * @param amount the amount to deduct
      */
-    void deductBalance(int userId, int amount);
+    void deductBalance(int userId, long amount);
+
+    /**
+     * Deducts balance from user account if it covers the amount, as a single atomic operation
+     *
+     * @param userId the user ID
+     * @param amount the amount to deduct
+     * @return true if the amount was deducted, false if the user does not exist
+     * or the balance is insufficient
+     */
+    boolean tryDeductBalance(int userId, long amount);
+
+    /**
+     * Adds an amount to a user's balance, as a single atomic operation
+     *
+     * @param userId the user ID
+     * @param amount the amount to add
+     * @return true if the amount was added, false if the user does not exist
+     */
+    boolean creditBalance(int userId, long amount);
 
-}
\ No newline at end of file
+}
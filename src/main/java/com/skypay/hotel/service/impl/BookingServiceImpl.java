@@ -2,21 +2,27 @@ package com.skypay.hotel.service.impl;
 
 
 import com.skypay.hotel.entity.Booking;
-import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
 import com.skypay.hotel.model.BookingCreationData;
+import com.skypay.hotel.model.BookingDates;
+import com.skypay.hotel.money.Money;
+import com.skypay.hotel.report.ReportWriter;
 import com.skypay.hotel.service.BookingService;
 import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.store.BookingStore;
+import com.skypay.hotel.store.BookingStoreType;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -24,20 +30,71 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 @Slf4j
 @Getter
-@RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
 
-    private final List<Booking> bookings = new CopyOnWriteArrayList<>();
+    /**
+     * Bookings in creation order
+     */
+    private final BookingStore bookings;
+    private final BookingIntervalIndex bookedPeriods;
+
+    /**
+     * Booked nights over the next two years, answers most availability checks.
+     * Shared with the RoomService, which lists the rooms in it.
+     */
+    private final RoomCalendar calendar;
     private final UserService userService;
 
+    /**
+     * Reused by every report, which holds it while printing
+     */
+    @Getter(AccessLevel.NONE)
+    private final ReportWriter report = new ReportWriter(System.out);
+
     private final AtomicInteger nextBookingId = new AtomicInteger(1);
 
+    /**
+     * Gap between two booking IDs, greater than 1 when several services interleave their IDs
+     */
+    private int bookingIdStep = 1;
+
+    public BookingServiceImpl(UserService userService) {
+        this(userService, new RoomCalendar(new BookingIntervalIndex()));
+    }
+
+    public BookingServiceImpl(UserService userService, RoomCalendar calendar) {
+        this(BookingStoreType.COLUMNAR.create(), userService, calendar);
+    }
+
+    public BookingServiceImpl(BookingStore bookings, UserService userService, RoomCalendar calendar) {
+        this.bookings = bookings;
+        this.bookedPeriods = calendar.periods();
+        this.calendar = calendar;
+        this.userService = userService;
+    }
+
+    /**
+     * Generates the booking IDs first, first + step, first + 2 * step...
+     * so services sharing an ID space never collide. Must be called before the first booking.
+     *
+     * @param first the first booking ID
+     * @param step  the gap between two booking IDs
+     */
+    public void interleaveBookingIds(int first, int step) {
+        if (first <= 0 || step <= 0) {
+            throw new IllegalArgumentException("Booking IDs must be positive - First: " + first + ", Step: " + step);
+        }
+        bookings.interleaveIds(first, step);
+        nextBookingId.set(first);
+        bookingIdStep = step;
+    }
+
     @Override
     public Booking createBooking(BookingCreationData bookingData) {
         log.debug("Creating booking with data: {}", bookingData);
 
         Booking booking = Booking.builder()
-                .id(nextBookingId.getAndIncrement())
+                .id(nextBookingId.getAndAdd(bookingIdStep))
                 .userId(bookingData.userId())
                 .roomNumber(bookingData.roomNumber())
                 .roomType(bookingData.roomType())
@@ -49,55 +106,110 @@ public class BookingServiceImpl implements BookingService {
                 .createdDate(LocalDateTime.now())
                 .build();
 
-        bookings.add(booking);
-        log.info("Booking created - ID: {}, User: {}, Room: {}, Total: {}",
-                booking.getId(), bookingData.userId(), bookingData.roomNumber(), bookingData.totalCost());
+        bookings.append(booking);
+        holdPeriod(booking);
+        if (log.isDebugEnabled()) {
+            log.debug("Booking created - ID: {}, User: {}, Room: {}, Total: {}",
+                    booking.getId(), bookingData.userId(), bookingData.roomNumber(), bookingData.totalCost());
+        }
 
         return booking;
     }
 
+    @Override
+    public void restoreBooking(Booking booking) {
+        bookings.append(booking);
+        if (booking.getStatus() != BookingStatus.CANCELLED) {
+            holdPeriod(booking);
+        }
+        // Later bookings must not reuse a restored ID
+        nextBookingId.accumulateAndGet(booking.getId() + bookingIdStep, Math::max);
+        log.debug("Booking restored - ID: {}", booking.getId());
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(int bookingId) {
+        return bookings.findById(bookingId);
+    }
+
+    @Override
+    public void cancelBooking(Booking booking, LocalDateTime modifiedDate) {
+        releasePeriod(booking);
+        booking.setStatus(BookingStatus.CANCELLED);
+        booking.setLastModifiedDate(modifiedDate);
+        bookings.update(booking);
+        if (log.isDebugEnabled()) {
+            log.debug("Booking cancelled - ID: {}, Room: {}", booking.getId(), booking.getRoomNumber());
+        }
+    }
+
+    @Override
+    public boolean rescheduleBooking(Booking booking, LocalDate checkIn, LocalDate checkOut, long totalCost,
+                                     LocalDateTime modifiedDate) {
+        int numberOfNights = calculateNumberOfNights(checkIn, checkOut);
+
+        // Only the booking's own period moves: O(log n) in the interval index, O(nights) in the calendar
+        releasePeriod(booking);
+        if (!calendar.isFree(booking.getRoomNumber(), checkIn, checkOut)) {
+            holdPeriod(booking);
+            return false;
+        }
+        booking.setCheckIn(checkIn);
+        booking.setCheckOut(checkOut);
+        booking.setNumberOfNights(numberOfNights);
+        booking.setTotalCost(totalCost);
+        booking.setLastModifiedDate(modifiedDate);
+        bookings.update(booking);
+        holdPeriod(booking);
+        if (log.isDebugEnabled()) {
+            log.debug("Booking rescheduled - ID: {}, Room: {}, {} to {}, Total: {}",
+                    booking.getId(), booking.getRoomNumber(), checkIn, checkOut, booking.getTotalCost());
+        }
+        return true;
+    }
+
     @Override
     public boolean isRoomAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
-        return bookings.stream()
-                .filter(b -> b.getRoomNumber().equals(roomNumber))
-                .noneMatch(b -> hasOverlap(b.getCheckIn(), b.getCheckOut(), checkIn, checkOut));
+        return calendar.isFree(roomNumber, checkIn, checkOut);
+    }
+
+    @Override
+    public int countBookedNights(int roomNumber, LocalDate from, LocalDate to) {
+        return calendar.bookedNights(roomNumber, from, to);
+    }
+
+    @Override
+    public List<Integer> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, Long maxPrice) {
+        return calendar.findFree(roomType, checkIn, checkOut, maxPrice == null ? Long.MAX_VALUE : maxPrice);
     }
 
     @Override
     public List<Booking> getAllBookings() {
-        return new ArrayList<>(bookings);
+        return bookings.toList();
     }
 
     @Override
     public void printAllBookings() {
+        printAllBookings(System.out);
+    }
+
+    @Override
+    public void printAllBookings(Appendable out) {
         log.info("printAllBookings called");
 
-        String separator = "=".repeat(80);
-        System.out.println("\n" + separator);
-        System.out.println("BOOKINGS (Latest to Oldest)");
-        System.out.println(separator);
+        synchronized (report) {
+            report.reset(out).header("BOOKINGS (Latest to Oldest)");
 
-        bookings.stream()
-                .sorted(Comparator.comparing(Booking::getCreatedDate,
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .forEach(this::printBooking);
+            // Creation order is append order: no sort needed
+            bookings.forEachDescending(booking -> printBooking(report, booking, userService));
 
-        System.out.println(separator + "\n");
+            report.footer().flush();
+        }
     }
 
     @Override
     public void validateDates(LocalDate checkIn, LocalDate checkOut) {
-        if (checkIn == null || checkOut == null) {
-            throw new InvalidDateException("Les dates de check-in et check-out ne peuvent pas être nulles");
-        }
-        if (checkIn.isBefore(LocalDate.now())) {
-            throw new InvalidDateException(
-                    checkIn, checkOut, "La date de check-in ne peut pas être dans le passé");
-        }
-        if (checkOut.isBefore(checkIn) || checkOut.isEqual(checkIn)) {
-            throw new InvalidDateException(
-                    checkIn, checkOut, "La date de check-out doit être après la date de check-in");
-        }
+        BookingDates.validate(checkIn, checkOut);
     }
 
     @Override
@@ -106,34 +218,40 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public int calculateTotalCost(int pricePerNight, int numberOfNights) {
-        return pricePerNight * numberOfNights;
+    public long calculateTotalCost(long pricePerNight, int numberOfNights) {
+        return Money.totalCost(pricePerNight, numberOfNights);
     }
 
     // ========== Private Helper Methods ==========
 
-    private boolean hasOverlap(LocalDate existingCheckIn, LocalDate existingCheckOut,
-                               LocalDate newCheckIn, LocalDate newCheckOut) {
-        return !existingCheckOut.isBefore(newCheckIn) && !newCheckOut.isBefore(existingCheckIn);
-    }
-
-    private void printBooking(Booking booking) {
-        userService.findUserById(booking.getUserId()).ifPresent(user -> {
-            System.out.printf(
-                    "Booking #%-3d | User: %-5d (Balance: %-8d) | Room: %-5d (%-10s, %-6d/night) | %s to %s (%d nights) | Total: %-6d | Created: %s%n",
-                    booking.getId(),
-                    booking.getUserId(),
-                    user.getBalance(),
-                    booking.getRoomNumber(),
-                    booking.getRoomType(),
-                    booking.getPricePerNight(),
-                    booking.getCheckIn(),
-                    booking.getCheckOut(),
-                    booking.getNumberOfNights(),
-                    booking.getTotalCost(),
-                    booking.getCreatedDate()
-            );
-        });
+    private void holdPeriod(Booking booking) {
+        bookedPeriods.add(booking.getRoomNumber(), booking.getId(), booking.getCheckIn(), booking.getCheckOut());
+        calendar.add(booking.getRoomNumber(), booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    private void releasePeriod(Booking booking) {
+        bookedPeriods.remove(booking.getRoomNumber(), booking.getId(), booking.getCheckIn());
+        calendar.remove(booking.getRoomNumber(), booking.getCheckIn(), booking.getCheckOut());
+    }
+
+    /**
+     * Writes one row of the bookings report, shared with the sharded service
+     */
+    static void printBooking(ReportWriter report, Booking booking, UserService userService) {
+        // O(1) join on the users index
+        userService.findUserById(booking.getUserId()).ifPresent(user -> report
+                .append("Booking #").appendPadded(booking.getId(), 3)
+                .append(" | User: ").appendPadded(booking.getUserId(), 5)
+                .append(" (Balance: ").appendPadded(user.getBalance(), 8)
+                .append(") | Room: ").appendPadded(booking.getRoomNumber(), 5)
+                .append(" (").appendPaddedText(booking.getRoomType(), 10)
+                .append(", ").appendPadded(booking.getPricePerNight(), 6)
+                .append("/night) | ").appendText(booking.getCheckIn())
+                .append(" to ").appendText(booking.getCheckOut())
+                .append(" (").append(booking.getNumberOfNights())
+                .append(" nights) | Total: ").appendPadded(booking.getTotalCost(), 6)
+                .append(" | Created: ").appendText(booking.getCreatedDate())
+                .newLine());
     }
 
 }
\ No newline at end of file
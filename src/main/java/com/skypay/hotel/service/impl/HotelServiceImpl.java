@@ -1,22 +1,69 @@
 package com.skypay.hotel.service.impl;
 
+import com.skypay.hotel.concurrent.StripedLocks;
+import com.skypay.hotel.concurrent.StripedReadWriteLocks;
 import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
 import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.entity.User;
+import com.skypay.hotel.event.HotelEventListener;
+import com.skypay.hotel.exception.BookingCancelledException;
+import com.skypay.hotel.exception.BookingException;
 import com.skypay.hotel.exception.EntityNotFoundException;
 import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
+import com.skypay.hotel.exception.InvalidDateException;
 import com.skypay.hotel.exception.RoomNotAvailableException;
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
+import com.skypay.hotel.metrics.BookingMetrics;
 import com.skypay.hotel.model.BookingCreationData;
+import com.skypay.hotel.money.Money;
+import com.skypay.hotel.pricing.StayPricing;
 import com.skypay.hotel.service.BookingService;
 import com.skypay.hotel.service.HotelService;
 import com.skypay.hotel.service.RoomService;
 import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.store.BookingStoreType;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+
 /**
  * Main implementation of HotelService
  * Orchestrates Room, User, and Booking services
+ * <p>
+ * The reserve-and-charge sequence of bookRoom runs under the stripe lock of
+ * its room, so concurrent requests cannot double-book a room while requests on
+ * other rooms proceed in parallel. The charge itself is an atomic
+ * compare-and-deduct on the user's balance, so concurrent charges of a user
+ * never wait on each other.
+ * <p>
+ * Cancellations and modifications run under the room lock of the booking, and
+ * charge or refund the cost difference with the same atomic ledger operations.
+ * <p>
+ * Charges and refunds commute, so they share the balance read lock of their user;
+ * setUser replaces the balance under its write lock. A reset is thereby ordered
+ * against every charge and refund of the user, and so are their events.
+ * <p>
+ * Registered {@link HotelEventListener}s are told about every change under the
+ * lock that applied it, so the changes of one room, user or booking reach them
+ * in the order they were applied. They may refuse a change before it is applied,
+ * and wait for their own work (e.g. journal durability) once the locks are released.
  */
 @Slf4j
 @Getter
@@ -26,62 +73,553 @@ public class HotelServiceImpl implements HotelService {
     private final UserService userService;
     private final BookingService bookingService;
 
+    private final StripedLocks roomLocks = StripedLocks.forAvailableProcessors();
+
+    /**
+     * Balance locks by user: read lock to charge or refund, write lock to reset
+     */
+    private final StripedReadWriteLocks balanceLocks;
+
+    private final List<HotelEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Stage timers and rejection counters of the booking path
+     */
+    @Setter
+    private volatile BookingMetrics metrics = BookingMetrics.unbound();
+
+    /**
+     * Cost of a new or moved stay, the room or booking price every night when not set
+     */
+    @Setter
+    private volatile StayPricing pricing;
+
     public HotelServiceImpl() {
-        this.roomService = new RoomServiceImpl();
+        this(BookingStoreType.COLUMNAR);
+    }
+
+    public HotelServiceImpl(BookingStoreType bookingStoreType) {
+        RoomCalendar calendar = new RoomCalendar(new BookingIntervalIndex());
+        this.roomService = new RoomServiceImpl(calendar);
         this.userService = new UserServiceImpl();
-        this.bookingService = new BookingServiceImpl(userService);
-        log.info("HotelService initialized with all sub-services");
+        this.bookingService = new BookingServiceImpl(bookingStoreType.create(), userService, calendar);
+        this.balanceLocks = StripedReadWriteLocks.forAvailableProcessors();
+        log.info("HotelService initialized with all sub-services - Booking store: {}", bookingStoreType);
     }
 
     // Constructor for dependency injection
     public HotelServiceImpl(RoomService roomService, UserService userService, BookingService bookingService) {
+        this(roomService, userService, bookingService, StripedReadWriteLocks.forAvailableProcessors());
+    }
+
+    /**
+     * @param balanceLocks the balance locks, shared by the services sharing the user service
+     */
+    public HotelServiceImpl(RoomService roomService, UserService userService, BookingService bookingService,
+                            StripedReadWriteLocks balanceLocks) {
         this.roomService = roomService;
         this.userService = userService;
         this.bookingService = bookingService;
+        this.balanceLocks = balanceLocks;
         log.info("HotelService initialized with injected services");
     }
 
     @Override
     public void setRoom(Room room) {
         log.debug("HotelService.setRoom called - delegating to RoomService");
-        roomService.setRoom(room.getId(), room.getType(), room.getRoomPricePerNight());
+        Lock roomLock = roomLocks.get(room.getId());
+        roomLock.lock();
+        try {
+            beforeChange(listeners);
+            roomService.setRoom(room.getId(), room.getType(), room.getRoomPricePerNight());
+            notifyListeners(listeners, listener ->
+                    listener.onRoomSet(room.getId(), room.getType(), room.getRoomPricePerNight()));
+        } finally {
+            endChange(listeners);
+            roomLock.unlock();
+        }
+        afterChanges(listeners);
     }
 
     @Override
     public void setUser(User user) {
         log.debug("HotelService.setUser called - delegating to UserService");
-        userService.setUser(user.getId(), user.getBalance());
+        Lock balanceLock = balanceLocks.get(user.getId()).writeLock();
+        balanceLock.lock();
+        try {
+            beforeChange(listeners);
+            userService.setUser(user.getId(), user.getBalance());
+            notifyListeners(listeners, listener -> listener.onUserSet(user.getId(), user.getBalance()));
+        } finally {
+            endChange(listeners);
+            balanceLock.unlock();
+        }
+        afterChanges(listeners);
+    }
+
+    @Override
+    public Booking bookRoom(BookingRequest request) {
+        Booking booking;
+        try {
+            // Validate the request and its dates
+            validateRequest(request);
+
+            requireUser(request);
+
+            Lock roomLock = roomLocks.get(request.getRoomNumber());
+            roomLock.lock();
+            try {
+                // Read under the room lock: a concurrent setRoom cannot change the price being charged
+                Room room = findRoom(request);
+                Lock balanceLock = balanceLocks.get(request.getUserId()).readLock();
+                balanceLock.lock();
+                try {
+                    beforeChange(listeners);
+                    booking = reserveAndCharge(request, room);
+                    notifyListeners(listeners, listener -> listener.onBookingCreated(booking));
+                } finally {
+                    endChange(listeners);
+                    balanceLock.unlock();
+                }
+            } finally {
+                roomLock.unlock();
+            }
+        } catch (BookingException e) {
+            metrics.rejected(e);
+            throw e;
+        }
+        afterChanges(listeners);
+        return booking;
+    }
+
+    @Override
+    public List<BookingResult> bookRooms(List<BookingRequest> requests) {
+        BookingResult[] results = new BookingResult[requests.size()];
+
+        // Validate the request and resolve the user once per request, the room once per group under its lock
+        List<PendingBooking> pending = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            try {
+                validateRequest(request);
+                requireUser(request);
+                pending.add(new PendingBooking(i, request));
+            } catch (BookingException e) {
+                metrics.rejected(e);
+                results[i] = BookingResult.rejected(request, e);
+            }
+        }
+
+        // Group by room, then by check-in date (stable: ties keep the request order)
+        pending.sort(Comparator.comparingInt(PendingBooking::roomNumber)
+                .thenComparing(p -> p.request().getCheckIn()));
+
+        int groupStart = 0;
+        while (groupStart < pending.size()) {
+            int roomNumber = pending.get(groupStart).roomNumber();
+            int groupEnd = groupStart;
+            while (groupEnd < pending.size() && pending.get(groupEnd).roomNumber() == roomNumber) {
+                groupEnd++;
+            }
+            bookRoomGroup(pending.subList(groupStart, groupEnd), results);
+            groupStart = groupEnd;
+        }
+        // One wait for the whole batch
+        afterChanges(listeners);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Batch booking completed - Requests: {}, Booked: {}", requests.size(),
+                    Arrays.stream(results).filter(BookingResult::isSuccess).count());
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public Booking cancelBooking(int bookingId) {
+        Lock roomLock = roomLocks.get(findBooking(bookingId).getRoomNumber());
+        Booking booking;
+        roomLock.lock();
+        try {
+            // A booking keeps its room: the copy read under the room lock is current
+            booking = findBooking(bookingId);
+            requireConfirmed(booking);
+            Lock balanceLock = balanceLocks.get(booking.getUserId()).readLock();
+            balanceLock.lock();
+            try {
+                beforeChange(listeners);
+                // Refunded first: a refund the balance cannot take leaves the booking confirmed
+                refund(booking.getUserId(), booking.getTotalCost());
+                bookingService.cancelBooking(booking, LocalDateTime.now());
+                notifyListeners(listeners, listener -> listener.onBookingCancelled(booking));
+            } finally {
+                endChange(listeners);
+                balanceLock.unlock();
+            }
+        } finally {
+            roomLock.unlock();
+        }
+        afterChanges(listeners);
+        return booking;
     }
 
     @Override
-    public void bookRoom(BookingRequest request) {
+    public Booking modifyBooking(int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        bookingService.validateDates(checkIn, checkOut);
+        Lock roomLock = roomLocks.get(findBooking(bookingId).getRoomNumber());
+        Booking booking;
+        roomLock.lock();
+        try {
+            booking = findBooking(bookingId);
+            requireConfirmed(booking);
+            beforeChange(listeners);
+            LocalDateTime modifiedDate = LocalDateTime.now();
+            LocalDate previousCheckIn = booking.getCheckIn();
+            LocalDate previousCheckOut = booking.getCheckOut();
+            long previousCost = booking.getTotalCost();
+            LocalDateTime previousModifiedDate = booking.getLastModifiedDate();
+            // Priced first: an overflowing cost leaves the booking untouched
+            long totalCost = totalCost(booking, checkIn, checkOut);
+            long difference = Money.subtract(totalCost, previousCost);
+
+            if (!bookingService.rescheduleBooking(booking, checkIn, checkOut, totalCost, modifiedDate)) {
+                throw new RoomNotAvailableException(booking.getRoomNumber(), checkIn, checkOut);
+            }
+
+            Lock balanceLock = balanceLocks.get(booking.getUserId()).readLock();
+            balanceLock.lock();
+            try {
+                if (difference > 0 && !userService.tryDeductBalance(booking.getUserId(), difference)) {
+                    // The previous period was ours and nobody could take it under the room lock
+                    bookingService.rescheduleBooking(booking, previousCheckIn, previousCheckOut, previousCost,
+                            previousModifiedDate);
+                    throw new InsufficientBalanceException(difference, userService.findUserById(booking.getUserId())
+                            .map(User::getBalance)
+                            .orElse(0L));
+                }
+                if (difference < 0) {
+                    try {
+                        refund(booking.getUserId(), -difference);
+                    } catch (RuntimeException e) {
+                        // The balance is unchanged: the booking keeps its previous dates
+                        bookingService.rescheduleBooking(booking, previousCheckIn, previousCheckOut, previousCost,
+                                previousModifiedDate);
+                        throw e;
+                    }
+                }
+                notifyListeners(listeners, listener -> listener.onBookingModified(booking));
+            } finally {
+                balanceLock.unlock();
+            }
+        } finally {
+            endChange(listeners);
+            roomLock.unlock();
+        }
+        afterChanges(listeners);
+        return booking;
+    }
+
+    @Override
+    public boolean isRoomAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        bookingService.validateDates(checkIn, checkOut);
+        if (roomService.findRoomByNumber(roomNumber).isEmpty()) {
+            throw new EntityNotFoundException("Room", roomNumber);
+        }
+        return bookingService.isRoomAvailable(roomNumber, checkIn, checkOut);
+    }
+
+    @Override
+    public List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, Long maxPrice) {
+        bookingService.validateDates(checkIn, checkOut);
+        return bookingService.findAvailableRooms(roomType, checkIn, checkOut, maxPrice).stream()
+                .flatMap(roomNumber -> roomService.findRoomByNumber(roomNumber).stream())
+                .toList();
+    }
+
+    @Override
+    public double getOccupancyRate(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidDateException(from, to, "La fin de la période doit être après son début");
+        }
+        List<Room> rooms = roomService.getAllRooms();
+        if (rooms.isEmpty()) {
+            return 0;
+        }
+        long bookedNights = 0;
+        for (Room room : rooms) {
+            bookedNights += bookingService.countBookedNights(room.getRoomNumber(), from, to);
+        }
+        return (double) bookedNights / ((long) rooms.size() * bookingService.calculateNumberOfNights(from, to));
+    }
+
+    /**
+     * Registers a listener for the changes applied from now on
+     *
+     * @param listener the listener to notify
+     */
+    public void addEventListener(HotelEventListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void printAll() {
+        log.info("HotelService.printAll called");
+        roomService.printAllRooms();
+        bookingService.printAllBookings();
+    }
+
+    @Override
+    public void printAllUsers() {
+        log.info("HotelService.printAllUsers called - delegating to UserService");
+        userService.printAllUsers();
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Lets the listeners refuse a change, under its lock and before it is applied
+     */
+    static void beforeChange(List<HotelEventListener> listeners) {
+        listeners.forEach(HotelEventListener::beforeChange);
+    }
+
+    /**
+     * Tells the listeners about an applied change, under its lock.
+     * A failing listener cannot undo the change: it is logged, and the next listeners still see the change.
+     */
+    static void notifyListeners(List<HotelEventListener> listeners, Consumer<HotelEventListener> event) {
+        for (HotelEventListener listener : listeners) {
+            try {
+                event.accept(listener);
+            } catch (RuntimeException e) {
+                log.error("Listener failed on an applied change - Listener: {}",
+                        listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Tells the listeners a change is applied or refused, under its lock
+     */
+    static void endChange(List<HotelEventListener> listeners) {
+        for (HotelEventListener listener : listeners) {
+            try {
+                listener.endChange();
+            } catch (RuntimeException e) {
+                log.error("Listener failed to end a change - Listener: {}", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    /**
+     * Lets the listeners complete the changes of this thread, once their locks are released.
+     * Every listener runs, then the first failure reaches the caller: its changes stay applied.
+     */
+    static void afterChanges(List<HotelEventListener> listeners) {
+        RuntimeException failure = null;
+        for (HotelEventListener listener : listeners) {
+            try {
+                listener.afterChanges();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Booking findBooking(int bookingId) {
+        return bookingService.findBookingById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking", bookingId));
+    }
 
-        // Validate dates
+    /**
+     * Credits a refund, or throws with the balance unchanged
+     *
+     * @throws IllegalArgumentException if the balance would overflow
+     */
+    private void refund(int userId, long amount) {
+        if (!userService.creditBalance(userId, amount)) {
+            throw new EntityNotFoundException("User", userId);
+        }
+    }
+
+    private static void requireConfirmed(Booking booking) {
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new BookingCancelledException(booking.getId());
+        }
+    }
+
+    /**
+     * Checks the request names its user and room, and its dates
+     */
+    private void validateRequest(BookingRequest request) {
+        long start = System.nanoTime();
+        requireComplete(request);
         bookingService.validateDates(request.getCheckIn(), request.getCheckOut());
+        metrics.record(BookingMetrics.Stage.VALIDATE_DATES, start);
+    }
+
+    /**
+     * Rejects a request without a user or a room, before its IDs are unboxed
+     */
+    static void requireComplete(BookingRequest request) {
+        if (request.getUserId() == null) {
+            throw new InvalidBookingRequestException("l'utilisateur (userId)");
+        }
+        if (request.getRoomNumber() == null) {
+            throw new InvalidBookingRequestException("la chambre (roomNumber)");
+        }
+    }
 
-        // Find user
-        User user = userService.findUserById(request.getUserId())
-                .orElseThrow(() -> new EntityNotFoundException("User", request.getUserId()));
+    private void requireUser(BookingRequest request) {
+        long start = System.nanoTime();
+        if (userService.findUserById(request.getUserId()).isEmpty()) {
+            throw new EntityNotFoundException("User", request.getUserId());
+        }
+        metrics.record(BookingMetrics.Stage.FIND_USER, start);
+    }
 
-        // Find room
+    private Room findRoom(BookingRequest request) {
+        long start = System.nanoTime();
         Room room = roomService.findRoomByNumber(request.getRoomNumber())
                 .orElseThrow(() -> new EntityNotFoundException("Room", request.getRoomNumber()));
+        metrics.record(BookingMetrics.Stage.FIND_ROOM, start);
+        return room;
+    }
 
-        // Calculate cost
-        int numberOfNights = bookingService.calculateNumberOfNights(request.getCheckIn(), request.getCheckOut());
-        int totalCost = bookingService.calculateTotalCost(room.getRoomPricePerNight(), numberOfNights);
+    /**
+     * Books the batch requests of one room, sorted by check-in, under a single room lock,
+     * and reports the bookings created before releasing it
+     */
+    private void bookRoomGroup(List<PendingBooking> group, BookingResult[] results) {
+        Lock roomLock = roomLocks.get(group.get(0).roomNumber());
+        roomLock.lock();
+        Room room;
+        try {
+            room = findRoom(group.get(0).request());
+        } catch (BookingException e) {
+            roomLock.unlock();
+            for (PendingBooking pending : group) {
+                metrics.rejected(e);
+                results[pending.index()] = BookingResult.rejected(pending.request(), e);
+            }
+            return;
+        }
+        ReadWriteLock[] userBalanceLocks = balanceLocks.getAll(group.stream()
+                .mapToInt(pending -> pending.request().getUserId())
+                .toArray());
+        for (ReadWriteLock balanceLock : userBalanceLocks) {
+            balanceLock.readLock().lock();
+        }
+        try {
+            beforeChange(listeners);
+            // Accepted requests are disjoint and sorted: the last one ends latest
+            LocalDate lastAcceptedCheckOut = null;
+            List<Booking> booked = new ArrayList<>(group.size());
+            for (PendingBooking pending : group) {
+                BookingRequest request = pending.request();
+                try {
+                    if (lastAcceptedCheckOut != null && !request.getCheckIn().isAfter(lastAcceptedCheckOut)) {
+                        throw new RoomNotAvailableException(
+                                request.getRoomNumber(), request.getCheckIn(), request.getCheckOut());
+                    }
+                    Booking booking = reserveAndCharge(request, room);
+                    lastAcceptedCheckOut = request.getCheckOut();
+                    booked.add(booking);
+                    results[pending.index()] = BookingResult.booked(request, booking);
+                } catch (BookingException e) {
+                    metrics.rejected(e);
+                    results[pending.index()] = BookingResult.rejected(request, e);
+                }
+            }
+            if (!booked.isEmpty()) {
+                notifyListeners(listeners, listener -> listener.onBookingsCreated(booked));
+            }
+        } finally {
+            endChange(listeners);
+            for (ReadWriteLock balanceLock : userBalanceLocks) {
+                balanceLock.readLock().unlock();
+            }
+            roomLock.unlock();
+        }
+    }
+
+    /**
+     * Total cost of a stay. No balance can cover a cost past the largest amount.
+     */
+    private long totalCost(long pricePerNight, int numberOfNights) {
+        try {
+            return bookingService.calculateTotalCost(pricePerNight, numberOfNights);
+        } catch (IllegalArgumentException e) {
+            throw InsufficientBalanceException.costOverflow(pricePerNight, numberOfNights);
+        }
+    }
+
+    /**
+     * Total cost of new dates for a booking, priced by the stay pricing when set
+     */
+    private long totalCost(Booking booking, LocalDate checkIn, LocalDate checkOut) {
+        int numberOfNights = bookingService.calculateNumberOfNights(checkIn, checkOut);
+        StayPricing stayPricing = pricing;
+        if (stayPricing == null) {
+            return totalCost(booking.getPricePerNight(), numberOfNights);
+        }
+        try {
+            return stayPricing.totalCost(booking, checkIn, checkOut);
+        } catch (IllegalArgumentException e) {
+            throw InsufficientBalanceException.costOverflow(booking.getPricePerNight(), numberOfNights);
+        }
+    }
 
-        // Validate balance
-        if (!userService.hasSufficientBalance(request.getUserId(), totalCost)) {
-            throw new InsufficientBalanceException(totalCost, user.getBalance());
+    /**
+     * Total cost of a new stay in a room, priced by the stay pricing when set
+     */
+    private long totalCost(Room room, BookingRequest request, int numberOfNights) {
+        StayPricing stayPricing = pricing;
+        if (stayPricing == null) {
+            return totalCost(room.getRoomPricePerNight(), numberOfNights);
+        }
+        try {
+            return stayPricing.totalCost(room, request.getCheckIn(), request.getCheckOut());
+        } catch (IllegalArgumentException e) {
+            throw InsufficientBalanceException.costOverflow(room.getRoomPricePerNight(), numberOfNights);
         }
+    }
+
+    /**
+     * Check-then-act part of bookRoom, must run under the room lock
+     */
+    private Booking reserveAndCharge(BookingRequest request, Room room) {
+        // Calculate cost
+        int numberOfNights = bookingService.calculateNumberOfNights(request.getCheckIn(), request.getCheckOut());
+        long totalCost = totalCost(room, request, numberOfNights);
 
         // Validate room availability
-        if (!bookingService.isRoomAvailable(request.getRoomNumber(), request.getCheckIn(), request.getCheckOut())) {
+        long start = System.nanoTime();
+        boolean available = bookingService.isRoomAvailable(
+                request.getRoomNumber(), request.getCheckIn(), request.getCheckOut());
+        metrics.record(BookingMetrics.Stage.AVAILABILITY, start);
+        if (!available) {
             throw new RoomNotAvailableException(
                     request.getRoomNumber(), request.getCheckIn(), request.getCheckOut());
         }
 
+        // Check and deduct balance in one atomic step
+        start = System.nanoTime();
+        boolean charged = userService.tryDeductBalance(request.getUserId(), totalCost);
+        metrics.record(BookingMetrics.Stage.DEDUCT_BALANCE, start);
+        if (!charged) {
+            // Read again: the balance may have changed since the user was looked up
+            throw new InsufficientBalanceException(totalCost, userService.findUserById(request.getUserId())
+                    .map(User::getBalance)
+                    .orElse(0L));
+        }
+
         BookingCreationData creationData = BookingCreationData.builder()
                 .userId(request.getUserId())
                 .roomNumber(request.getRoomNumber())
@@ -93,26 +631,25 @@ public class HotelServiceImpl implements HotelService {
                 .totalCost(totalCost)
                 .build();
         // Create booking with snapshot data
-        bookingService.createBooking(creationData);
+        start = System.nanoTime();
+        Booking booking = bookingService.createBooking(creationData);
+        metrics.record(BookingMetrics.Stage.CREATE_BOOKING, start);
 
-        // Deduct balance
-        userService.deductBalance(request.getUserId(), totalCost);
-
-        log.info("Booking completed successfully - User: {}, Room:  {}, Total: {}",
-                request.getUserId(), request.getRoomNumber(), totalCost);
+        if (log.isDebugEnabled()) {
+            log.debug("Booking completed successfully - User: {}, Room:  {}, Total: {}",
+                    request.getUserId(), request.getRoomNumber(), totalCost);
+        }
+        return booking;
     }
 
-    @Override
-    public void printAll() {
-        log.info("HotelService.printAll called");
-        roomService.printAllRooms();
-        bookingService.printAllBookings();
-    }
+    /**
+     * Batch request whose dates and user are already validated
+     */
+    private record PendingBooking(int index, BookingRequest request) {
 
-    @Override
-    public void printAllUsers() {
-        log.info("HotelService.printAllUsers called - delegating to UserService");
-        userService.printAllUsers();
+        int roomNumber() {
+            return request.getRoomNumber();
+        }
     }
 
 }
\ No newline at end of file
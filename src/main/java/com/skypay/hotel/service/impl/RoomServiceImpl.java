@@ -1,18 +1,20 @@
 package com.skypay.hotel.service.impl;
 
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
 import com.skypay.hotel.entity.Room;
 import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
+import com.skypay.hotel.report.ReportWriter;
 import com.skypay.hotel.service.RoomService;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementation of RoomService
@@ -22,11 +24,28 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @RequiredArgsConstructor
 public class RoomServiceImpl implements RoomService {
 
-    private final List<Room> rooms = new CopyOnWriteArrayList<>();
+    /**
+     * Rooms by number, kept in creation order
+     */
+    private final ConcurrentIntObjectMap<Room> rooms = new ConcurrentIntObjectMap<>();
 
+    /**
+     * Lists room types and prices for the range availability search, shared with the BookingService
+     */
+    private final RoomCalendar calendar;
+
+    /**
+     * Reused by every report, which holds it while printing
+     */
+    @Getter(AccessLevel.NONE)
+    private final ReportWriter report = new ReportWriter(System.out);
+
+    public RoomServiceImpl() {
+        this(new RoomCalendar(new BookingIntervalIndex()));
+    }
 
     @Override
-    public void setRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+    public void setRoom(int roomNumber, RoomType roomType, long roomPricePerNight) {
         if (roomNumber <= 0) {
             throw new IllegalArgumentException("Room number must be positive: " + roomNumber);
         }
@@ -41,63 +60,91 @@ public class RoomServiceImpl implements RoomService {
                 );
     }
 
+    @Override
+    public void restoreRoom(Room room) {
+        rooms.put(room.getRoomNumber(), room);
+        calendar.registerRoom(room.getRoomNumber(), room.getType(), room.getRoomPricePerNight());
+        log.debug("Room restored - Number: {}", room.getRoomNumber());
+    }
+
     @Override
     public Optional<Room> findRoomByNumber(int roomNumber) {
-        return rooms.stream()
-                .filter(r -> r.getRoomNumber().equals(roomNumber))
-                .findFirst();
+        return Optional.ofNullable(rooms.get(roomNumber));
     }
 
     @Override
     public List<Room> getAllRooms() {
-        return new ArrayList<>(rooms);
+        return rooms.values();
     }
 
     @Override
     public void printAllRooms() {
+        printAllRooms(System.out);
+    }
+
+    @Override
+    public void printAllRooms(Appendable out) {
         log.info("printAllRooms called");
 
-        String separator = "=".repeat(80);
-        System.out.println("\n" + separator);
-        System.out.println("ROOMS (Latest to Oldest)");
-        System.out.println(separator);
+        synchronized (report) {
+            report.reset(out).header("ROOMS (Latest to Oldest)");
 
-        rooms.stream()
-                .sorted(Comparator.comparing(Room::getCreatedDate,
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .forEach(this::printRoom);
+            // Creation order is insertion order: no sort needed
+            rooms.forEachDescending(room -> printRoom(report, room));
 
-        System.out.println(separator + "\n");
+            report.footer().flush();
+        }
     }
 
     // ========== Private Helper Methods ==========
 
-    private void createRoom(int roomNumber, RoomType roomType, int roomPricePerNight) {
+    private void createRoom(int roomNumber, RoomType roomType, long roomPricePerNight) {
         Room room = Room.builder()
                 .id(roomNumber)
                 .type(roomType)
                 .roomPricePerNight(roomPricePerNight)
                 .createdDate(LocalDateTime.now())
                 .build();
-        rooms.add(room);
-        log.info("Room created - Number: {}, Type: {}, Price: {}",
+        Room existing = rooms.putIfAbsent(roomNumber, room);
+        if (existing != null) {
+            updateRoom(existing, roomType, roomPricePerNight);
+            return;
+        }
+        calendar.registerRoom(roomNumber, roomType, roomPricePerNight);
+        log.debug("Room created - Number: {}, Type: {}, Price: {}",
                 roomNumber, roomType, roomPricePerNight);
     }
 
-    private void updateRoom(Room room, RoomType roomType, int roomPricePerNight) {
-        room.setType(roomType);
-        room.setRoomPricePerNight(roomPricePerNight);
-        room.setLastModifiedDate(LocalDateTime.now());
-        log.info("Room updated - Number: {}, Type: {}, Price: {}",
-                room.getRoomNumber(), roomType, roomPricePerNight);
+    /**
+     * Publishes a new version of the room, retrying if another update won the race.
+     * Readers never lock and never see a type and a price from different versions.
+     */
+    private void updateRoom(Room room, RoomType roomType, long roomPricePerNight) {
+        int roomNumber = room.getRoomNumber();
+        Room current = room;
+        Room updated;
+        do {
+            updated = current.toBuilder()
+                    .type(roomType)
+                    .roomPricePerNight(roomPricePerNight)
+                    .lastModifiedDate(LocalDateTime.now())
+                    .version(current.getVersion() + 1)
+                    .build();
+        } while (!rooms.replace(roomNumber, current, updated) && (current = rooms.get(roomNumber)) != null);
+        calendar.registerRoom(roomNumber, roomType, roomPricePerNight);
+        log.debug("Room updated - Number: {}, Type: {}, Price: {}, Version: {}",
+                roomNumber, roomType, roomPricePerNight, updated.getVersion());
     }
 
-    private void printRoom(Room room) {
-        System.out.printf("Room %-5d | Type: %-10s | Price/night: %-6d | Created: %s%n",
-                room.getRoomNumber(),
-                room.getType(),
-                room.getRoomPricePerNight(),
-                room.getCreatedDate());
+    /**
+     * Writes one row of the rooms report, shared with the sharded service
+     */
+    static void printRoom(ReportWriter report, Room room) {
+        report.append("Room ").appendPadded(room.getRoomNumber(), 5)
+                .append(" | Type: ").appendPaddedText(room.getType(), 10)
+                .append(" | Price/night: ").appendPadded(room.getRoomPricePerNight(), 6)
+                .append(" | Created: ").appendText(room.getCreatedDate())
+                .newLine();
     }
 
 }
\ No newline at end of file
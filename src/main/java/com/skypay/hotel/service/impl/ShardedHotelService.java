@@ -0,0 +1,403 @@
+package com.skypay.hotel.service.impl;
+
+import com.skypay.hotel.concurrent.StripedReadWriteLocks;
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.event.HotelEventListener;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.index.BookingIntervalIndex;
+import com.skypay.hotel.index.RoomCalendar;
+import com.skypay.hotel.metrics.BookingMetrics;
+import com.skypay.hotel.report.ReportWriter;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.HotelService;
+import com.skypay.hotel.service.UserService;
+import com.skypay.hotel.store.BookingStoreType;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * HotelService partitioned by room range, for several properties or large hotels
+ * <p>
+ * Rooms and their bookings live in independent shards, each a {@link HotelServiceImpl}
+ * with its own room, booking and occupancy structures. A room belongs to the shard
+ * (roomNumber / roomRange) % shards, so one hotel numbered in its own range of rooms
+ * (1000-1999, 2000-2999...) stays in one shard.
+ * <p>
+ * Every change of a shard runs on the single writer thread of that shard: bookings of
+ * different shards proceed in parallel and share no lock, and the room locks of a
+ * shard are never contended. Users are shared by the shards, their balance is debited
+ * with the lock-free compare-and-set of the ledger, and the shards share the balance
+ * locks that order a balance reset against the charges.
+ * <p>
+ * Booking IDs are interleaved (shard i generates i + 1, i + 1 + shards...), so
+ * cancellations and modifications are routed from the ID alone. Queries over all
+ * rooms (availability search, occupancy, printAll) are scattered to the shards in
+ * parallel; the lists of the shards, each in creation order, are merged into one,
+ * as a single hotel would list them.
+ * <p>
+ * The writer threads are daemon threads, {@link #close()} stops them once their
+ * pending changes are applied.
+ */
+@Slf4j
+public class ShardedHotelService implements HotelService, Closeable {
+
+    private static final Comparator<LocalDateTime> DATE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<Room> ROOM_CREATION =
+            Comparator.comparing(Room::getCreatedDate, DATE_ORDER).thenComparingInt(Room::getRoomNumber);
+    private static final Comparator<Booking> BOOKING_CREATION =
+            Comparator.comparing(Booking::getCreatedDate, DATE_ORDER).thenComparingInt(Booking::getId);
+
+    private final HotelServiceImpl[] shards;
+    private final ExecutorService[] writers;
+    private final int roomRange;
+
+    @Getter
+    private final UserService userService = new UserServiceImpl();
+
+    // Shared by the shards, as the users
+    private final StripedReadWriteLocks balanceLocks = StripedReadWriteLocks.forAvailableProcessors();
+
+    private final List<HotelEventListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Reused by every report, which holds it while printing
+     */
+    private final ReportWriter report = new ReportWriter(System.out);
+
+    /**
+     * @param shardCount       the number of shards, each with its own writer thread
+     * @param roomRange        the number of consecutive room numbers kept together in a shard
+     * @param bookingStoreType where each shard keeps its bookings
+     */
+    public ShardedHotelService(int shardCount, int roomRange, BookingStoreType bookingStoreType) {
+        if (shardCount <= 0 || roomRange <= 0) {
+            throw new IllegalArgumentException(
+                    "Shard count and room range must be positive - Shards: " + shardCount + ", Range: " + roomRange);
+        }
+        this.roomRange = roomRange;
+        this.shards = new HotelServiceImpl[shardCount];
+        this.writers = new ExecutorService[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            RoomCalendar calendar = new RoomCalendar(new BookingIntervalIndex());
+            BookingServiceImpl bookingService =
+                    new BookingServiceImpl(bookingStoreType.create(), userService, calendar);
+            bookingService.interleaveBookingIds(i + 1, shardCount);
+            shards[i] = new HotelServiceImpl(new RoomServiceImpl(calendar), userService, bookingService, balanceLocks);
+            writers[i] = Executors.newSingleThreadExecutor(
+                    Thread.ofPlatform().daemon().name("hotel-shard-" + i).factory());
+        }
+        log.info("Sharded HotelService initialized - Shards: {}, Room range: {}, Booking store: {}",
+                shardCount, roomRange, bookingStoreType);
+    }
+
+    @Override
+    public void setRoom(Room room) {
+        int shard = shardOfRoom(room.getId());
+        await(write(shard, hotel -> {
+            hotel.setRoom(room);
+            return null;
+        }));
+    }
+
+    @Override
+    public void setUser(User user) {
+        Lock balanceLock = balanceLocks.get(user.getId()).writeLock();
+        balanceLock.lock();
+        try {
+            HotelServiceImpl.beforeChange(listeners);
+            userService.setUser(user.getId(), user.getBalance());
+            HotelServiceImpl.notifyListeners(listeners,
+                    listener -> listener.onUserSet(user.getId(), user.getBalance()));
+        } finally {
+            HotelServiceImpl.endChange(listeners);
+            balanceLock.unlock();
+        }
+        HotelServiceImpl.afterChanges(listeners);
+    }
+
+    @Override
+    public Booking bookRoom(BookingRequest request) {
+        HotelServiceImpl.requireComplete(request);
+        return await(write(shardOfRoom(request.getRoomNumber()), hotel -> hotel.bookRoom(request)));
+    }
+
+    @Override
+    public List<BookingResult> bookRooms(List<BookingRequest> requests) {
+        // Split the batch by shard, remembering where each request came from
+        List<List<BookingRequest>> batches = new ArrayList<>(shards.length);
+        List<List<Integer>> positions = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            batches.add(new ArrayList<>());
+            positions.add(new ArrayList<>());
+        }
+        BookingResult[] results = new BookingResult[requests.size()];
+        for (int i = 0; i < requests.size(); i++) {
+            BookingRequest request = requests.get(i);
+            try {
+                // A request without a room has no shard: rejected here, the others still go through
+                HotelServiceImpl.requireComplete(request);
+            } catch (InvalidBookingRequestException e) {
+                shards[0].getMetrics().rejected(e);
+                results[i] = BookingResult.rejected(request, e);
+                continue;
+            }
+            int shard = shardOfRoom(request.getRoomNumber());
+            batches.get(shard).add(request);
+            positions.get(shard).add(i);
+        }
+
+        List<CompletableFuture<List<BookingResult>>> futures = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            List<BookingRequest> batch = batches.get(i);
+            futures.add(batch.isEmpty()
+                    ? CompletableFuture.completedFuture(List.of())
+                    : write(i, hotel -> hotel.bookRooms(batch)));
+        }
+
+        for (int i = 0; i < shards.length; i++) {
+            List<BookingResult> shardResults = await(futures.get(i));
+            List<Integer> shardPositions = positions.get(i);
+            for (int j = 0; j < shardResults.size(); j++) {
+                results[shardPositions.get(j)] = shardResults.get(j);
+            }
+        }
+        return List.of(results);
+    }
+
+    @Override
+    public Booking cancelBooking(int bookingId) {
+        return await(write(shardOfBooking(bookingId), hotel -> hotel.cancelBooking(bookingId)));
+    }
+
+    @Override
+    public Booking modifyBooking(int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        return await(write(shardOfBooking(bookingId), hotel -> hotel.modifyBooking(bookingId, checkIn, checkOut)));
+    }
+
+    @Override
+    public boolean isRoomAvailable(int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        // Reads of a shard are lock-free: no need to queue behind its writes
+        return shards[shardOfRoom(roomNumber)].isRoomAvailable(roomNumber, checkIn, checkOut);
+    }
+
+    @Override
+    public List<Room> findAvailableRooms(RoomType roomType, LocalDate checkIn, LocalDate checkOut, Long maxPrice) {
+        return merge(scatter(hotel -> hotel.findAvailableRooms(roomType, checkIn, checkOut, maxPrice)), ROOM_CREATION);
+    }
+
+    @Override
+    public double getOccupancyRate(LocalDate from, LocalDate to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidDateException(from, to, "La fin de la période doit être après son début");
+        }
+        long bookedNights = 0;
+        long roomCount = 0;
+        for (ShardOccupancy occupancy : scatter(hotel -> occupancyOf(hotel, from, to))) {
+            bookedNights += occupancy.bookedNights();
+            roomCount += occupancy.rooms();
+        }
+        if (roomCount == 0) {
+            return 0;
+        }
+        return (double) bookedNights / (roomCount * shards[0].getBookingService().calculateNumberOfNights(from, to));
+    }
+
+    /**
+     * Registers a listener for the changes applied from now on, in every shard
+     *
+     * @param listener the listener to notify
+     */
+    public void addEventListener(HotelEventListener listener) {
+        listeners.add(listener);
+        for (HotelServiceImpl shard : shards) {
+            shard.addEventListener(listener);
+        }
+    }
+
+    /**
+     * Binds the stage timers and rejection counters of every shard
+     */
+    public void setMetrics(BookingMetrics metrics) {
+        for (HotelServiceImpl shard : shards) {
+            shard.setMetrics(metrics);
+        }
+    }
+
+    /**
+     * @return the shard holding a room
+     */
+    public int shardOfRoom(int roomNumber) {
+        return Math.floorMod(roomNumber / roomRange, shards.length);
+    }
+
+    /**
+     * @return the shard that generated a booking ID
+     */
+    public int shardOfBooking(int bookingId) {
+        return Math.floorMod(bookingId - 1, shards.length);
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public void printAll() {
+        printAll(System.out);
+    }
+
+    /**
+     * Streams the rooms then the bookings of every shard, each from latest to oldest created, to the given output
+     *
+     * @param out the output receiving the reports
+     */
+    public void printAll(Appendable out) {
+        log.info("ShardedHotelService.printAll called");
+        List<Room> rooms = merge(scatter(hotel -> hotel.getRoomService().getAllRooms()), ROOM_CREATION);
+        List<Booking> bookings = merge(scatter(hotel -> hotel.getBookingService().getAllBookings()), BOOKING_CREATION);
+
+        synchronized (report) {
+            report.reset(out).header("ROOMS (Latest to Oldest)");
+            for (int i = rooms.size() - 1; i >= 0; i--) {
+                RoomServiceImpl.printRoom(report, rooms.get(i));
+            }
+            report.footer();
+            report.header("BOOKINGS (Latest to Oldest)");
+            for (int i = bookings.size() - 1; i >= 0; i--) {
+                BookingServiceImpl.printBooking(report, bookings.get(i), userService);
+            }
+            report.footer().flush();
+        }
+    }
+
+    @Override
+    public void printAllUsers() {
+        log.info("ShardedHotelService.printAllUsers called - delegating to UserService");
+        userService.printAllUsers();
+    }
+
+    /**
+     * Stops the shard writers once their pending changes are applied
+     */
+    @Override
+    public void close() {
+        for (ExecutorService writer : writers) {
+            writer.shutdown();
+        }
+        for (ExecutorService writer : writers) {
+            try {
+                if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                    log.warn("Shard writer still running after 10 seconds");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        log.info("Sharded HotelService closed");
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Queues a change on the writer thread of a shard
+     */
+    private <T> CompletableFuture<T> write(int shard, Function<HotelServiceImpl, T> change) {
+        HotelServiceImpl hotel = shards[shard];
+        return CompletableFuture.supplyAsync(() -> change.apply(hotel), writers[shard]);
+    }
+
+    /**
+     * Runs a query on every shard in parallel
+     *
+     * @return the results, in shard order
+     */
+    private <T> List<T> scatter(Function<HotelServiceImpl, T> query) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.length);
+        for (HotelServiceImpl shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard)));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        for (CompletableFuture<T> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    /**
+     * Merges the lists of the shards, each sorted by the given order, into one sorted list: O(n log shards)
+     */
+    private static <T> List<T> merge(List<List<T>> lists, Comparator<? super T> order) {
+        int size = 0;
+        // Cursor of a list: {list, position}, the queue head holds the lowest next element
+        PriorityQueue<int[]> cursors = new PriorityQueue<>(Math.max(1, lists.size()),
+                (a, b) -> order.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int i = 0; i < lists.size(); i++) {
+            size += lists.get(i).size();
+            if (!lists.get(i).isEmpty()) {
+                cursors.add(new int[]{i, 0});
+            }
+        }
+        List<T> merged = new ArrayList<>(size);
+        while (!cursors.isEmpty()) {
+            int[] cursor = cursors.poll();
+            List<T> list = lists.get(cursor[0]);
+            merged.add(list.get(cursor[1]));
+            if (++cursor[1] < list.size()) {
+                cursors.add(cursor);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Waits for a shard result, rethrowing a failure as thrown by the shard
+     */
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static ShardOccupancy occupancyOf(HotelServiceImpl hotel, LocalDate from, LocalDate to) {
+        BookingService bookingService = hotel.getBookingService();
+        long bookedNights = 0;
+        int rooms = 0;
+        for (Room room : hotel.getRoomService().getAllRooms()) {
+            bookedNights += bookingService.countBookedNights(room.getRoomNumber(), from, to);
+            rooms++;
+        }
+        return new ShardOccupancy(bookedNights, rooms);
+    }
+
+    private record ShardOccupancy(long bookedNights, int rooms) {
+    }
+
+}
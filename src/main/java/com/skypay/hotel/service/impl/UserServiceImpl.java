@@ -1,17 +1,18 @@
 package com.skypay.hotel.service.impl;
 
+import com.skypay.hotel.concurrent.ConcurrentIntObjectMap;
 import com.skypay.hotel.entity.User;
+import com.skypay.hotel.ledger.BalanceLedger;
+import com.skypay.hotel.report.ReportWriter;
 import com.skypay.hotel.service.UserService;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implementation of UserService
@@ -21,11 +22,24 @@ import java.util.concurrent.CopyOnWriteArrayList;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
-    private final List<User> users = new CopyOnWriteArrayList<>();
+    /**
+     * Users by ID, kept in creation order
+     */
+    private final ConcurrentIntObjectMap<User> users = new ConcurrentIntObjectMap<>();
 
+    /**
+     * Balances, the User entities only mirror them for display
+     */
+    private final BalanceLedger ledger = new BalanceLedger();
+
+    /**
+     * Reused by every report, which holds it while printing
+     */
+    @Getter(AccessLevel.NONE)
+    private final ReportWriter report = new ReportWriter(System.out);
 
     @Override
-    public void setUser(int userId, int balance) {
+    public void setUser(int userId, long balance) {
         log.debug("setUser called - userId: {}, balance: {}", userId, balance);
 
         if (userId <= 0) {
@@ -42,83 +56,136 @@ public class UserServiceImpl implements UserService {
                 );
     }
 
+    @Override
+    public void restoreUser(User user) {
+        ledger.set(user.getId(), user.getBalance());
+        users.put(user.getId(), user);
+        log.debug("User restored - ID: {}", user.getId());
+    }
+
     @Override
     public Optional<User> findUserById(int userId) {
-        return users.stream()
-                .filter(u -> {
-                    assert u.getId() != null;
-                    return u.getId().equals(userId);
-                })
-                .findFirst();
+        return Optional.ofNullable(users.get(userId));
     }
 
     @Override
     public List<User> getAllUsers() {
-        return new ArrayList<>(users);
+        return users.values();
     }
 
     @Override
     public void printAllUsers() {
+        printAllUsers(System.out);
+    }
+
+    @Override
+    public void printAllUsers(Appendable out) {
         log.info("printAllUsers called");
 
-        String separator = "=".repeat(80);
-        System.out.println("\n" + separator);
-        System.out.println("USERS (Latest to Oldest)");
-        System.out.println(separator);
+        synchronized (report) {
+            report.reset(out).header("USERS (Latest to Oldest)");
 
-        users.stream()
-                .sorted(Comparator.comparing(User::getCreatedDate,
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .forEach(this::printUser);
+            // Creation order is insertion order: no sort needed
+            users.forEachDescending(user -> printUser(report, user));
 
-        System.out.println(separator + "\n");
+            report.footer().flush();
+        }
     }
 
     @Override
-    public boolean hasSufficientBalance(int userId, int amount) {
-        return findUserById(userId)
-                .map(user -> user.getBalance() >= amount)
-                .orElse(false);
+    public boolean hasSufficientBalance(int userId, long amount) {
+        long balance = ledger.balanceOf(userId);
+        return balance != BalanceLedger.NO_ACCOUNT && balance >= amount;
     }
 
     @Override
-    public void deductBalance(int userId, int amount) {
+    public void deductBalance(int userId, long amount) {
         findUserById(userId).ifPresent(user -> {
-            if (user.getBalance() < amount) {
+            if (!tryDeductBalance(userId, amount)) {
                 throw new IllegalArgumentException(
                         String.format("Insufficient balance. Required: %d, Available: %d",
-                                amount, user.getBalance()));
+                                amount, ledger.balanceOf(userId)));
             }
-            user.setBalance(user.getBalance() - amount);
-            user.setLastModifiedDate(LocalDateTime.now());
-            log.info("Balance deducted - User: {}, Amount: {}, New Balance: {}",
-                    userId, amount, user.getBalance());
         });
     }
 
+    @Override
+    public boolean tryDeductBalance(int userId, long amount) {
+        User user = users.get(userId);
+        if (user == null || !ledger.tryDebit(userId, amount)) {
+            return false;
+        }
+        User refreshed = refreshBalance(user);
+        if (log.isDebugEnabled()) {
+            log.debug("Balance deducted - User: {}, Amount: {}, New Balance: {}",
+                    userId, amount, refreshed.getBalance());
+        }
+        return true;
+    }
+
+    @Override
+    public boolean creditBalance(int userId, long amount) {
+        User user = users.get(userId);
+        if (user == null || !ledger.credit(userId, amount)) {
+            return false;
+        }
+        User refreshed = refreshBalance(user);
+        if (log.isDebugEnabled()) {
+            log.debug("Balance credited - User: {}, Amount: {}, New Balance: {}",
+                    userId, amount, refreshed.getBalance());
+        }
+        return true;
+    }
+
     // ========== Private Helper Methods ==========
 
-    private void createUser(int userId, int balance) {
+    private void createUser(int userId, long balance) {
+        ledger.set(userId, balance);
         User user = User.builder()
                 .id(userId)
                 .balance(balance)
                 .createdDate(LocalDateTime.now())
                 .build();
-        users.add(user);
-        log.info("User created - ID: {}, Balance: {}", userId, balance);
+        User existing = users.putIfAbsent(userId, user);
+        if (existing != null) {
+            updateUser(existing, balance);
+            return;
+        }
+        log.debug("User created - ID: {}, Balance: {}", userId, balance);
+    }
+
+    private void updateUser(User user, long balance) {
+        ledger.set(user.getId(), balance);
+        refreshBalance(user);
+        log.debug("User updated - ID: {}, Balance: {}", user.getId(), balance);
     }
 
-    private void updateUser(User user, int balance) {
-        user.setBalance(balance);
-        user.setLastModifiedDate(LocalDateTime.now());
-        log.info("User updated - ID: {}, Balance: {}", user.getId(), balance);
+    /**
+     * Publishes a new version of the user carrying the ledger balance.
+     * The ledger is re-read on every attempt, so the version that wins last
+     * always holds the latest balance, without locking.
+     *
+     * @return the published version
+     */
+    private User refreshBalance(User user) {
+        int userId = user.getId();
+        User current = user;
+        User updated;
+        do {
+            updated = current.toBuilder()
+                    .balance(ledger.balanceOf(userId))
+                    .lastModifiedDate(LocalDateTime.now())
+                    .version(current.getVersion() + 1)
+                    .build();
+        } while (!users.replace(userId, current, updated) && (current = users.get(userId)) != null);
+        return updated;
     }
 
-    private void printUser(User user) {
-        System.out.printf("User %-5d | Balance: %-8d | Created: %s%n",
-                user.getId(),
-                user.getBalance(),
-                user.getCreatedDate());
+    private void printUser(ReportWriter report, User user) {
+        report.append("User ").appendPadded(user.getId(), 5)
+                .append(" | Balance: ").appendPadded(user.getBalance(), 8)
+                .append(" | Created: ").appendText(user.getCreatedDate())
+                .newLine();
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.skypay.hotel.store;
+
+import com.skypay.hotel.entity.Booking;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Base class for stores that keep bookings as rows of primitive fields, in fixed-size blocks.
+ * <p>
+ * Rows are numbered in append order and found by booking ID through a block
+ * index of ints, one entry per ID of the store's sequence: a store given every
+ * n-th ID by {@link #interleaveIds} indexes only those. Writers serialize on a short lock. Appends are published through
+ * a volatile counter. Updates are framed by a sequence counter, odd while an update
+ * is being written, as a seqlock: readers never lock, and read a row again when an
+ * update overlapped the read, so they never see part of an update.
+ */
+abstract class AbstractBookingStore implements BookingStore {
+
+    static final int BLOCK_SHIFT = 12;
+    static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    static final long NULL_TIMESTAMP = Long.MIN_VALUE;
+
+    /**
+     * Rows scanned between two checks of the update sequence
+     */
+    static final int SCAN_CHUNK = 256;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private static final VarHandle ID_BLOCKS = MethodHandles.arrayElementVarHandle(int[][].class);
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Number of rows visible to readers
+     */
+    private volatile int published;
+
+    /**
+     * Update sequence: bumped before and after each update, odd while one is being written
+     */
+    private volatile int changes;
+
+    /**
+     * Row + 1 by position of the booking ID in the ID sequence, 0 when absent
+     */
+    private volatile int[][] rowsById = new int[16][];
+
+    /**
+     * ID sequence: firstId, firstId + idStep... Set before the first append.
+     */
+    private int firstId;
+    private int idStep = 1;
+
+    @Override
+    public void interleaveIds(int first, int step) {
+        if (first < 0 || step <= 0) {
+            throw new IllegalArgumentException("Invalid booking ID sequence - First: " + first + ", Step: " + step);
+        }
+        writeLock.lock();
+        try {
+            if (published > 0) {
+                throw new IllegalStateException("Booking IDs can only be interleaved before the first append");
+            }
+            firstId = first;
+            idStep = step;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void append(Booking booking) {
+        writeLock.lock();
+        try {
+            int row = published;
+            allocateBlock(row >>> BLOCK_SHIFT);
+            writeFixed(row, booking);
+            writeChanging(row, booking);
+            int position = positionOf(booking.getId());
+            indexSlotFor(booking.getId(), position)[position & BLOCK_MASK] = row + 1;
+            published = row + 1;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public void update(Booking booking) {
+        writeLock.lock();
+        try {
+            int row = rowOf(booking.getId());
+            if (row < 0) {
+                throw new IllegalArgumentException("Unknown booking: " + booking.getId());
+            }
+            changes++;
+            // The odd sequence is visible before any field of the update
+            VarHandle.storeStoreFence();
+            writeChanging(row, booking);
+            changes++;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Booking> findById(int bookingId) {
+        int row = rowOf(bookingId);
+        return row < 0 ? Optional.empty() : Optional.of(readWhole(row));
+    }
+
+    @Override
+    public int size() {
+        return published;
+    }
+
+    @Override
+    public List<Booking> toList() {
+        int size = published;
+        List<Booking> snapshot = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            snapshot.add(readWhole(row));
+        }
+        return snapshot;
+    }
+
+    @Override
+    public void forEachDescending(Consumer<? super Booking> action) {
+        for (int row = published - 1; row >= 0; row--) {
+            action.accept(readWhole(row));
+        }
+    }
+
+    @Override
+    public void scan(int fromRow, int toRow, BookingRowVisitor visitor) {
+        int end = Math.min(toRow, published);
+        if (fromRow < 0 || fromRow >= end) {
+            return;
+        }
+        // Chunks are buffered, and scanned again when an update overlapped them
+        ScanBuffer buffer = new ScanBuffer();
+        for (int row = fromRow; row < end; row += SCAN_CHUNK) {
+            int chunkEnd = Math.min(end, row + SCAN_CHUNK);
+            int sequence;
+            do {
+                sequence = stableChanges();
+                buffer.size = 0;
+                scanRows(row, chunkEnd, buffer);
+            } while (!unchangedSince(sequence));
+            buffer.replay(visitor);
+        }
+    }
+
+    /**
+     * Makes room for a block of rows. Called under the write lock.
+     *
+     * @param block the block number
+     */
+    protected abstract void allocateBlock(int block);
+
+    /**
+     * Writes the fields set once, at creation: IDs, room snapshot and creation date
+     */
+    protected abstract void writeFixed(int row, Booking booking);
+
+    /**
+     * Writes the fields {@link #update} changes
+     */
+    protected abstract void writeChanging(int row, Booking booking);
+
+    /**
+     * Materializes a published row
+     */
+    protected abstract Booking read(int row);
+
+    /**
+     * Visits published rows without materializing them
+     */
+    protected abstract void scanRows(int fromRow, int toRow, BookingRowVisitor visitor);
+
+    protected static long toEpochNanos(LocalDateTime timestamp) {
+        return timestamp == null
+                ? NULL_TIMESTAMP
+                : timestamp.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + timestamp.getNano();
+    }
+
+    protected static LocalDateTime fromEpochNanos(long epochNanos) {
+        return epochNanos == NULL_TIMESTAMP
+                ? null
+                : LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    /**
+     * Reads a row with no update written in the middle of the read
+     */
+    private Booking readWhole(int row) {
+        Booking booking;
+        int sequence;
+        do {
+            sequence = stableChanges();
+            booking = read(row);
+        } while (!unchangedSince(sequence));
+        return booking;
+    }
+
+    /**
+     * Waits out an update being written. The volatile read makes the completed updates visible.
+     *
+     * @return the update sequence, even
+     */
+    private int stableChanges() {
+        int sequence = changes;
+        while ((sequence & 1) != 0) {
+            Thread.onSpinWait();
+            sequence = changes;
+        }
+        return sequence;
+    }
+
+    /**
+     * @return true when no update started since the sequence was read, so the rows read meanwhile are whole
+     */
+    private boolean unchangedSince(int sequence) {
+        // The row reads complete before the sequence is read again
+        VarHandle.acquireFence();
+        return changes == sequence;
+    }
+
+    private int rowOf(int bookingId) {
+        int position = positionOf(bookingId);
+        int[][] directory = rowsById;
+        int block = position >>> BLOCK_SHIFT;
+        if (position < 0 || block >= directory.length) {
+            return -1;
+        }
+        int[] ids = (int[]) ID_BLOCKS.getAcquire(directory, block);
+        if (ids == null) {
+            return -1;
+        }
+        int row = ids[position & BLOCK_MASK] - 1;
+        return row < published ? row : -1;
+    }
+
+    /**
+     * @return the rank of the booking ID in the store's ID sequence, -1 when outside of it
+     */
+    private int positionOf(int bookingId) {
+        int offset = bookingId - firstId;
+        return offset < 0 || offset % idStep != 0 ? -1 : offset / idStep;
+    }
+
+    /**
+     * Under the write lock
+     */
+    private int[] indexSlotFor(int bookingId, int position) {
+        if (position < 0) {
+            throw new IllegalArgumentException("Booking ID outside of the store's ID sequence - ID: " + bookingId
+                    + ", First: " + firstId + ", Step: " + idStep);
+        }
+        int block = position >>> BLOCK_SHIFT;
+        int[][] directory = rowsById;
+        if (block >= directory.length) {
+            directory = Arrays.copyOf(directory, Math.max(directory.length << 1, block + 1));
+        }
+        int[] ids = directory[block];
+        if (ids == null) {
+            ids = new int[BLOCK_SIZE];
+            ID_BLOCKS.setRelease(directory, block, ids);
+        }
+        rowsById = directory;
+        return ids;
+    }
+
+    /**
+     * Rows of a scan chunk, held until the chunk is known to be whole
+     */
+    private static final class ScanBuffer implements BookingRowVisitor {
+
+        private final int[] roomNumber = new int[SCAN_CHUNK];
+        private final int[] roomType = new int[SCAN_CHUNK];
+        private final int[] status = new int[SCAN_CHUNK];
+        private final int[] checkIn = new int[SCAN_CHUNK];
+        private final int[] checkOut = new int[SCAN_CHUNK];
+        private final int[] numberOfNights = new int[SCAN_CHUNK];
+        private final long[] totalCost = new long[SCAN_CHUNK];
+        private int size;
+
+        @Override
+        public void visit(int roomNumber, int roomType, int status, int checkIn, int checkOut,
+                          int numberOfNights, long totalCost) {
+            this.roomNumber[size] = roomNumber;
+            this.roomType[size] = roomType;
+            this.status[size] = status;
+            this.checkIn[size] = checkIn;
+            this.checkOut[size] = checkOut;
+            this.numberOfNights[size] = numberOfNights;
+            this.totalCost[size] = totalCost;
+            size++;
+        }
+
+        void replay(BookingRowVisitor visitor) {
+            for (int i = 0; i < size; i++) {
+                visitor.visit(roomNumber[i], roomType[i], status[i], checkIn[i], checkOut[i],
+                        numberOfNights[i], totalCost[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.skypay.hotel.store;
+
+/**
+ * Receives the fields of a stored booking row used by aggregations, without a Booking being created
+ */
+@FunctionalInterface
+public interface BookingRowVisitor {
+
+    /**
+     * @param roomNumber     the booked room
+     * @param roomType       the RoomType ordinal of the snapshot, -1 if unknown
+     * @param status         the BookingStatus ordinal
+     * @param checkIn        the check-in date, in epoch days
+     * @param checkOut       the check-out date, in epoch days
+     * @param numberOfNights the number of nights
+     * @param totalCost      the total cost
+     */
+    void visit(int roomNumber, int roomType, int status, int checkIn, int checkOut, int numberOfNights, long totalCost);
+
+}
@@ -0,0 +1,73 @@
+package com.skypay.hotel.store;
+
+import com.skypay.hotel.entity.Booking;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Storage of the booking history.
+ * Implementations may keep bookings in any layout: the {@link Booking}s they
+ * return are copies, and changes to a copy are kept only through {@link #update}.
+ */
+public interface BookingStore {
+
+    /**
+     * Tells the store its booking IDs are first, first + step, first + 2 * step...
+     * so that it indexes only those. Must be called before the first append.
+     *
+     * @param first the first booking ID
+     * @param step  the gap between two booking IDs
+     */
+    void interleaveIds(int first, int step);
+
+    /**
+     * Stores a new booking
+     *
+     * @param booking the booking, with its ID
+     */
+    void append(Booking booking);
+
+    /**
+     * Writes back the fields a booking can change after creation:
+     * status, dates, number of nights, total cost and modification date
+     *
+     * @param booking the changed booking
+     */
+    void update(Booking booking);
+
+    /**
+     * Finds a booking by ID
+     *
+     * @param bookingId the booking ID
+     * @return Optional containing a copy of the booking if found
+     */
+    Optional<Booking> findById(int bookingId);
+
+    /**
+     * @return the number of stored bookings
+     */
+    int size();
+
+    /**
+     * Copies of all bookings in append order
+     */
+    List<Booking> toList();
+
+    /**
+     * Visits copies of the bookings from the latest appended to the oldest
+     */
+    void forEachDescending(Consumer<? super Booking> action);
+
+    /**
+     * Visits the rows [fromRow, toRow) in append order, reading the columns in place.
+     * Rows past {@link #size()} are not visited. Disjoint ranges may be scanned in parallel.
+     *
+     * @param fromRow the first row, included
+     * @param toRow   the last row, excluded
+     * @param visitor receives the fields of each row
+     */
+    void scan(int fromRow, int toRow, BookingRowVisitor visitor);
+
+}
@@ -0,0 +1,33 @@
+package com.skypay.hotel.store;
+
+/**
+ * Available booking store layouts (hotel.booking-store)
+ */
+public enum BookingStoreType {
+
+    /**
+     * Primitive columns on the heap
+     */
+    COLUMNAR {
+        @Override
+        public BookingStore create() {
+            return new ColumnarBookingStore();
+        }
+    },
+
+    /**
+     * Fixed-width records in direct memory, outside the heap
+     */
+    OFF_HEAP {
+        @Override
+        public BookingStore create() {
+            return new OffHeapBookingStore();
+        }
+    };
+
+    /**
+     * @return a new empty store of this type
+     */
+    public abstract BookingStore create();
+
+}
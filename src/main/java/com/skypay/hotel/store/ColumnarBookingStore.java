@@ -0,0 +1,124 @@
+package com.skypay.hotel.store;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Booking store laid out as parallel primitive columns, in fixed-size blocks.
+ * <p>
+ * A booking takes 62 bytes: six ints for the IDs, the dates as epoch days and the
+ * number of nights, four longs for the two amounts and the audit dates as epoch
+ * nanoseconds, a byte each for the room type and the status, plus its 4-byte entry
+ * in the ID index. 10 million bookings fit in about 620 MB, with no object per
+ * booking for the GC to trace. The audit authors are never set by this
+ * application and are not stored.
+ */
+public class ColumnarBookingStore extends AbstractBookingStore {
+
+    private static final VarHandle BLOCKS = MethodHandles.arrayElementVarHandle(Rows[].class);
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private volatile Rows[] blocks = new Rows[16];
+
+    @Override
+    protected void allocateBlock(int block) {
+        Rows[] directory = blocks;
+        if (block >= directory.length) {
+            // The block directory is the only thing ever copied
+            directory = Arrays.copyOf(directory, Math.max(directory.length << 1, block + 1));
+        }
+        if (directory[block] == null) {
+            BLOCKS.setRelease(directory, block, new Rows());
+        }
+        blocks = directory;
+    }
+
+    @Override
+    protected void writeFixed(int row, Booking booking) {
+        Rows rows = blocks[row >>> BLOCK_SHIFT];
+        int slot = row & BLOCK_MASK;
+        rows.id[slot] = booking.getId();
+        rows.userId[slot] = booking.getUserId();
+        rows.roomNumber[slot] = booking.getRoomNumber();
+        rows.roomType[slot] = booking.getRoomType() == null ? -1 : (byte) booking.getRoomType().ordinal();
+        rows.pricePerNight[slot] = booking.getPricePerNight();
+        rows.createdDate[slot] = toEpochNanos(booking.getCreatedDate());
+    }
+
+    @Override
+    protected void writeChanging(int row, Booking booking) {
+        Rows rows = blocks[row >>> BLOCK_SHIFT];
+        int slot = row & BLOCK_MASK;
+        rows.checkIn[slot] = (int) booking.getCheckIn().toEpochDay();
+        rows.checkOut[slot] = (int) booking.getCheckOut().toEpochDay();
+        rows.numberOfNights[slot] = booking.getNumberOfNights();
+        rows.totalCost[slot] = booking.getTotalCost();
+        rows.status[slot] = (byte) booking.getStatus().ordinal();
+        rows.lastModifiedDate[slot] = toEpochNanos(booking.getLastModifiedDate());
+    }
+
+    @Override
+    protected Booking read(int row) {
+        Rows rows = (Rows) BLOCKS.getAcquire(blocks, row >>> BLOCK_SHIFT);
+        int slot = row & BLOCK_MASK;
+        byte roomType = rows.roomType[slot];
+        return Booking.builder()
+                .id(rows.id[slot])
+                .userId(rows.userId[slot])
+                .roomNumber(rows.roomNumber[slot])
+                .roomType(roomType < 0 ? null : ROOM_TYPES[roomType])
+                .pricePerNight(rows.pricePerNight[slot])
+                .checkIn(LocalDate.ofEpochDay(rows.checkIn[slot]))
+                .checkOut(LocalDate.ofEpochDay(rows.checkOut[slot]))
+                .numberOfNights(rows.numberOfNights[slot])
+                .totalCost(rows.totalCost[slot])
+                .status(STATUSES[rows.status[slot]])
+                .createdDate(fromEpochNanos(rows.createdDate[slot]))
+                .lastModifiedDate(fromEpochNanos(rows.lastModifiedDate[slot]))
+                .build();
+    }
+
+    @Override
+    protected void scanRows(int fromRow, int toRow, BookingRowVisitor visitor) {
+        Rows[] directory = blocks;
+        int row = fromRow;
+        while (row < toRow) {
+            Rows rows = (Rows) BLOCKS.getAcquire(directory, row >>> BLOCK_SHIFT);
+            int first = row & BLOCK_MASK;
+            int end = first + Math.min(toRow - row, BLOCK_SIZE - first);
+            // Sequential reads of a few columns of the block
+            for (int slot = first; slot < end; slot++) {
+                visitor.visit(rows.roomNumber[slot], rows.roomType[slot], rows.status[slot],
+                        rows.checkIn[slot], rows.checkOut[slot], rows.numberOfNights[slot], rows.totalCost[slot]);
+            }
+            row += end - first;
+        }
+    }
+
+    /**
+     * One block of rows, one array per column
+     */
+    private static final class Rows {
+        final int[] id = new int[BLOCK_SIZE];
+        final int[] userId = new int[BLOCK_SIZE];
+        final int[] roomNumber = new int[BLOCK_SIZE];
+        final byte[] roomType = new byte[BLOCK_SIZE];
+        final long[] pricePerNight = new long[BLOCK_SIZE];
+        final int[] checkIn = new int[BLOCK_SIZE];
+        final int[] checkOut = new int[BLOCK_SIZE];
+        final int[] numberOfNights = new int[BLOCK_SIZE];
+        final long[] totalCost = new long[BLOCK_SIZE];
+        final byte[] status = new byte[BLOCK_SIZE];
+        final long[] createdDate = new long[BLOCK_SIZE];
+        final long[] lastModifiedDate = new long[BLOCK_SIZE];
+    }
+
+}
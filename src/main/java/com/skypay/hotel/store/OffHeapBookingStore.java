@@ -0,0 +1,130 @@
+package com.skypay.hotel.store;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Booking store keeping each booking as a fixed-width record in direct memory.
+ * <p>
+ * Records live outside the Java heap, in direct buffers of {@value #BLOCK_BYTES}
+ * bytes: a history of years takes no heap beyond 4 bytes of ID index per booking,
+ * and the GC never scans it. Direct memory is capped by -XX:MaxDirectMemorySize,
+ * which defaults to the maximum heap size. A block is freed once the store is
+ * unreachable.
+ * <p>
+ * Record layout, in native byte order:
+ * <pre>
+ *  0 id | 4 userId | 8 roomNumber | 12 checkIn | 16 checkOut | 20 numberOfNights
+ * 24 pricePerNight | 32 totalCost | 40 createdDate | 48 lastModifiedDate
+ * 56 roomType | 57 status | 58 padding to 64
+ * </pre>
+ * Dates are epoch days, timestamps are epoch nanoseconds (UTC).
+ */
+public class OffHeapBookingStore extends AbstractBookingStore {
+
+    static final int RECORD_BYTES = 64;
+    private static final int BLOCK_BYTES = RECORD_BYTES * BLOCK_SIZE;
+
+    private static final int ID = 0;
+    private static final int USER_ID = 4;
+    private static final int ROOM_NUMBER = 8;
+    private static final int CHECK_IN = 12;
+    private static final int CHECK_OUT = 16;
+    private static final int NUMBER_OF_NIGHTS = 20;
+    private static final int PRICE_PER_NIGHT = 24;
+    private static final int TOTAL_COST = 32;
+    private static final int CREATED_DATE = 40;
+    private static final int LAST_MODIFIED_DATE = 48;
+    private static final int ROOM_TYPE = 56;
+    private static final int STATUS = 57;
+
+    private static final VarHandle BLOCKS = MethodHandles.arrayElementVarHandle(ByteBuffer[].class);
+
+    private static final RoomType[] ROOM_TYPES = RoomType.values();
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private volatile ByteBuffer[] blocks = new ByteBuffer[16];
+
+    @Override
+    protected void allocateBlock(int block) {
+        ByteBuffer[] directory = blocks;
+        if (block >= directory.length) {
+            directory = Arrays.copyOf(directory, Math.max(directory.length << 1, block + 1));
+        }
+        if (directory[block] == null) {
+            BLOCKS.setRelease(directory, block, ByteBuffer.allocateDirect(BLOCK_BYTES).order(ByteOrder.nativeOrder()));
+        }
+        blocks = directory;
+    }
+
+    @Override
+    protected void writeFixed(int row, Booking booking) {
+        ByteBuffer block = blocks[row >>> BLOCK_SHIFT];
+        int record = (row & BLOCK_MASK) * RECORD_BYTES;
+        block.putInt(record + ID, booking.getId());
+        block.putInt(record + USER_ID, booking.getUserId());
+        block.putInt(record + ROOM_NUMBER, booking.getRoomNumber());
+        block.putLong(record + PRICE_PER_NIGHT, booking.getPricePerNight());
+        block.putLong(record + CREATED_DATE, toEpochNanos(booking.getCreatedDate()));
+        block.put(record + ROOM_TYPE, booking.getRoomType() == null ? -1 : (byte) booking.getRoomType().ordinal());
+    }
+
+    @Override
+    protected void writeChanging(int row, Booking booking) {
+        ByteBuffer block = blocks[row >>> BLOCK_SHIFT];
+        int record = (row & BLOCK_MASK) * RECORD_BYTES;
+        block.putInt(record + CHECK_IN, (int) booking.getCheckIn().toEpochDay());
+        block.putInt(record + CHECK_OUT, (int) booking.getCheckOut().toEpochDay());
+        block.putInt(record + NUMBER_OF_NIGHTS, booking.getNumberOfNights());
+        block.putLong(record + TOTAL_COST, booking.getTotalCost());
+        block.putLong(record + LAST_MODIFIED_DATE, toEpochNanos(booking.getLastModifiedDate()));
+        block.put(record + STATUS, (byte) booking.getStatus().ordinal());
+    }
+
+    @Override
+    protected Booking read(int row) {
+        ByteBuffer block = (ByteBuffer) BLOCKS.getAcquire(blocks, row >>> BLOCK_SHIFT);
+        int record = (row & BLOCK_MASK) * RECORD_BYTES;
+        byte roomType = block.get(record + ROOM_TYPE);
+        return Booking.builder()
+                .id(block.getInt(record + ID))
+                .userId(block.getInt(record + USER_ID))
+                .roomNumber(block.getInt(record + ROOM_NUMBER))
+                .roomType(roomType < 0 ? null : ROOM_TYPES[roomType])
+                .pricePerNight(block.getLong(record + PRICE_PER_NIGHT))
+                .checkIn(LocalDate.ofEpochDay(block.getInt(record + CHECK_IN)))
+                .checkOut(LocalDate.ofEpochDay(block.getInt(record + CHECK_OUT)))
+                .numberOfNights(block.getInt(record + NUMBER_OF_NIGHTS))
+                .totalCost(block.getLong(record + TOTAL_COST))
+                .status(STATUSES[block.get(record + STATUS)])
+                .createdDate(fromEpochNanos(block.getLong(record + CREATED_DATE)))
+                .lastModifiedDate(fromEpochNanos(block.getLong(record + LAST_MODIFIED_DATE)))
+                .build();
+    }
+
+    @Override
+    protected void scanRows(int fromRow, int toRow, BookingRowVisitor visitor) {
+        ByteBuffer[] directory = blocks;
+        int row = fromRow;
+        while (row < toRow) {
+            ByteBuffer block = (ByteBuffer) BLOCKS.getAcquire(directory, row >>> BLOCK_SHIFT);
+            int first = row & BLOCK_MASK;
+            int end = first + Math.min(toRow - row, BLOCK_SIZE - first);
+            for (int record = first * RECORD_BYTES; record < end * RECORD_BYTES; record += RECORD_BYTES) {
+                visitor.visit(block.getInt(record + ROOM_NUMBER), block.get(record + ROOM_TYPE),
+                        block.get(record + STATUS), block.getInt(record + CHECK_IN), block.getInt(record + CHECK_OUT),
+                        block.getInt(record + NUMBER_OF_NIGHTS), block.getLong(record + TOTAL_COST));
+            }
+            row += end - first;
+        }
+    }
+
+}
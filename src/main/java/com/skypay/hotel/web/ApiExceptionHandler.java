@@ -0,0 +1,48 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.exception.BookingCancelledException;
+import com.skypay.hotel.exception.BookingException;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.exception.RoomNotAvailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Maps the booking exceptions to RFC 7807 problem responses
+ */
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler(BookingException.class)
+    public ProblemDetail handleBookingException(BookingException e) {
+        HttpStatus status = switch (e) {
+            case EntityNotFoundException notFound -> HttpStatus.NOT_FOUND;
+            case RoomNotAvailableException notAvailable -> HttpStatus.CONFLICT;
+            case BookingCancelledException cancelled -> HttpStatus.CONFLICT;
+            case InsufficientBalanceException insufficientBalance -> HttpStatus.UNPROCESSABLE_ENTITY;
+            case InvalidDateException invalidDate -> HttpStatus.BAD_REQUEST;
+            case InvalidBookingRequestException invalidRequest -> HttpStatus.BAD_REQUEST;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        return problem(status, e);
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return problem(HttpStatus.BAD_REQUEST, e);
+    }
+
+    // ========== Private Helper Methods ==========
+
+    private static ProblemDetail problem(HttpStatus status, RuntimeException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, e.getMessage());
+        problem.setTitle(e.getClass().getSimpleName());
+        return problem;
+    }
+
+}
@@ -0,0 +1,47 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.dto.AvailabilityResponse;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.service.HotelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final HotelService hotelService;
+
+    @GetMapping("/{roomNumber}")
+    public AvailabilityResponse isRoomAvailable(@PathVariable int roomNumber,
+                                                @RequestParam LocalDate checkIn,
+                                                @RequestParam LocalDate checkOut) {
+        return AvailabilityResponse.builder()
+                .roomNumber(roomNumber)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .available(hotelService.isRoomAvailable(roomNumber, checkIn, checkOut))
+                .build();
+    }
+
+    /**
+     * Rooms free for the whole period, optionally filtered by type and price per night
+     */
+    @GetMapping
+    public List<Room> findAvailableRooms(@RequestParam(required = false) RoomType type,
+                                         @RequestParam LocalDate checkIn,
+                                         @RequestParam LocalDate checkOut,
+                                         @RequestParam(required = false) Long maxPrice) {
+        return hotelService.findAvailableRooms(type, checkIn, checkOut, maxPrice);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.dto.BookingDatesRequest;
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.service.BookingService;
+import com.skypay.hotel.service.HotelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+
+    private final HotelService hotelService;
+    private final BookingService bookingService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Booking bookRoom(@RequestBody BookingRequest request) {
+        return hotelService.bookRoom(request);
+    }
+
+    /**
+     * Books a batch, a rejected request does not fail the others
+     */
+    @PostMapping("/batch")
+    public List<BookingResult> bookRooms(@RequestBody List<BookingRequest> requests) {
+        return hotelService.bookRooms(requests);
+    }
+
+    /**
+     * All bookings in creation order
+     */
+    @GetMapping
+    public List<Booking> getAllBookings() {
+        return bookingService.getAllBookings();
+    }
+
+    @GetMapping("/{bookingId}")
+    public Booking getBooking(@PathVariable int bookingId) {
+        return bookingService.findBookingById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking", bookingId));
+    }
+
+    /**
+     * Cancels a booking and refunds the user
+     */
+    @DeleteMapping("/{bookingId}")
+    public Booking cancelBooking(@PathVariable int bookingId) {
+        return hotelService.cancelBooking(bookingId);
+    }
+
+    /**
+     * Moves a booking to new dates, charging or refunding the difference
+     */
+    @PatchMapping("/{bookingId}")
+    public Booking modifyBooking(@PathVariable int bookingId, @RequestBody BookingDatesRequest request) {
+        return hotelService.modifyBooking(bookingId, request.getCheckIn(), request.getCheckOut());
+    }
+
+}
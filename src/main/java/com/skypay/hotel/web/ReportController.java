@@ -0,0 +1,46 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.query.BookingReadModel;
+import com.skypay.hotel.query.BookingView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dashboards, served by the read model: may lag shortly behind the latest changes
+ */
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final BookingReadModel readModel;
+
+    @GetMapping("/users/{userId}/bookings")
+    public List<BookingView> getUserBookings(@PathVariable int userId) {
+        return readModel.getUserBookings(userId);
+    }
+
+    @GetMapping("/revenue")
+    public Map<RoomType, Long> getRevenueByRoomType() {
+        return readModel.getRevenueByRoomType();
+    }
+
+    /**
+     * Confirmed bookings per check-in date, both bounds included
+     */
+    @GetMapping("/check-ins")
+    public Map<LocalDate, Integer> getBookingsByCheckIn(@RequestParam LocalDate from,
+                                                        @RequestParam LocalDate to) {
+        return readModel.getBookingsByCheckIn(from, to);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.dto.RoomRequest;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.service.HotelService;
+import com.skypay.hotel.service.RoomService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rooms")
+@RequiredArgsConstructor
+public class RoomController {
+
+    private final HotelService hotelService;
+    private final RoomService roomService;
+
+    /**
+     * Creates or updates a room, existing bookings keep their snapshot
+     */
+    @PutMapping("/{roomNumber}")
+    public Room setRoom(@PathVariable int roomNumber, @RequestBody RoomRequest request) {
+        if (request.getPricePerNight() == null) {
+            throw new IllegalArgumentException("Room price per night is required");
+        }
+        hotelService.setRoom(Room.builder()
+                .id(roomNumber)
+                .type(request.getType())
+                .roomPricePerNight(request.getPricePerNight())
+                .build());
+        return getRoom(roomNumber);
+    }
+
+    @GetMapping("/{roomNumber}")
+    public Room getRoom(@PathVariable int roomNumber) {
+        return roomService.findRoomByNumber(roomNumber)
+                .orElseThrow(() -> new EntityNotFoundException("Room", roomNumber));
+    }
+
+    /**
+     * All rooms in creation order
+     */
+    @GetMapping
+    public List<Room> getAllRooms() {
+        return roomService.getAllRooms();
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.skypay.hotel.web;
+
+import com.skypay.hotel.dto.UserRequest;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.service.HotelService;
+import com.skypay.hotel.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final HotelService hotelService;
+    private final UserService userService;
+
+    /**
+     * Creates a user or resets its balance
+     */
+    @PutMapping("/{userId}")
+    public User setUser(@PathVariable int userId, @RequestBody UserRequest request) {
+        if (request.getBalance() == null) {
+            throw new IllegalArgumentException("User balance is required");
+        }
+        hotelService.setUser(User.builder()
+                .id(userId)
+                .balance(request.getBalance())
+                .build());
+        return getUser(userId);
+    }
+
+    @GetMapping("/{userId}")
+    public User getUser(@PathVariable int userId) {
+        return userService.findUserById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User", userId));
+    }
+
+    /**
+     * All users in creation order
+     */
+    @GetMapping
+    public List<User> getAllUsers() {
+        return userService.getAllUsers();
+    }
+
+}
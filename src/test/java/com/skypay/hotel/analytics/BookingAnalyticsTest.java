@@ -0,0 +1,99 @@
+package com.skypay.hotel.analytics;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.exception.InvalidDateException;
+import com.skypay.hotel.store.BookingStore;
+import com.skypay.hotel.store.BookingStoreType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BookingAnalytics Tests")
+class BookingAnalyticsTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 7, 1);
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should aggregate a period over several scan tasks")
+    void shouldAggregatePeriodOverSeveralScanTasks(BookingStoreType type) {
+        // Given - more rows than a scan task, one 2-night booking per row checking in on one of 10 days
+        BookingStore store = type.create();
+        int count = 3 * BookingAnalytics.SPLIT_ROWS + 17;
+        for (int i = 0; i < count; i++) {
+            RoomType roomType = i % 2 == 0 ? RoomType.STANDARD : RoomType.SUITE;
+            store.append(booking(i + 1, roomType, FROM.plusDays(i % 10), i % 7 == 0));
+        }
+        long expectedBookings = 0;
+        long standardRevenue = 0;
+        int bookedOnFifth = 0;
+        for (int i = 0; i < count; i++) {
+            if (i % 7 == 0) {
+                continue;
+            }
+            int day = i % 10;
+            if (day < 5) {
+                expectedBookings++;
+                standardRevenue += i % 2 == 0 ? 2000 : 0;
+            }
+            // Night of July 5th (day 4): check-in on day 3 or 4
+            bookedOnFifth += day == 3 || day == 4 ? 1 : 0;
+        }
+
+        // When - July 1st to 5th, the 2nd night of the 5th check-ins falls outside
+        BookingStatistics statistics = new BookingAnalytics(store).statistics(FROM, FROM.plusDays(5));
+
+        // Then
+        assertThat(statistics.bookings()).isEqualTo(expectedBookings);
+        assertThat(statistics.nights()).isEqualTo(2 * expectedBookings);
+        assertThat(statistics.averageLengthOfStay()).isEqualTo(2.0);
+        assertThat(statistics.revenueByRoomType()).containsEntry(RoomType.STANDARD, standardRevenue);
+        assertThat(statistics.revenue()).isEqualTo(statistics.revenueByRoomType().values().stream()
+                .mapToLong(Long::longValue).sum());
+        assertThat(statistics.bookedRooms(FROM.plusDays(4))).isEqualTo(bookedOnFifth);
+        assertThat(statistics.bookedRoomsPerNight()).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("Should count the nights of stays started before the period only as occupancy")
+    void shouldCountNightsOfEarlierStaysAsOccupancyOnly() {
+        // Given
+        BookingStore store = BookingStoreType.COLUMNAR.create();
+        store.append(booking(1, RoomType.JUNIOR, FROM.minusDays(1), false));
+
+        // When
+        BookingStatistics statistics = new BookingAnalytics(store).statistics(FROM, FROM.plusDays(3));
+
+        // Then
+        assertThat(statistics.bookings()).isZero();
+        assertThat(statistics.averageLengthOfStay()).isZero();
+        assertThat(statistics.bookedRoomsPerNight()).containsExactly(1, 0, 0);
+        assertThatThrownBy(() -> statistics.bookedRooms(FROM.plusDays(3))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BookingAnalytics(store).statistics(FROM, FROM))
+                .isInstanceOf(InvalidDateException.class);
+    }
+
+    private static Booking booking(int id, RoomType roomType, LocalDate checkIn, boolean cancelled) {
+        return Booking.builder()
+                .id(id)
+                .userId(1)
+                .roomNumber(100 + id % 50)
+                .roomType(roomType)
+                .pricePerNight(1000)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .numberOfNights(2)
+                .totalCost(2000)
+                .status(cancelled ? BookingStatus.CANCELLED : BookingStatus.CONFIRMED)
+                .build();
+    }
+
+}
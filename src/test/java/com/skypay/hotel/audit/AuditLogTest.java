@@ -0,0 +1,96 @@
+package com.skypay.hotel.audit;
+
+import com.jayway.jsonpath.JsonPath;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuditLog Tests")
+class AuditLogTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    @DisplayName("Should write one JSON line per event, in order")
+    void shouldWriteOneJsonLinePerEventInOrder() throws IOException {
+        // Given
+        Path file = directory.resolve("audit.jsonl");
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        Booking booking = Booking.builder().id(4).userId(2).roomNumber(101).roomType(RoomType.SUITE)
+                .checkIn(checkIn).checkOut(checkIn.plusDays(2)).totalCost(6000).build();
+
+        // When
+        try (AuditLog auditLog = AuditLog.open(file, 16)) {
+            auditLog.onRoomSet(101, RoomType.SUITE, 3000);
+            auditLog.onUserSet(2, 10000);
+            auditLog.onBookingCreated(booking);
+            auditLog.onBookingCancelled(booking);
+        }
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).extracting(line -> JsonPath.<String>read(line, "$.event"))
+                .containsExactly("ROOM_SET", "USER_SET", "BOOKING_CREATED", "BOOKING_CANCELLED");
+        assertThat(JsonPath.<String>read(lines.get(0), "$.roomType")).isEqualTo("SUITE");
+        assertThat(JsonPath.<Integer>read(lines.get(1), "$.balance")).isEqualTo(10000);
+        assertThat(JsonPath.<Integer>read(lines.get(2), "$.bookingId")).isEqualTo(4);
+        assertThat(JsonPath.<String>read(lines.get(2), "$.checkOut")).isEqualTo("2026-07-09");
+        assertThat(JsonPath.<Integer>read(lines.get(3), "$.totalCost")).isEqualTo(6000);
+    }
+
+    @Test
+    @DisplayName("Should write a room set without type as a null type")
+    void shouldWriteRoomSetWithoutTypeAsNullType() throws IOException {
+        // Given
+        Path file = directory.resolve("audit.jsonl");
+
+        // When
+        try (AuditLog auditLog = AuditLog.open(file, 16)) {
+            auditLog.onRoomSet(101, null, 3000);
+        }
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        assertThat(JsonPath.<Object>read(lines.get(0), "$.roomType")).isNull();
+        assertThat(JsonPath.<Integer>read(lines.get(0), "$.pricePerNight")).isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("Should account for every event when the ring overflows")
+    void shouldAccountForEveryEventWhenRingOverflows() throws IOException {
+        // Given
+        Path file = directory.resolve("audit.jsonl");
+        int events = 20_000;
+
+        // When
+        long dropped;
+        try (AuditLog auditLog = AuditLog.open(file, 4)) {
+            for (int i = 0; i < events; i++) {
+                auditLog.onUserSet(i, i);
+            }
+            dropped = auditLog.droppedCount();
+        }
+
+        // Then - written plus reported as dropped is everything
+        List<String> lines = Files.readAllLines(file);
+        long written = lines.stream().filter(line -> line.contains("\"USER_SET\"")).count();
+        long reported = lines.stream().filter(line -> line.contains("\"DROPPED\""))
+                .mapToLong(line -> JsonPath.<Integer>read(line, "$.count"))
+                .sum();
+        assertThat(written + reported).isEqualTo(events);
+        assertThat(reported).isEqualTo(dropped);
+    }
+
+}
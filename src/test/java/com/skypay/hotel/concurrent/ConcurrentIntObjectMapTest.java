@@ -0,0 +1,134 @@
+package com.skypay.hotel.concurrent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ConcurrentIntObjectMap Tests")
+class ConcurrentIntObjectMapTest {
+
+    private ConcurrentIntObjectMap<String> map;
+
+    @BeforeEach
+    void setUp() {
+        map = new ConcurrentIntObjectMap<>();
+    }
+
+    @Test
+    @DisplayName("Should return null for missing key")
+    void shouldReturnNullForMissingKey() {
+        // When & Then
+        assertThat(map.get(42)).isNull();
+        assertThat(map.containsKey(42)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find every key after growing")
+    void shouldFindEveryKeyAfterGrowing() {
+        // When
+        for (int key = 1; key <= 10_000; key++) {
+            map.put(key * 31, "v" + key);
+        }
+
+        // Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key * 31)).isEqualTo("v" + key);
+        }
+        assertThat(map.get(7)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep insertion position when updating a key")
+    void shouldKeepInsertionPositionWhenUpdatingKey() {
+        // Given
+        map.put(3, "a");
+        map.put(1, "b");
+        map.put(2, "c");
+
+        // When
+        String previous = map.put(3, "z");
+
+        // Then
+        assertThat(previous).isEqualTo("a");
+        assertThat(map.values()).containsExactly("z", "b", "c");
+    }
+
+    @Test
+    @DisplayName("Should not replace existing value on putIfAbsent")
+    void shouldNotReplaceExistingValueOnPutIfAbsent() {
+        // Given
+        map.put(1, "a");
+
+        // When
+        String existing = map.putIfAbsent(1, "b");
+
+        // Then
+        assertThat(existing).isEqualTo("a");
+        assertThat(map.get(1)).isEqualTo("a");
+    }
+
+    @Test
+    @DisplayName("Should iterate from latest to oldest")
+    void shouldIterateFromLatestToOldest() {
+        // Given
+        map.put(10, "first");
+        map.put(5, "second");
+        map.put(7, "third");
+
+        // When
+        List<String> visited = new ArrayList<>();
+        map.forEachDescending(visited::add);
+
+        // Then
+        assertThat(visited).containsExactly("third", "second", "first");
+    }
+
+    @Test
+    @DisplayName("Should create value once with computeIfAbsent")
+    void shouldCreateValueOnceWithComputeIfAbsent() {
+        // Given
+        AtomicInteger created = new AtomicInteger();
+
+        // When
+        String first = map.computeIfAbsent(1, k -> "v" + created.incrementAndGet());
+        String second = map.computeIfAbsent(1, k -> "v" + created.incrementAndGet());
+
+        // Then
+        assertThat(first).isEqualTo("v1");
+        assertThat(second).isEqualTo("v1");
+        assertThat(created.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should never lose published keys while a writer grows the table")
+    void shouldNeverLosePublishedKeysWhileWriterGrowsTable() throws InterruptedException {
+        // Given
+        AtomicBoolean missing = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            while (map.size() < 50_000) {
+                int published = map.size();
+                if (published > 0 && map.get(published) == null) {
+                    missing.set(true);
+                }
+            }
+        });
+        reader.start();
+
+        // When
+        for (int key = 1; key <= 50_000; key++) {
+            map.put(key, "v");
+        }
+        reader.join();
+
+        // Then
+        assertThat(missing).isFalse();
+    }
+}
@@ -0,0 +1,169 @@
+package com.skypay.hotel.engine;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.exception.EntityNotFoundException;
+import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.RoomNotAvailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BookingEngine Tests")
+class BookingEngineTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+
+    private BookingEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        // Small ring so the concurrent test wraps it many times
+        engine = new BookingEngine(64);
+        engine.setRoom(1, RoomType.STANDARD, 1000);
+        engine.setUser(1, 5000).join();
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.close();
+    }
+
+    @Test
+    @DisplayName("Should apply the booking rules of the HotelService")
+    void shouldApplyBookingRules() {
+        // When
+        Booking booking = engine.bookRoom(request(1, 1, CHECK_IN, 2)).join();
+
+        // Then - the checkout day is still held, like the BookingService
+        assertThat(booking.getTotalCost()).isEqualTo(2000);
+        assertThat(booking.getRoomType()).isEqualTo(RoomType.STANDARD);
+        assertThatThrownBy(() -> engine.bookRoom(request(1, 1, CHECK_IN.plusDays(2), 1)).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(RoomNotAvailableException.class);
+        assertThatThrownBy(() -> engine.bookRoom(request(1, 1, CHECK_IN.plusDays(3), 4)).join())
+                .hasCauseInstanceOf(InsufficientBalanceException.class);
+        assertThatThrownBy(() -> engine.bookRoom(request(2, 1, CHECK_IN.plusDays(3), 1)).join())
+                .hasCauseInstanceOf(EntityNotFoundException.class);
+        assertThat(engine.bookRoom(request(1, 1, CHECK_IN.plusDays(3), 1)).join().getId()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should never double-book a room under concurrent callers")
+    void shouldNeverDoubleBookUnderConcurrentCallers() throws Exception {
+        // Given - one booking possible per room and per period
+        engine.setUser(2, Integer.MAX_VALUE).join();
+        int threads = 8;
+        int periods = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // When - every thread tries every period
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                List<CompletableFuture<Booking>> bookings = new ArrayList<>();
+                for (int p = 0; p < periods; p++) {
+                    bookings.add(engine.bookRoom(request(1, 2, CHECK_IN.plusDays(2L * p), 1)));
+                }
+                int booked = 0;
+                for (CompletableFuture<Booking> booking : bookings) {
+                    booked += booking.handle((b, e) -> b == null ? 0 : 1).join();
+                }
+                return booked;
+            }));
+        }
+        int booked = 0;
+        for (Future<Integer> future : futures) {
+            booked += future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(booked).isEqualTo(periods);
+        assertThat(engine.bookingCount()).isEqualTo(periods);
+    }
+
+    @Test
+    @DisplayName("Should park callers on a full ring until the writer frees a slot")
+    void shouldParkCallersOnFullRing() throws Exception {
+        // Given - the writer held by a stage attached without an async variant,
+        // retried until the stage runs on the writer rather than on this thread
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean held = new AtomicBoolean();
+        while (!held.get()) {
+            CompletableFuture<Void> stage = engine.setUser(2, 1000).thenRun(() -> {
+                if (Thread.currentThread().getName().equals("booking-engine")) {
+                    held.set(true);
+                    awaitQuietly(release);
+                }
+            });
+            while (!held.get() && !stage.isDone()) {
+                Thread.onSpinWait();
+            }
+        }
+
+        // When - more commands than the ring holds
+        Thread caller = Thread.ofPlatform().start(() -> {
+            for (int i = 1; i <= 100; i++) {
+                engine.setUser(3, i * 100L);
+            }
+        });
+        while (caller.getState() != Thread.State.WAITING) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Then
+        caller.join();
+        assertThat(engine.bookRoom(request(1, 3, CHECK_IN, 10)).join().getTotalCost()).isEqualTo(10_000);
+    }
+
+    @Test
+    @DisplayName("Should apply pending commands on close and reject later ones")
+    void shouldApplyPendingCommandsOnClose() {
+        // Given
+        CompletableFuture<Booking> pending = engine.bookRoom(request(1, 1, CHECK_IN, 1));
+
+        // When
+        engine.close();
+
+        // Then
+        assertThat(pending).isCompleted();
+        assertThat(engine.bookRoom(request(1, 1, CHECK_IN.plusDays(5), 1)))
+                .isCompletedExceptionally();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BookingRequest request(int roomNumber, int userId, LocalDate checkIn, int nights) {
+        return BookingRequest.builder()
+                .userId(userId)
+                .roomNumber(roomNumber)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(nights))
+                .build();
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.skypay.hotel.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookingIntervalIndex Tests")
+class BookingIntervalIndexTest {
+
+    private BookingIntervalIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingIntervalIndex();
+    }
+
+    @Test
+    @DisplayName("Should report unknown room as free")
+    void shouldReportUnknownRoomAsFree() {
+        // When & Then
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should treat period bounds as inclusive")
+    void shouldTreatPeriodBoundsAsInclusive() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+
+        // When & Then
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 12))).isFalse();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 7))).isFalse();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 11), LocalDate.of(2026, 7, 12))).isTrue();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 6))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should detect long stay starting well before requested period")
+    void shouldDetectLongStayStartingWellBeforeRequestedPeriod() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31));
+        index.add(1, 2, LocalDate.of(2027, 1, 5), LocalDate.of(2027, 1, 6));
+
+        // When & Then
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9))).isFalse();
+        assertThat(index.isFree(1, LocalDate.of(2027, 1, 1), LocalDate.of(2027, 1, 3))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should find the gap between consecutive bookings")
+    void shouldFindGapBetweenConsecutiveBookings() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 5));
+        index.add(1, 2, LocalDate.of(2026, 7, 6), LocalDate.of(2026, 7, 20));
+        index.add(1, 3, LocalDate.of(2026, 7, 25), LocalDate.of(2026, 7, 27));
+
+        // When & Then
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 15), LocalDate.of(2026, 7, 16))).isFalse();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 21), LocalDate.of(2026, 7, 24))).isTrue();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 21), LocalDate.of(2026, 7, 25))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should visit only the periods overlapping the requested days")
+    void shouldVisitOnlyOverlappingPeriods() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 7, 5));
+        index.add(1, 2, LocalDate.of(2026, 7, 6), LocalDate.of(2026, 7, 20));
+        index.add(1, 3, LocalDate.of(2026, 7, 25), LocalDate.of(2026, 7, 27));
+        List<Long> checkIns = new ArrayList<>();
+
+        // When
+        index.forEachOverlapping(1, LocalDate.of(2026, 7, 10).toEpochDay(), LocalDate.of(2026, 7, 25).toEpochDay(),
+                (checkInDay, checkOutDay) -> checkIns.add(checkInDay));
+
+        // Then
+        assertThat(checkIns).containsExactly(
+                LocalDate.of(2026, 7, 6).toEpochDay(), LocalDate.of(2026, 7, 25).toEpochDay());
+    }
+
+    @Test
+    @DisplayName("Should isolate rooms from each other")
+    void shouldIsolateRoomsFromEachOther() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+
+        // When & Then
+        assertThat(index.isFree(2, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should free a removed period and keep the others")
+    void shouldFreeRemovedPeriod() {
+        // Given
+        index.add(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9));
+        index.add(1, 2, LocalDate.of(2026, 7, 12), LocalDate.of(2026, 7, 14));
+
+        // When
+        index.remove(1, 1, LocalDate.of(2026, 7, 7));
+
+        // Then
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9))).isTrue();
+        assertThat(index.isFree(1, LocalDate.of(2026, 7, 13), LocalDate.of(2026, 7, 15))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep periods sorted whatever the order they are added and removed in")
+    void shouldKeepPeriodsSortedWhateverTheOrder() {
+        // Given - two-night stays every third day, added out of order, every fifth one removed
+        LocalDate first = LocalDate.of(2026, 7, 1);
+        for (int i = 0; i < 100; i++) {
+            int stay = (i * 37) % 100;
+            index.add(1, stay + 1, first.plusDays(3L * stay), first.plusDays(3L * stay + 1));
+        }
+        for (int stay = 0; stay < 100; stay += 5) {
+            index.remove(1, stay + 1, first.plusDays(3L * stay));
+        }
+        List<Long> checkIns = new ArrayList<>();
+
+        // When
+        index.forEachOverlapping(1, first.toEpochDay(), first.plusDays(300).toEpochDay(),
+                (checkInDay, checkOutDay) -> checkIns.add(checkInDay));
+
+        // Then
+        assertThat(checkIns).hasSize(80).isSorted().startsWith(first.plusDays(3).toEpochDay());
+        assertThat(index.isFree(1, first, first.plusDays(1))).isTrue();
+        assertThat(index.isFree(1, first.plusDays(4), first.plusDays(5))).isFalse();
+        assertThat(index.isFree(1, first.plusDays(5), first.plusDays(5))).isTrue();
+    }
+
+}
@@ -0,0 +1,205 @@
+package com.skypay.hotel.index;
+
+import com.skypay.hotel.entity.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RoomCalendar Tests")
+class RoomCalendarTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 7, 1);
+
+    private BookingIntervalIndex periods;
+    private MovableClock clock;
+    private RoomCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        periods = new BookingIntervalIndex();
+        clock = new MovableClock(TODAY);
+        calendar = new RoomCalendar(periods, clock);
+    }
+
+    @Test
+    @DisplayName("Should treat period bounds as inclusive")
+    void shouldTreatPeriodBoundsAsInclusive() {
+        // Given
+        book(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+
+        // When & Then
+        assertThat(calendar.isFree(1, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 12))).isFalse();
+        assertThat(calendar.isFree(1, LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 7))).isFalse();
+        assertThat(calendar.isFree(1, LocalDate.of(2026, 7, 11), LocalDate.of(2026, 7, 12))).isTrue();
+        assertThat(calendar.isFree(1, LocalDate.of(2026, 7, 5), LocalDate.of(2026, 7, 6))).isTrue();
+        assertThat(calendar.isFree(2, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should fall back to interval index beyond the horizon")
+    void shouldFallBackToIntervalIndexBeyondHorizon() {
+        // Given
+        LocalDate farCheckIn = TODAY.plusDays(RoomCalendar.HORIZON_NIGHTS + 100);
+        book(1, 1, TODAY.plusDays(10), TODAY.plusDays(12));
+        book(1, 2, farCheckIn, farCheckIn.plusDays(3));
+
+        // When & Then
+        assertThat(calendar.isFree(1, farCheckIn.plusDays(1), farCheckIn.plusDays(2))).isFalse();
+        assertThat(calendar.isFree(1, farCheckIn.plusDays(4), farCheckIn.plusDays(5))).isTrue();
+        assertThat(calendar.bookedNights(1, TODAY, farCheckIn.plusDays(10))).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should count booked nights with popcount")
+    void shouldCountBookedNights() {
+        // Given
+        book(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+        book(1, 2, LocalDate.of(2026, 7, 20), LocalDate.of(2026, 7, 22));
+
+        // When & Then
+        assertThat(calendar.bookedNights(1, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1))).isEqualTo(5);
+        assertThat(calendar.bookedNights(1, LocalDate.of(2026, 7, 8), LocalDate.of(2026, 7, 21))).isEqualTo(3);
+        assertThat(calendar.bookedNights(2, LocalDate.of(2026, 7, 1), LocalDate.of(2026, 8, 1))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should pick up bookings entering the horizon when it rolls")
+    void shouldPickUpBookingsEnteringHorizonWhenItRolls() {
+        // Given - booked beyond the horizon, next to a stay inside it
+        LocalDate farCheckIn = TODAY.plusDays(RoomCalendar.HORIZON_NIGHTS + 5);
+        book(1, 1, TODAY.plusDays(2), TODAY.plusDays(4));
+        book(1, 2, farCheckIn, farCheckIn.plusDays(2));
+
+        // When - a month later the far booking is inside the horizon
+        clock.today = TODAY.plusDays(30);
+
+        // Then
+        assertThat(calendar.isFree(1, farCheckIn, farCheckIn.plusDays(1))).isFalse();
+        assertThat(calendar.isFree(1, farCheckIn.plusDays(3), farCheckIn.plusDays(4))).isTrue();
+        assertThat(calendar.bookedNights(1, farCheckIn.minusDays(10), farCheckIn.plusDays(10))).isEqualTo(2);
+        assertThat(calendar.bookedNights(1, TODAY.plusDays(30), farCheckIn.plusDays(10))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should find the free rooms of a period by type and price")
+    void shouldFindFreeRoomsByTypeAndPrice() {
+        // Given
+        calendar.registerRoom(1, RoomType.STANDARD, 1000);
+        calendar.registerRoom(2, RoomType.JUNIOR, 2000);
+        calendar.registerRoom(3, RoomType.STANDARD, 1500);
+        calendar.registerRoom(4, RoomType.STANDARD, 1000);
+        book(4, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+
+        // When & Then - bounds inclusive, as isFree
+        LocalDate checkIn = LocalDate.of(2026, 7, 10);
+        assertThat(calendar.findFree(null, checkIn, checkIn.plusDays(2), Long.MAX_VALUE)).containsExactly(1, 2, 3);
+        assertThat(calendar.findFree(RoomType.STANDARD, checkIn, checkIn.plusDays(2), Long.MAX_VALUE))
+                .containsExactly(1, 3);
+        assertThat(calendar.findFree(RoomType.STANDARD, checkIn, checkIn.plusDays(2), 1200)).containsExactly(1);
+        assertThat(calendar.findFree(RoomType.STANDARD, checkIn.plusDays(1), checkIn.plusDays(2), 1200))
+                .containsExactly(1, 4);
+    }
+
+    @Test
+    @DisplayName("Should list a room under its new type and price on update")
+    void shouldListRoomUnderItsNewTypeOnUpdate() {
+        // Given
+        calendar.registerRoom(1, RoomType.STANDARD, 1000);
+        calendar.registerRoom(2, RoomType.SUITE, 3000);
+
+        // When
+        calendar.registerRoom(1, RoomType.SUITE, 2500);
+
+        // Then - registration order is kept
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        assertThat(calendar.findFree(RoomType.STANDARD, checkIn, checkIn.plusDays(1), Long.MAX_VALUE)).isEmpty();
+        assertThat(calendar.findFree(RoomType.SUITE, checkIn, checkIn.plusDays(1), Long.MAX_VALUE))
+                .containsExactly(1, 2);
+        assertThat(calendar.findFree(RoomType.SUITE, checkIn, checkIn.plusDays(1), 2500)).containsExactly(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the booked nights of a room across a type change")
+    void shouldKeepBookedNightsAcrossTypeChange() {
+        // Given
+        calendar.registerRoom(1, RoomType.STANDARD, 1000);
+        book(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+
+        // When - moved to another type and back, booked and cancelled meanwhile
+        calendar.registerRoom(1, RoomType.SUITE, 2500);
+        book(1, 2, LocalDate.of(2026, 7, 20), LocalDate.of(2026, 7, 22));
+        cancel(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 10));
+        calendar.registerRoom(1, RoomType.STANDARD, 1000);
+
+        // Then
+        assertThat(calendar.findFree(RoomType.STANDARD, LocalDate.of(2026, 7, 8), LocalDate.of(2026, 7, 9), 1000))
+                .containsExactly(1);
+        assertThat(calendar.findFree(RoomType.STANDARD, LocalDate.of(2026, 7, 21), LocalDate.of(2026, 7, 23), 1000))
+                .isEmpty();
+        assertThat(calendar.findFree(RoomType.SUITE, LocalDate.of(2026, 7, 8), LocalDate.of(2026, 7, 9), 2500))
+                .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should search the free rooms beyond the horizon and after it rolls")
+    void shouldSearchFreeRoomsBeyondHorizonAndAfterItRolls() {
+        // Given
+        LocalDate farCheckIn = TODAY.plusDays(RoomCalendar.HORIZON_NIGHTS + 5);
+        for (int roomNumber = 1; roomNumber <= 100; roomNumber++) {
+            calendar.registerRoom(roomNumber, RoomType.JUNIOR, 2000);
+        }
+        book(70, 1, farCheckIn, farCheckIn.plusDays(2));
+
+        // When & Then - room by room beyond the horizon, from the bitmaps once inside it
+        assertThat(calendar.findFree(RoomType.JUNIOR, farCheckIn, farCheckIn.plusDays(1), 2000))
+                .hasSize(99).doesNotContain(70);
+        clock.today = TODAY.plusDays(30);
+        assertThat(calendar.findFree(RoomType.JUNIOR, farCheckIn, farCheckIn.plusDays(1), 2000))
+                .hasSize(99).doesNotContain(70).startsWith(1, 2, 3);
+        assertThat(calendar.findFree(RoomType.JUNIOR, farCheckIn.plusDays(3), farCheckIn.plusDays(4), 2000))
+                .hasSize(100);
+    }
+
+    private void book(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        periods.add(roomNumber, bookingId, checkIn, checkOut);
+        calendar.add(roomNumber, checkIn, checkOut);
+    }
+
+    private void cancel(int roomNumber, int bookingId, LocalDate checkIn, LocalDate checkOut) {
+        periods.remove(roomNumber, bookingId, checkIn);
+        calendar.remove(roomNumber, checkIn, checkOut);
+    }
+
+    private static final class MovableClock extends Clock {
+
+        private LocalDate today;
+
+        MovableClock(LocalDate today) {
+            this.today = today;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return today.atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+    }
+
+}
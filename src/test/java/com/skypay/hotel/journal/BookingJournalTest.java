@@ -0,0 +1,297 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.RoomType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookingJournal Tests")
+class BookingJournalTest {
+
+    private static final Duration FLUSH_INTERVAL = Duration.ofMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should read back appended records after reopening")
+    void shouldReadBackAppendedRecordsAfterReopening() throws IOException {
+        // Given
+        Booking booking = booking(1);
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.appendRoomSet(101, RoomType.SUITE, 3000);
+            journal.appendUserSet(7, 5000);
+            journal.awaitDurable(journal.appendBookingCreated(booking));
+        }
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            assertThat(journal.replay(records::add)).isEqualTo(3);
+        }
+
+        // Then
+        assertThat(records.get(0)).isInstanceOfSatisfying(JournalRecord.RoomSet.class, room -> {
+            assertThat(room.roomNumber()).isEqualTo(101);
+            assertThat(room.roomType()).isEqualTo(RoomType.SUITE);
+            assertThat(room.pricePerNight()).isEqualTo(3000);
+        });
+        assertThat(records.get(1)).isEqualTo(
+                new JournalRecord.UserSet(records.get(1).timestamp(), 7, 5000));
+        assertThat(records.get(2)).isInstanceOfSatisfying(JournalRecord.BookingCreated.class, created ->
+                assertThat(created.booking()).usingRecursiveComparison().isEqualTo(booking));
+    }
+
+    @Test
+    @DisplayName("Should roll to a new segment when the current one is full")
+    void shouldRollToNewSegmentWhenFull() throws IOException {
+        // Given
+        try (BookingJournal journal = BookingJournal.open(directory, 256, FLUSH_INTERVAL)) {
+            for (int id = 1; id <= 20; id++) {
+                journal.appendBookingCreated(booking(id));
+            }
+        }
+
+        // When
+        List<Integer> ids = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory, 256, FLUSH_INTERVAL)) {
+            journal.appendBookingCreated(booking(21));
+            journal.replay(record -> ids.add(((JournalRecord.BookingCreated) record).booking().getId()));
+        }
+
+        // Then
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(ids).hasSize(21).isSorted();
+    }
+
+    @Test
+    @DisplayName("Should drop a torn record at the tail and append after the last valid one")
+    void shouldDropTornRecordAtTail() throws IOException {
+        // Given
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.appendUserSet(1, 100);
+            journal.appendUserSet(2, 200);
+        }
+        corruptLastByteOfRecord(2);
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.appendUserSet(3, 300);
+            journal.replay(records::add);
+        }
+
+        // Then
+        assertThat(records).extracting(record -> ((JournalRecord.UserSet) record).userId())
+                .containsExactly(1, 3);
+    }
+
+    @Test
+    @DisplayName("Should stop at a gap in the sequence and set the records past it aside")
+    void shouldStopAtSequenceGap() throws IOException {
+        // Given - the last record of the first segment never reached the disk, the next segment did
+        try (BookingJournal journal = BookingJournal.open(directory, 256, FLUSH_INTERVAL)) {
+            for (int userId = 1; userId <= 8; userId++) {
+                journal.appendUserSet(userId, 100);
+            }
+        }
+        int recordsPerSegment = 256 / recordLength();
+        clearLength(directory.resolve("journal-0000000000.log"), (recordsPerSegment - 1) * recordLength());
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory, 256, FLUSH_INTERVAL)) {
+            journal.appendUserSet(9, 100);
+            journal.replay(records::add);
+        }
+
+        // Then
+        assertThat(records).extracting(record -> ((JournalRecord.UserSet) record).userId())
+                .containsExactly(1, 2, 3, 4, 5, 9);
+        assertThat(directory.resolve("journal-0000000001.log.discarded")).exists();
+    }
+
+    @Test
+    @DisplayName("Should acknowledge concurrent writers once their records are durable")
+    void shouldAcknowledgeConcurrentWriters() throws Exception {
+        // Given
+        try (BookingJournal journal = BookingJournal.open(directory, BookingJournal.DEFAULT_SEGMENT_SIZE, FLUSH_INTERVAL)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int base = t * 100;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 1; i <= 50; i++) {
+                        journal.awaitDurable(journal.appendUserSet(base + i, i));
+                    }
+                }));
+            }
+
+            // When
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+
+        // Then
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            assertThat(journal.replay(record -> {
+            })).isEqualTo(200);
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep amounts past the int range")
+    void shouldKeepAmountsPastIntRange() throws IOException {
+        // Given
+        long price = 5_000_000_000L;
+        Booking booking = booking(1);
+        booking.setPricePerNight(price);
+        booking.setTotalCost(3 * price);
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.appendRoomSet(101, RoomType.SUITE, price);
+            journal.appendUserSet(7, 20 * price);
+            journal.appendBookingCreated(booking);
+            booking.setTotalCost(4 * price);
+            journal.appendBookingModified(booking);
+        }
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.replay(records::add);
+        }
+
+        // Then
+        assertThat(((JournalRecord.RoomSet) records.get(0)).pricePerNight()).isEqualTo(price);
+        assertThat(((JournalRecord.UserSet) records.get(1)).balance()).isEqualTo(20 * price);
+        assertThat(((JournalRecord.BookingCreated) records.get(2)).booking().getTotalCost()).isEqualTo(3 * price);
+        assertThat(((JournalRecord.BookingModified) records.get(3)).totalCost()).isEqualTo(4 * price);
+    }
+
+    @Test
+    @DisplayName("Should read the records written when amounts were ints")
+    void shouldReadIntAmountRecords() throws IOException {
+        // Given - a segment written before amounts were longs
+        LocalDateTime timestamp = LocalDateTime.of(2029, 12, 1, 10, 30);
+        ByteBuffer segment = ByteBuffer.allocate(1024);
+        appendRecord(segment, 1, timestamp, payload -> payload.putInt(101).put((byte) RoomType.SUITE.ordinal()).putInt(3000));
+        appendRecord(segment, 2, timestamp, payload -> payload.putInt(7).putInt(5000));
+        appendRecord(segment, 3, timestamp, payload -> payload.putInt(1).putInt(7).putInt(101)
+                .put((byte) RoomType.SUITE.ordinal()).putInt(3000)
+                .putLong(LocalDate.of(2030, 1, 1).toEpochDay()).putLong(LocalDate.of(2030, 1, 3).toEpochDay())
+                .putInt(2).putInt(6000));
+        appendRecord(segment, 5, timestamp, payload -> payload.putInt(1)
+                .putLong(LocalDate.of(2030, 1, 1).toEpochDay()).putLong(LocalDate.of(2030, 1, 4).toEpochDay())
+                .putInt(9000));
+        Files.write(directory.resolve("journal-0000000000.log"), segment.array());
+
+        // When
+        List<JournalRecord> records = new ArrayList<>();
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            journal.appendUserSet(8, 100);
+            journal.replay(records::add);
+        }
+
+        // Then - new records are appended after the old ones
+        assertThat(records).hasSize(5);
+        assertThat(records.get(0)).isEqualTo(new JournalRecord.RoomSet(timestamp, 101, RoomType.SUITE, 3000));
+        assertThat(records.get(1)).isEqualTo(new JournalRecord.UserSet(timestamp, 7, 5000));
+        assertThat(records.get(2)).isInstanceOfSatisfying(JournalRecord.BookingCreated.class, created -> {
+            assertThat(created.booking().getPricePerNight()).isEqualTo(3000);
+            assertThat(created.booking().getTotalCost()).isEqualTo(6000);
+            assertThat(created.booking().getCheckOut()).isEqualTo(LocalDate.of(2030, 1, 3));
+        });
+        assertThat(((JournalRecord.BookingModified) records.get(3)).totalCost()).isEqualTo(9000);
+        assertThat(((JournalRecord.UserSet) records.get(4)).userId()).isEqualTo(8);
+    }
+
+    private static Booking booking(int id) {
+        return Booking.builder()
+                .id(id)
+                .userId(7)
+                .roomNumber(101)
+                .roomType(RoomType.JUNIOR)
+                .pricePerNight(2000)
+                .checkIn(LocalDate.of(2030, 1, 1))
+                .checkOut(LocalDate.of(2030, 1, 4))
+                .numberOfNights(3)
+                .totalCost(6000)
+                .createdDate(LocalDateTime.of(2029, 12, 1, 10, 30, 15, 123_456_789))
+                .build();
+    }
+
+    /**
+     * Appends a record in the journal layout: length, type, timestamp, payload, CRC32C of type to payload
+     */
+    private static void appendRecord(ByteBuffer segment, int type, LocalDateTime timestamp,
+                                     Consumer<ByteBuffer> payload) {
+        int start = segment.position();
+        segment.putInt(0).put((byte) type)
+                .putLong(timestamp.toEpochSecond(ZoneOffset.UTC)).putInt(timestamp.getNano());
+        payload.accept(segment);
+        CRC32C crc = new CRC32C();
+        crc.update(segment.slice(start + Integer.BYTES, segment.position() - start - Integer.BYTES));
+        segment.putInt((int) crc.getValue());
+        segment.putInt(start, segment.position() - start);
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private int recordLength() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory.resolve("journal-0000000000.log"),
+                StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            return length.flip().getInt();
+        }
+    }
+
+    /**
+     * Zeroes the length of the record at an offset, as if its page was lost
+     */
+    private static void clearLength(Path segment, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Integer.BYTES), offset);
+        }
+    }
+
+    /**
+     * Flips the last checksum byte of the n-th record of the first segment (all records the same size)
+     */
+    private void corruptLastByteOfRecord(int recordNumber) throws IOException {
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files.sorted().findFirst().orElseThrow(),
+                     StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+            channel.read(length, 0);
+            long position = (long) length.flip().getInt() * recordNumber - 1;
+            ByteBuffer last = ByteBuffer.allocate(1);
+            channel.read(last, position);
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) ~last.get(0)}), position);
+        }
+    }
+
+}
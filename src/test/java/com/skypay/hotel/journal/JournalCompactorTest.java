@@ -0,0 +1,144 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("JournalCompactor Tests")
+class JournalCompactorTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should fold the journal into a snapshot and delete the folded segments")
+    void shouldFoldJournalIntoSnapshot() throws IOException {
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            // Given
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.ASYNC);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build());
+            hotel.setUser(User.builder().id(1).balance(10000).build());
+            hotel.bookRoom(request(1, 1, LocalDate.now().plusDays(5), 2));
+
+            // When
+            HotelSnapshot snapshot = new JournalCompactor(journal).compact().orElseThrow();
+
+            // Then
+            assertThat(snapshot.segment()).isEqualTo(1);
+            assertThat(fileNames()).containsExactlyInAnyOrder(
+                    "journal-0000000001.log", "snapshot-0000000001.snap");
+        }
+    }
+
+    @Test
+    @DisplayName("Should skip compaction when nothing was appended since the last snapshot")
+    void shouldSkipCompactionWhenNothingAppended() throws IOException {
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            // Given
+            journal.appendUserSet(1, 100);
+            JournalCompactor compactor = new JournalCompactor(journal);
+            assertThat(compactor.compact()).isPresent();
+
+            // When / Then
+            assertThat(compactor.compact()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should recover from the latest snapshot and the journal tail")
+    void shouldRecoverFromSnapshotAndTail() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        List<Booking> bookedBefore;
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+            JournalCompactor compactor = new JournalCompactor(journal);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build());
+            hotel.setUser(User.builder().id(1).balance(10000).build());
+            hotel.bookRoom(request(1, 1, checkIn, 2));
+            compactor.compact();
+
+            hotel.setRoom(Room.builder().id(2).type(RoomType.JUNIOR).roomPricePerNight(2000).build());
+            hotel.bookRoom(request(1, 2, checkIn, 1));
+            compactor.compact();
+
+            // Left in the tail
+            hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(1200).build());
+            hotel.bookRoom(request(1, 1, checkIn.plusDays(5), 1));
+            bookedBefore = hotel.getBookingService().getAllBookings();
+        }
+
+        // When
+        RecoveryStats stats;
+        HotelServiceImpl hotel = new HotelServiceImpl();
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            stats = new JournalRecovery(hotel.getRoomService(), hotel.getUserService(),
+                    hotel.getBookingService()).recover(journal);
+        }
+
+        // Then
+        assertThat(stats.snapshotSegment()).isEqualTo(2);
+        assertThat(stats.snapshotRecords()).isEqualTo(5);
+        assertThat(stats.journalRecords()).isEqualTo(2);
+
+        assertThat(hotel.getRoomService().getAllRooms()).extracting(Room::getRoomNumber).containsExactly(1, 2);
+        Room room = hotel.getRoomService().findRoomByNumber(1).orElseThrow();
+        assertThat(room.getType()).isEqualTo(RoomType.SUITE);
+        assertThat(room.getRoomPricePerNight()).isEqualTo(1200);
+        assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(4800);
+        assertThat(hotel.getBookingService().getAllBookings())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(bookedBefore);
+        assertThat(hotel.getBookingService().isRoomAvailable(1, checkIn, checkIn.plusDays(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should publish the recovery time as a metric")
+    void shouldPublishRecoveryTimeAsMetric() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RecoveryStats stats = new RecoveryStats(3, 10, 4, Duration.ofMillis(250));
+
+        // When
+        stats.bindTo(registry);
+
+        // Then
+        assertThat(registry.get("hotel.recovery.time").timeGauge().value(TimeUnit.MILLISECONDS)).isEqualTo(250);
+        assertThat(registry.get("hotel.recovery.snapshot.records").gauge().value()).isEqualTo(10);
+        assertThat(registry.get("hotel.recovery.journal.records").gauge().value()).isEqualTo(4);
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).toList();
+        }
+    }
+
+    private static BookingRequest request(int userId, int roomNumber, LocalDate checkIn, int nights) {
+        return BookingRequest.builder()
+                .userId(userId)
+                .roomNumber(roomNumber)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(nights))
+                .build();
+    }
+
+}
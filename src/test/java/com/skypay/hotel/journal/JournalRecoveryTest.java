@@ -0,0 +1,223 @@
+package com.skypay.hotel.journal;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.event.HotelEventListener;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("JournalRecovery Tests")
+class JournalRecoveryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should restore rooms, users, balances and bookings after a restart")
+    void shouldRestoreStateAfterRestart() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        List<Booking> bookedBefore;
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build());
+            hotel.setRoom(Room.builder().id(2).type(RoomType.SUITE).roomPricePerNight(3000).build());
+            hotel.setUser(User.builder().id(1).balance(10000).build());
+            hotel.bookRoom(request(1, 1, checkIn, 2));
+            hotel.bookRooms(List.of(request(1, 2, checkIn, 1), request(1, 2, checkIn.plusDays(2), 1)));
+            // Updated after the booking: the booking keeps its snapshot
+            hotel.setRoom(Room.builder().id(1).type(RoomType.JUNIOR).roomPricePerNight(1500).build());
+            bookedBefore = hotel.getBookingService().getAllBookings();
+        }
+
+        // When
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+
+            // Then
+            assertThat(hotel.getRoomService().getAllRooms()).extracting(Room::getRoomNumber).containsExactly(1, 2);
+            Room room = hotel.getRoomService().findRoomByNumber(1).orElseThrow();
+            assertThat(room.getType()).isEqualTo(RoomType.JUNIOR);
+            assertThat(room.getRoomPricePerNight()).isEqualTo(1500);
+            assertThat(room.getLastModifiedDate()).isAfterOrEqualTo(room.getCreatedDate());
+
+            assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(2000);
+            assertThat(hotel.getBookingService().getAllBookings())
+                    .usingRecursiveFieldByFieldElementComparator()
+                    .containsExactlyElementsOf(bookedBefore);
+            assertThat(hotel.getBookingService().isRoomAvailable(1, checkIn, checkIn.plusDays(1))).isFalse();
+
+            // New bookings continue the ID sequence
+            hotel.setUser(User.builder().id(2).balance(5000).build());
+            hotel.bookRoom(request(2, 1, checkIn.plusDays(5), 1));
+            assertThat(hotel.getBookingService().getAllBookings()).last()
+                    .extracting(Booking::getId).isEqualTo(bookedBefore.size() + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not journal rejected bookings")
+    void shouldNotJournalRejectedBookings() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.ASYNC);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build());
+            hotel.setUser(User.builder().id(1).balance(1000).build());
+
+            // When
+            assertThatThrownBy(() -> hotel.bookRoom(request(1, 1, checkIn, 1)));
+        }
+
+        // Then
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.ASYNC);
+            assertThat(hotel.getBookingService().getAllBookings()).isEmpty();
+            assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(1000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should replay cancellations and modifications, from the journal and from a snapshot")
+    void shouldReplayCancellationsAndModifications() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build());
+            hotel.setUser(User.builder().id(1).balance(10000).build());
+            Booking cancelled = hotel.bookRoom(request(1, 1, checkIn, 2));
+            Booking moved = hotel.bookRoom(request(1, 1, checkIn.plusDays(5), 2));
+            hotel.cancelBooking(cancelled.getId());
+            new JournalCompactor(journal).compact();
+            hotel.modifyBooking(moved.getId(), checkIn.plusDays(1), checkIn.plusDays(5));
+        }
+
+        // When
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+
+            // Then
+            assertThat(hotel.getBookingService().getAllBookings())
+                    .extracting(Booking::getStatus, Booking::getCheckIn, Booking::getTotalCost)
+                    .containsExactly(
+                            tuple(BookingStatus.CANCELLED, checkIn, 2000L),
+                            tuple(BookingStatus.CONFIRMED, checkIn.plusDays(1), 4000L));
+            assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(6000);
+            assertThat(hotel.isRoomAvailable(1, checkIn.plusDays(6), checkIn.plusDays(7))).isTrue();
+            assertThat(hotel.isRoomAvailable(1, checkIn.plusDays(2), checkIn.plusDays(3))).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse a booking without applying it once the journal is closed")
+    void shouldRefuseBookingOnceJournalClosed() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        BookingJournal journal = BookingJournal.open(directory);
+        HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+        hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build());
+        hotel.setUser(User.builder().id(1).balance(10000).build());
+        journal.close();
+
+        // When
+        assertThatThrownBy(() -> hotel.bookRoom(request(1, 1, checkIn, 1)))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(hotel.getBookingService().getAllBookings()).isEmpty();
+        assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(10000);
+        assertThat(hotel.isRoomAvailable(1, checkIn, checkIn.plusDays(1))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should journal a change in flight before closing")
+    void shouldJournalChangeInFlightBeforeClosing() throws Exception {
+        // Given - a listener after the journal closes it once the booking is admitted
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        BookingJournal journal = BookingJournal.open(directory);
+        HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+        hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build());
+        hotel.setUser(User.builder().id(1).balance(10000).build());
+        AtomicReference<Thread> closer = new AtomicReference<>();
+        hotel.addEventListener(new HotelEventListener() {
+            @Override
+            public void beforeChange() {
+                Thread thread = Thread.ofPlatform().start(journal::close);
+                closer.set(thread);
+                while (thread.getState() != Thread.State.WAITING) {
+                    Thread.onSpinWait();
+                }
+            }
+        });
+
+        // When
+        hotel.bookRoom(request(1, 1, checkIn, 1));
+        closer.get().join();
+
+        // Then
+        try (BookingJournal reopened = BookingJournal.open(directory)) {
+            HotelServiceImpl recovered = JournalRecovery.recover(reopened, JournalSyncPolicy.GROUP_COMMIT);
+            assertThat(recovered.getBookingService().getAllBookings()).extracting(Booking::getRoomNumber)
+                    .containsExactly(1);
+            assertThat(recovered.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(7000);
+        }
+    }
+
+    @Test
+    @DisplayName("Should pass a failed completion on to the caller with the change applied")
+    void shouldPassFailedCompletionOnToCaller() throws IOException {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(3);
+        try (BookingJournal journal = BookingJournal.open(directory)) {
+            HotelServiceImpl hotel = JournalRecovery.recover(journal, JournalSyncPolicy.GROUP_COMMIT);
+            hotel.setRoom(Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build());
+            hotel.setUser(User.builder().id(1).balance(10000).build());
+            hotel.addEventListener(new HotelEventListener() {
+                @Override
+                public void afterChanges() {
+                    throw new UncheckedIOException(new IOException("disk full"));
+                }
+            });
+
+            // When
+            assertThatThrownBy(() -> hotel.bookRoom(request(1, 1, checkIn, 1)))
+                    .isInstanceOf(UncheckedIOException.class)
+                    .hasMessageContaining("disk full");
+
+            // Then - the booking stays applied, and the locks were released
+            assertThat(hotel.getBookingService().getAllBookings()).hasSize(1);
+            assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(7000);
+            assertThatThrownBy(() -> hotel.bookRoom(request(1, 1, checkIn.plusDays(2), 1)))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThat(hotel.getBookingService().getAllBookings()).hasSize(2);
+        }
+    }
+
+    private static BookingRequest request(int userId, int roomNumber, LocalDate checkIn, int nights) {
+        return BookingRequest.builder()
+                .userId(userId)
+                .roomNumber(roomNumber)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(nights))
+                .build();
+    }
+
+}
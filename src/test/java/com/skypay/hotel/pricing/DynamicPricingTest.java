@@ -0,0 +1,302 @@
+package com.skypay.hotel.pricing;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.service.impl.HotelServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("DynamicPricing Tests")
+class DynamicPricingTest {
+
+    // A Wednesday
+    private static final LocalDate TODAY = LocalDate.of(2026, 7, 1);
+    private static final long PRICE = 10_000L;
+
+    private static final RatePlan PLAN = RatePlan.builder()
+            .season(new RatePlan.Season(MonthDay.of(7, 1), MonthDay.of(8, 31), 10))
+            .weekday(DayOfWeek.SATURDAY, 20)
+            .weekday(DayOfWeek.SUNDAY, 20)
+            .occupancyTier(new RatePlan.OccupancyTier(50, 50))
+            .build();
+
+    private MovableClock clock;
+    private DynamicPricing pricing;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MovableClock(TODAY);
+        pricing = new DynamicPricing(PLAN, clock);
+        pricing.onRoomSet(1, RoomType.STANDARD, PRICE);
+        pricing.onRoomSet(2, RoomType.STANDARD, PRICE);
+    }
+
+    @Test
+    @DisplayName("Should charge the room price every night with a flat plan")
+    void shouldChargeRoomPriceEveryNightWithFlatPlan() {
+        // Given
+        DynamicPricing flat = new DynamicPricing(RatePlan.flat(), clock);
+
+        // When & Then
+        assertThat(flat.totalCost(room(1, PRICE), TODAY.plusDays(3), TODAY.plusDays(10))).isEqualTo(7 * PRICE);
+        assertThat(flat.totalCost(room(1, PRICE), TODAY.plusDays(3), TODAY.plusDays(3))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should apply season and weekday adjustments night by night")
+    void shouldApplySeasonAndWeekdayAdjustments() {
+        // Given - Friday, Saturday and Sunday nights in summer
+        LocalDate friday = LocalDate.of(2026, 7, 3);
+
+        // When
+        long cost = pricing.totalCost(room(1, PRICE), friday, friday.plusDays(3));
+
+        // Then
+        assertThat(cost).isEqualTo(11_000L + 13_200L + 13_200L);
+        assertThat(pricing.totalCost(room(1, PRICE), LocalDate.of(2026, 9, 2), LocalDate.of(2026, 9, 3)))
+                .isEqualTo(PRICE);
+    }
+
+    @Test
+    @DisplayName("Should wrap a season over the new year")
+    void shouldWrapSeasonOverNewYear() {
+        // Given
+        DynamicPricing winter = new DynamicPricing(RatePlan.builder()
+                .season(new RatePlan.Season(MonthDay.of(12, 20), MonthDay.of(1, 5), -50))
+                .build(), clock);
+
+        // When & Then
+        assertThat(winter.totalCost(room(1, PRICE), LocalDate.of(2026, 12, 30), LocalDate.of(2027, 1, 7)))
+                .isEqualTo(7 * PRICE / 2 + PRICE);
+    }
+
+    @Test
+    @DisplayName("Should reprice only the room whose price changed")
+    void shouldRepriceOnlyTheRoomWhosePriceChanged() {
+        // Given
+        LocalDate checkIn = LocalDate.of(2026, 9, 7);
+        assertThat(pricing.totalCost(room(1, PRICE), checkIn, checkIn.plusDays(2))).isEqualTo(2 * PRICE);
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(2))).isEqualTo(2 * PRICE);
+
+        // When
+        pricing.onRoomSet(1, RoomType.STANDARD, 2 * PRICE);
+
+        // Then
+        assertThat(pricing.totalCost(room(1, 2 * PRICE), checkIn, checkIn.plusDays(2))).isEqualTo(4 * PRICE);
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(2))).isEqualTo(2 * PRICE);
+    }
+
+    @Test
+    @DisplayName("Should follow the occupancy of the booked nights")
+    void shouldFollowOccupancyOfBookedNights() {
+        // Given - Monday to Wednesday in September, one room of two booked
+        LocalDate checkIn = LocalDate.of(2026, 9, 7);
+        Booking booking = booking(1, 1, checkIn, checkIn.plusDays(2));
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(3))).isEqualTo(3 * PRICE);
+
+        // When
+        pricing.onBookingCreated(booking);
+
+        // Then
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(3))).isEqualTo(2 * 15_000L + PRICE);
+
+        // When - moved one night later
+        booking.setCheckIn(checkIn.plusDays(1));
+        booking.setCheckOut(checkIn.plusDays(3));
+        pricing.onBookingModified(booking);
+
+        // Then
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(3))).isEqualTo(PRICE + 2 * 15_000L);
+
+        // When
+        booking.setStatus(BookingStatus.CANCELLED);
+        pricing.onBookingCancelled(booking);
+
+        // Then
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(3))).isEqualTo(3 * PRICE);
+    }
+
+    @Test
+    @DisplayName("Should price stays beyond the horizon night by night")
+    void shouldPriceStaysBeyondHorizonNightByNight() {
+        // Given - a stay across the end of the horizon
+        LocalDate end = TODAY.plusDays(DynamicPricing.HORIZON_NIGHTS);
+        LocalDate checkIn = end.minusDays(10);
+        long expected = 0;
+        for (LocalDate night = checkIn; night.isBefore(end.plusDays(10)); night = night.plusDays(1)) {
+            expected += pricing.totalCost(room(1, PRICE), night, night.plusDays(1));
+        }
+
+        // When & Then
+        assertThat(pricing.totalCost(room(1, PRICE), checkIn, end.plusDays(10))).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should roll the horizon and keep the occupancy")
+    void shouldRollHorizonAndKeepOccupancy() {
+        // Given
+        LocalDate checkIn = LocalDate.of(2026, 9, 7);
+        pricing.load(List.of(), List.of(booking(1, 1, checkIn, checkIn.plusDays(1))));
+        LocalDate farNight = TODAY.plusDays(DynamicPricing.HORIZON_NIGHTS + 20);
+        pricing.onBookingCreated(booking(2, 1, farNight, farNight.plusDays(1)));
+
+        // When
+        clock.today = TODAY.plusDays(30);
+
+        // Then
+        assertThat(pricing.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(1))).isEqualTo(15_000L);
+        assertThat(pricing.totalCost(room(2, PRICE), farNight, farNight.plusDays(1)))
+                .isEqualTo(RatePlan.nightlyRate(PRICE, PLAN.factor(farNight, 1, 2)))
+                .isGreaterThan(RatePlan.nightlyRate(PRICE, PLAN.factor(farNight, 0, 2)));
+    }
+
+    @Test
+    @DisplayName("Should reject a cost past the largest amount")
+    void shouldRejectCostPastLargestAmount() {
+        // When & Then
+        assertThatThrownBy(() -> pricing.totalCost(room(1, Long.MAX_VALUE / 2), TODAY, TODAY.plusDays(3)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should charge the quoted cost and keep it after a price change")
+    void shouldChargeQuotedCostAndKeepItAfterPriceChange() {
+        // Given - every night 50% more
+        HotelServiceImpl hotelService = new HotelServiceImpl();
+        DynamicPricing yearRound = new DynamicPricing(RatePlan.builder()
+                .season(new RatePlan.Season(MonthDay.of(1, 1), MonthDay.of(12, 31), 50))
+                .build());
+        hotelService.addEventListener(yearRound);
+        hotelService.setPricing(yearRound);
+        hotelService.setRoom(room(1, PRICE));
+        hotelService.setUser(User.builder().id(1).balance(100_000L).build());
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+
+        // When
+        Booking booking = hotelService.bookRoom(BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(3))
+                .build());
+        hotelService.setRoom(room(1, 2 * PRICE));
+
+        // Then
+        assertThat(booking.getTotalCost()).isEqualTo(45_000L);
+        assertThat(booking.getPricePerNight()).isEqualTo(PRICE);
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(55_000L);
+        assertThatThrownBy(() -> hotelService.bookRoom(BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn.plusDays(10))
+                .checkOut(checkIn.plusDays(12))
+                .build()))
+                .isInstanceOf(InsufficientBalanceException.class);
+    }
+
+    @Test
+    @DisplayName("Should re-price a moved booking without its own nights and restore it when unpaid")
+    void shouldRepriceMovedBookingAndRestoreItWhenUnpaid() {
+        // Given - two rooms, 50% more from half of them booked
+        HotelServiceImpl hotelService = new HotelServiceImpl();
+        DynamicPricing busy = new DynamicPricing(RatePlan.builder()
+                .occupancyTier(new RatePlan.OccupancyTier(50, 50))
+                .build());
+        hotelService.addEventListener(busy);
+        hotelService.setPricing(busy);
+        hotelService.setRoom(room(1, PRICE));
+        hotelService.setRoom(room(2, PRICE));
+        hotelService.setUser(User.builder().id(1).balance(25_000L).build());
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        Booking booking = hotelService.bookRoom(BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .build());
+        assertThat(booking.getTotalCost()).isEqualTo(2 * PRICE);
+
+        // When - moved onto its own dates
+        hotelService.modifyBooking(booking.getId(), checkIn, checkIn.plusDays(2));
+
+        // Then
+        Booking moved = hotelService.getBookingService().findBookingById(booking.getId()).orElseThrow();
+        assertThat(moved.getTotalCost()).isEqualTo(2 * PRICE);
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(5_000L);
+
+        // When - extended beyond the balance
+        var modifiedDate = moved.getLastModifiedDate();
+        assertThatThrownBy(() -> hotelService.modifyBooking(booking.getId(), checkIn, checkIn.plusDays(4)))
+                .isInstanceOf(InsufficientBalanceException.class);
+
+        // Then
+        Booking stored = hotelService.getBookingService().findBookingById(booking.getId()).orElseThrow();
+        assertThat(stored.getCheckOut()).isEqualTo(checkIn.plusDays(2));
+        assertThat(stored.getTotalCost()).isEqualTo(2 * PRICE);
+        assertThat(stored.getLastModifiedDate()).isEqualTo(modifiedDate);
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(5_000L);
+        assertThat(busy.totalCost(room(2, PRICE), checkIn, checkIn.plusDays(4))).isEqualTo(2 * 15_000L + 2 * PRICE);
+    }
+
+    private static Room room(int roomNumber, long price) {
+        return Room.builder()
+                .id(roomNumber)
+                .type(RoomType.STANDARD)
+                .roomPricePerNight(price)
+                .build();
+    }
+
+    private static Booking booking(int id, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
+        return Booking.builder()
+                .id(id)
+                .userId(1)
+                .roomNumber(roomNumber)
+                .roomType(RoomType.STANDARD)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+    }
+
+    private static final class MovableClock extends Clock {
+
+        private LocalDate today;
+
+        MovableClock(LocalDate today) {
+            this.today = today;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return today.atStartOfDay().toInstant(ZoneOffset.UTC);
+        }
+    }
+
+}
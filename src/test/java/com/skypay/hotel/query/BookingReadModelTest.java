@@ -0,0 +1,103 @@
+package com.skypay.hotel.query;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BookingReadModel Tests")
+class BookingReadModelTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 7);
+
+    private final BookingReadModel readModel = new BookingReadModel();
+
+    @AfterEach
+    void tearDown() {
+        readModel.close();
+    }
+
+    @Test
+    @DisplayName("Should aggregate created bookings per user, room type and check-in date")
+    void shouldAggregateCreatedBookings() {
+        // When
+        readModel.load(List.of(booking(1, 1, RoomType.SUITE, CHECK_IN, 3000)));
+        readModel.onBookingCreated(booking(2, 1, RoomType.STANDARD, CHECK_IN, 1000));
+        readModel.onBookingsCreated(List.of(booking(3, 2, RoomType.SUITE, CHECK_IN.plusDays(1), 6000)));
+        readModel.awaitApplied();
+
+        // Then
+        assertThat(readModel.getUserBookings(1)).extracting(BookingView::id).containsExactly(1, 2);
+        assertThat(readModel.getUserBookings(3)).isEmpty();
+        assertThat(readModel.getRevenueByRoomType())
+                .containsEntry(RoomType.SUITE, 9000L)
+                .containsEntry(RoomType.STANDARD, 1000L)
+                .containsEntry(RoomType.JUNIOR, 0L);
+        assertThat(readModel.getBookingsByCheckIn(CHECK_IN, CHECK_IN.plusDays(1)))
+                .containsExactly(Map.entry(CHECK_IN, 2), Map.entry(CHECK_IN.plusDays(1), 1));
+    }
+
+    @Test
+    @DisplayName("Should apply modifications and cancellations as differences")
+    void shouldApplyModificationsAndCancellationsAsDifferences() {
+        // Given
+        Booking booking = booking(1, 1, RoomType.SUITE, CHECK_IN, 3000);
+        readModel.onBookingCreated(booking);
+
+        // When - the caller changes its instance after the event, the model keeps its copy
+        booking.setCheckIn(CHECK_IN.plusDays(5));
+        booking.setTotalCost(6000);
+        readModel.onBookingModified(booking);
+        booking.setStatus(BookingStatus.CANCELLED);
+        readModel.onBookingCancelled(booking);
+        booking.setTotalCost(-1);
+        readModel.awaitApplied();
+
+        // Then
+        assertThat(readModel.getRevenueByRoomType()).containsEntry(RoomType.SUITE, 0L);
+        assertThat(readModel.getBookingsByCheckIn(CHECK_IN, CHECK_IN.plusDays(10))).isEmpty();
+        assertThat(readModel.getUserBookings(1)).singleElement()
+                .satisfies(view -> {
+                    assertThat(view.status()).isEqualTo(BookingStatus.CANCELLED);
+                    assertThat(view.totalCost()).isEqualTo(6000);
+                });
+    }
+
+    @Test
+    @DisplayName("Should drop the events received once closed without failing the caller")
+    void shouldDropEventsReceivedOnceClosed() {
+        // Given
+        readModel.onBookingCreated(booking(1, 1, RoomType.SUITE, CHECK_IN, 3000));
+        readModel.close();
+
+        // When
+        readModel.onBookingCreated(booking(2, 1, RoomType.SUITE, CHECK_IN, 3000));
+        readModel.onBookingsCreated(List.of(booking(3, 1, RoomType.SUITE, CHECK_IN, 3000)));
+
+        // Then - the events queued before closing were applied
+        assertThat(readModel.getUserBookings(1)).extracting(BookingView::id).containsExactly(1);
+        assertThat(readModel.getRevenueByRoomType()).containsEntry(RoomType.SUITE, 3000L);
+    }
+
+    private static Booking booking(int id, int userId, RoomType roomType, LocalDate checkIn, int totalCost) {
+        return Booking.builder()
+                .id(id)
+                .userId(userId)
+                .roomNumber(100 + id)
+                .roomType(roomType)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(1))
+                .numberOfNights(1)
+                .totalCost(totalCost)
+                .build();
+    }
+
+}
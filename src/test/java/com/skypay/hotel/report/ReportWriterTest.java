@@ -0,0 +1,103 @@
+package com.skypay.hotel.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ReportWriter Tests")
+class ReportWriterTest {
+
+    @Test
+    @DisplayName("Should pad integers like printf left-justified format")
+    void shouldPadIntegersLikePrintf() {
+        // Given
+        StringBuilder out = new StringBuilder();
+        ReportWriter report = new ReportWriter(out);
+        long[] values = {0, 7, -12, 123456, 99999999, Integer.MAX_VALUE, Long.MIN_VALUE};
+
+        // When
+        for (long value : values) {
+            report.append('[').appendPadded(value, 8).append(']');
+        }
+        report.flush();
+
+        // Then
+        StringBuilder expected = new StringBuilder();
+        for (long value : values) {
+            expected.append(String.format("[%-8d]", value));
+        }
+        assertThat(out.toString()).isEqualTo(expected.toString());
+    }
+
+    @Test
+    @DisplayName("Should pad text like printf left-justified format")
+    void shouldPadTextLikePrintf() {
+        // Given
+        StringBuilder out = new StringBuilder();
+
+        // When
+        new ReportWriter(out)
+                .appendPaddedText("SUITE", 10).append('|')
+                .appendPaddedText("VERY_LONG_VALUE", 10).append('|')
+                .appendText(LocalDate.of(2026, 7, 7))
+                .flush();
+
+        // Then
+        assertThat(out.toString())
+                .isEqualTo(String.format("%-10s|%-10s|%s", "SUITE", "VERY_LONG_VALUE", LocalDate.of(2026, 7, 7)));
+    }
+
+    @Test
+    @DisplayName("Should stream output larger than its buffer")
+    void shouldStreamOutputLargerThanItsBuffer() {
+        // Given
+        StringBuilder out = new StringBuilder();
+        ReportWriter report = new ReportWriter(out, 64);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            report.append(i).newLine();
+        }
+        report.flush();
+
+        // Then
+        assertThat(out.toString().lines()).hasSize(1_000);
+        assertThat(out.toString()).endsWith("999" + System.lineSeparator());
+    }
+
+    @Test
+    @DisplayName("Should write header and footer blocks")
+    void shouldWriteHeaderAndFooterBlocks() {
+        // Given
+        StringBuilder out = new StringBuilder();
+        String nl = System.lineSeparator();
+
+        // When
+        new ReportWriter(out).header("ROOMS").footer().flush();
+
+        // Then
+        assertThat(out.toString()).isEqualTo(
+                "\n" + ReportWriter.SEPARATOR + nl + "ROOMS" + nl + ReportWriter.SEPARATOR + nl
+                        + ReportWriter.SEPARATOR + "\n" + nl);
+    }
+
+    @Test
+    @DisplayName("Should reuse its buffer for another target")
+    void shouldReuseItsBufferForAnotherTarget() {
+        // Given
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        ReportWriter report = new ReportWriter(first);
+
+        // When
+        report.append("a");
+        report.reset(second).append("b").flush();
+
+        // Then
+        assertThat(first.toString()).isEqualTo("a");
+        assertThat(second.toString()).isEqualTo("b");
+    }
+}
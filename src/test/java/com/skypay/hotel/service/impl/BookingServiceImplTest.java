@@ -1,6 +1,7 @@
 package com.skypay.hotel.service.impl;
 
 import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
 import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.entity.User;
 import com.skypay.hotel.exception.InvalidDateException;
@@ -14,6 +15,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -299,12 +301,25 @@ class BookingServiceImplTest {
     @DisplayName("Should calculate total cost correctly")
     void shouldCalculateTotalCostCorrectly() {
         // When
-        int totalCost = bookingService.calculateTotalCost(1000, 3);
+        long totalCost = bookingService.calculateTotalCost(1000, 3);
 
         // Then
         assertThat(totalCost).isEqualTo(3000);
     }
 
+    @Test
+    @DisplayName("Should calculate total cost past the int range and reject an overflow")
+    void shouldCalculateTotalCostPastIntRangeAndRejectOverflow() {
+        // When
+        long totalCost = bookingService.calculateTotalCost(100_000_000, 365);
+
+        // Then
+        assertThat(totalCost).isEqualTo(36_500_000_000L);
+        assertThatThrownBy(() -> bookingService.calculateTotalCost(Long.MAX_VALUE / 2, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("overflow");
+    }
+
     @Test
     @DisplayName("Should print all bookings without errors")
     void shouldPrintAllBookingsWithoutErrors() {
@@ -318,6 +333,88 @@ class BookingServiceImplTest {
         bookingService.printAllBookings();
     }
 
+    @Test
+    @DisplayName("Should stream bookings report from latest to oldest")
+    void shouldStreamBookingsReportFromLatestToOldest() {
+        // Given
+        User user = User.builder().id(1).balance(5000).build();
+        when(userService.findUserById(1)).thenReturn(Optional.of(user));
+
+        Booking first = bookingService.createBooking(createBookingData(1, 1, LocalDate.of(2026, 7, 7), LocalDate.of(2026, 7, 9)));
+        Booking second = bookingService.createBooking(createBookingData(1, 2, LocalDate.of(2026, 7, 10), LocalDate.of(2026, 7, 12)));
+        StringBuilder out = new StringBuilder();
+
+        // When
+        bookingService.printAllBookings(out);
+
+        // Then
+        String report = out.toString();
+        assertThat(report.indexOf("Booking #2")).isLessThan(report.indexOf("Booking #1"));
+        assertThat(report).contains(String.format(
+                "Booking #%-3d | User: %-5d (Balance: %-8d) | Room: %-5d (%-10s, %-6d/night) | %s to %s (%d nights) | Total: %-6d | Created: %s%n",
+                first.getId(), 1, 5000, 1, RoomType.STANDARD, 1000,
+                first.getCheckIn(), first.getCheckOut(), 2, 2000, first.getCreatedDate()));
+        assertThat(second.getId()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should free the period of a cancelled booking")
+    void shouldFreePeriodOfCancelledBooking() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Booking booking = bookingService.createBooking(createBookingData(1, 1, checkIn, checkIn.plusDays(3)));
+
+        // When
+        bookingService.cancelBooking(booking, LocalDateTime.now());
+
+        // Then
+        assertThat(bookingService.findBookingById(booking.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getStatus()).isEqualTo(BookingStatus.CANCELLED));
+        assertThat(bookingService.isRoomAvailable(1, checkIn, checkIn.plusDays(3))).isTrue();
+        assertThat(bookingService.countBookedNights(1, checkIn, checkIn.plusDays(3))).isZero();
+        assertThat(bookingService.getAllBookings()).containsExactly(booking);
+    }
+
+    @Test
+    @DisplayName("Should reschedule over its own period at the given cost")
+    void shouldRescheduleOverOwnPeriod() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Booking booking = bookingService.createBooking(createBookingData(1, 1, checkIn, checkIn.plusDays(2)));
+
+        // When
+        boolean moved = bookingService.rescheduleBooking(booking, checkIn.plusDays(1), checkIn.plusDays(4), 3000L,
+                LocalDateTime.now());
+
+        // Then
+        assertThat(moved).isTrue();
+        assertThat(booking.getNumberOfNights()).isEqualTo(3);
+        assertThat(booking.getTotalCost()).isEqualTo(3000);
+        assertThat(bookingService.findBookingById(booking.getId()))
+                .hasValueSatisfying(stored -> assertThat(stored.getCheckOut()).isEqualTo(checkIn.plusDays(4)));
+        assertThat(bookingService.isRoomAvailable(1, checkIn.minusDays(2), checkIn.minusDays(1))).isTrue();
+        assertThat(bookingService.isRoomAvailable(1, checkIn.plusDays(4), checkIn.plusDays(5))).isFalse();
+        assertThat(bookingService.countBookedNights(1, checkIn, checkIn.plusDays(5))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should keep the booking in place when the new period is taken")
+    void shouldKeepBookingInPlaceWhenNewPeriodIsTaken() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Booking booking = bookingService.createBooking(createBookingData(1, 1, checkIn, checkIn.plusDays(2)));
+        bookingService.createBooking(createBookingData(2, 1, checkIn.plusDays(5), checkIn.plusDays(7)));
+
+        // When
+        boolean moved = bookingService.rescheduleBooking(booking, checkIn.plusDays(3), checkIn.plusDays(5), 2000L,
+                LocalDateTime.now());
+
+        // Then
+        assertThat(moved).isFalse();
+        assertThat(booking.getCheckIn()).isEqualTo(checkIn);
+        assertThat(bookingService.isRoomAvailable(1, checkIn, checkIn.plusDays(1))).isFalse();
+    }
+
     private BookingCreationData createBookingData(int userId, int roomNumber, LocalDate checkIn, LocalDate checkOut) {
         int nights = (int) java.time.temporal.ChronoUnit.DAYS.between(checkIn, checkOut);
         int pricePerNight = 1000;
@@ -0,0 +1,235 @@
+package com.skypay.hotel.service.impl;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.event.HotelEventListener;
+import com.skypay.hotel.exception.BookingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("HotelService Concurrency Tests")
+class HotelServiceImplConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 2_000;
+    private static final int ROOMS = 10;
+    private static final int USERS = 20;
+    private static final int INITIAL_BALANCE = 50_000;
+    private static final int PRICE_PER_NIGHT = 100;
+
+    private HotelServiceImpl hotelService;
+
+    @BeforeEach
+    void setUp() {
+        hotelService = new HotelServiceImpl();
+        for (int roomNumber = 1; roomNumber <= ROOMS; roomNumber++) {
+            hotelService.setRoom(Room.builder()
+                    .id(roomNumber)
+                    .type(RoomType.STANDARD)
+                    .roomPricePerNight(PRICE_PER_NIGHT)
+                    .build());
+        }
+        for (int userId = 1; userId <= USERS; userId++) {
+            hotelService.setUser(User.builder()
+                    .id(userId)
+                    .balance(INITIAL_BALANCE)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never double-book a room nor overdraw a user under concurrent load")
+    void shouldNeverDoubleBookNorOverdrawUnderConcurrentLoad() throws Exception {
+        // Given
+        LocalDate origin = LocalDate.now().plusDays(1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Random random = new Random(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    LocalDate checkIn = origin.plusDays(random.nextInt(120));
+                    BookingRequest request = BookingRequest.builder()
+                            .userId(random.nextInt(USERS) + 1)
+                            .roomNumber(random.nextInt(ROOMS) + 1)
+                            .checkIn(checkIn)
+                            .checkOut(checkIn.plusDays(random.nextInt(4) + 1))
+                            .build();
+                    try {
+                        hotelService.bookRoom(request);
+                        succeeded.incrementAndGet();
+                    } catch (BookingException expected) {
+                        // Room taken or balance exhausted
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        // Then
+        List<Booking> bookings = hotelService.getBookingService().getAllBookings();
+        assertThat(bookings).hasSize(succeeded.get());
+
+        Map<Integer, List<Booking>> byRoom = bookings.stream()
+                .collect(Collectors.groupingBy(Booking::getRoomNumber));
+        byRoom.values().forEach(roomBookings -> {
+            roomBookings.sort(Comparator.comparing(Booking::getCheckIn));
+            for (int i = 1; i < roomBookings.size(); i++) {
+                assertThat(roomBookings.get(i).getCheckIn())
+                        .isAfter(roomBookings.get(i - 1).getCheckOut());
+            }
+        });
+
+        Map<Integer, Long> spentByUser = bookings.stream()
+                .collect(Collectors.groupingBy(Booking::getUserId,
+                        Collectors.summingLong(Booking::getTotalCost)));
+        for (User user : hotelService.getUserService().getAllUsers()) {
+            long spent = spentByUser.getOrDefault(user.getId(), 0L);
+            assertThat(user.getBalance()).isGreaterThanOrEqualTo(0);
+            assertThat(user.getBalance()).isEqualTo(INITIAL_BALANCE - spent);
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the creation of a booking before a concurrent cancellation")
+    void shouldReportCreationBeforeConcurrentCancellation() throws Exception {
+        // Given - a cancellation attempted while the creation is being reported
+        List<String> events = new CopyOnWriteArrayList<>();
+        List<Contender<Void>> cancellation = new CopyOnWriteArrayList<>();
+        hotelService.addEventListener(new HotelEventListener() {
+            @Override
+            public void onBookingCreated(Booking booking) {
+                Contender<Void> contender = new Contender<>(() -> {
+                    hotelService.cancelBooking(booking.getId());
+                    return null;
+                });
+                cancellation.add(contender);
+                contender.startAndAwaitParked();
+                events.add("CREATED " + booking.getId());
+            }
+
+            @Override
+            public void onBookingCancelled(Booking booking) {
+                events.add("CANCELLED " + booking.getId());
+            }
+        });
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+
+        // When
+        Booking booking = hotelService.bookRoom(BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .build());
+        cancellation.get(0).get();
+
+        // Then
+        assertThat(events).containsExactly("CREATED " + booking.getId(), "CANCELLED " + booking.getId());
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance())
+                .isEqualTo(INITIAL_BALANCE);
+    }
+
+    @Test
+    @DisplayName("Should report a balance reset before a concurrent charge of the user")
+    void shouldReportBalanceResetBeforeConcurrentCharge() throws Exception {
+        // Given - a booking attempted while the reset is being reported
+        List<String> events = new CopyOnWriteArrayList<>();
+        List<Contender<Booking>> booking = new CopyOnWriteArrayList<>();
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        hotelService.addEventListener(new HotelEventListener() {
+            @Override
+            public void onUserSet(int userId, long balance) {
+                Contender<Booking> contender = new Contender<>(() -> hotelService.bookRoom(BookingRequest.builder()
+                        .userId(userId)
+                        .roomNumber(1)
+                        .checkIn(checkIn)
+                        .checkOut(checkIn.plusDays(1))
+                        .build()));
+                booking.add(contender);
+                contender.startAndAwaitParked();
+                events.add("USER_SET " + balance);
+            }
+
+            @Override
+            public void onBookingCreated(Booking created) {
+                events.add("BOOKING_CREATED " + created.getTotalCost());
+            }
+        });
+
+        // When
+        hotelService.setUser(User.builder().id(1).balance(1_000).build());
+        booking.get(0).get();
+
+        // Then
+        assertThat(events).containsExactly("USER_SET 1000", "BOOKING_CREATED " + PRICE_PER_NIGHT);
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance())
+                .isEqualTo(1_000 - PRICE_PER_NIGHT);
+    }
+
+    /**
+     * A call racing the one being reported, run on its own thread
+     */
+    private static final class Contender<T> extends FutureTask<T> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final Thread thread;
+
+        Contender(Callable<T> call) {
+            super(call);
+            this.thread = new Thread(() -> {
+                started.countDown();
+                run();
+            });
+        }
+
+        /**
+         * Starts the call and waits until it blocks on a lock held by the caller
+         */
+        void startAndAwaitParked() {
+            thread.start();
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            while (thread.getState() != Thread.State.WAITING) {
+                assertThat(isDone()).as("call completed while the caller held the lock").isFalse();
+                Thread.onSpinWait();
+            }
+        }
+    }
+}
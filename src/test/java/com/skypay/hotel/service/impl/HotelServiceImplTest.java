@@ -1,17 +1,24 @@
 package com.skypay.hotel.service.impl;
 
 import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
 import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
 import com.skypay.hotel.entity.Room;
 import com.skypay.hotel.entity.RoomType;
 import com.skypay.hotel.entity.User;
+import com.skypay.hotel.exception.BookingCancelledException;
 import com.skypay.hotel.exception.EntityNotFoundException;
 import com.skypay.hotel.exception.InsufficientBalanceException;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
 import com.skypay.hotel.exception.RoomNotAvailableException;
+import com.skypay.hotel.metrics.BookingMetrics;
 import com.skypay.hotel.model.BookingCreationData;
+import com.skypay.hotel.pricing.StayPricing;
 import com.skypay.hotel.service.BookingService;
 import com.skypay.hotel.service.RoomService;
 import com.skypay.hotel.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,7 +28,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -104,9 +119,9 @@ class HotelServiceImplTest {
         when(userService.findUserById(1)).thenReturn(Optional.of(user));
         when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
         when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
-        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000);
-        when(userService.hasSufficientBalance(1, 2000)).thenReturn(true);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
         when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 2000)).thenReturn(true);
 
         // When
         hotelService.bookRoom(request);
@@ -117,8 +132,8 @@ class HotelServiceImplTest {
         verify(roomService).findRoomByNumber(1);
         verify(bookingService).calculateNumberOfNights(checkIn, checkOut);
         verify(bookingService).calculateTotalCost(1000, 2);
-        verify(userService).hasSufficientBalance(1, 2000);
         verify(bookingService).isRoomAvailable(1, checkIn, checkOut);
+        verify(userService).tryDeductBalance(1, 2000);
 
         ArgumentCaptor<BookingCreationData> captor = ArgumentCaptor.forClass(BookingCreationData.class);
         verify(bookingService).createBooking(captor.capture());
@@ -130,8 +145,6 @@ class HotelServiceImplTest {
         assertThat(captured.pricePerNight()).isEqualTo(1000);
         assertThat(captured.numberOfNights()).isEqualTo(2);
         assertThat(captured.totalCost()).isEqualTo(2000);
-
-        verify(userService).deductBalance(1, 2000);
     }
 
     @Test
@@ -210,17 +223,84 @@ class HotelServiceImplTest {
         when(userService.findUserById(1)).thenReturn(Optional.of(user));
         when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
         when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
-        when(bookingService.calculateTotalCost(3000, 2)).thenReturn(6000);
-        when(userService.hasSufficientBalance(1, 6000)).thenReturn(false);
+        when(bookingService.calculateTotalCost(3000, 2)).thenReturn(6000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 6000)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> hotelService.bookRoom(request))
                 .isInstanceOf(InsufficientBalanceException.class)
                 .hasMessageContaining("Solde insuffisant");
 
-        verify(bookingService, never()).isRoomAvailable(anyInt(), any(), any());
         verify(bookingService, never()).createBooking(any());
-        verify(userService, never()).deductBalance(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should report the balance read at the rejection, not the one looked up before")
+    void shouldReportBalanceReadAtRejection() {
+        // Given - the balance drops between the lookup and the charge
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        LocalDate checkOut = checkIn.plusDays(2);
+        BookingRequest request = BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+        Room room = Room.builder()
+                .id(1)
+                .type(RoomType.SUITE)
+                .roomPricePerNight(3000)
+                .build();
+
+        when(userService.findUserById(1)).thenReturn(
+                Optional.of(User.builder().id(1).balance(10000).build()),
+                Optional.of(User.builder().id(1).balance(500).build()));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(3000, 2)).thenReturn(6000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 6000)).thenReturn(false);
+
+        // When & Then
+        assertThatThrownBy(() -> hotelService.bookRoom(request))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Disponible: 500");
+    }
+
+    @Test
+    @DisplayName("Should time booking stages and count rejections by reason")
+    void shouldTimeBookingStagesAndCountRejections() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        hotelService.setMetrics(new BookingMetrics(registry));
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        LocalDate checkOut = LocalDate.of(2026, 7, 9);
+        BookingRequest request = BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+        when(userService.findUserById(1)).thenReturn(Optional.of(User.builder().id(1).balance(1000).build()));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(
+                Room.builder().id(1).type(RoomType.SUITE).roomPricePerNight(3000).build()));
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(3000, 2)).thenReturn(6000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 6000)).thenReturn(false);
+
+        // When
+        assertThatThrownBy(() -> hotelService.bookRoom(request)).isInstanceOf(InsufficientBalanceException.class);
+
+        // Then
+        assertThat(registry.get("hotel.booking.stage").tag("stage", "availability").timer().count()).isEqualTo(1);
+        assertThat(registry.get("hotel.booking.stage").tag("stage", "deduct_balance").timer().count()).isEqualTo(1);
+        assertThat(registry.get("hotel.booking.stage").tag("stage", "create_booking").timer().count()).isZero();
+        assertThat(registry.get("hotel.booking.rejected").tag("reason", "insufficient_balance").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("hotel.booking.rejected").tag("reason", "room_not_available").counter().count())
+                .isZero();
     }
 
     @Test
@@ -246,8 +326,7 @@ class HotelServiceImplTest {
         when(userService.findUserById(1)).thenReturn(Optional.of(user));
         when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
         when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
-        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000);
-        when(userService.hasSufficientBalance(1, 2000)).thenReturn(true);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
         when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(false);
 
         // When & Then
@@ -257,7 +336,41 @@ class HotelServiceImplTest {
                 .hasMessageContaining("disponible");
 
         verify(bookingService, never()).createBooking(any());
-        verify(userService, never()).deductBalance(anyInt(), anyInt());
+        verify(userService, never()).tryDeductBalance(anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should reject a stay whose total cost overflows as insufficient balance")
+    void shouldRejectOverflowingTotalCostAsInsufficientBalance() {
+        // Given
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        LocalDate checkOut = LocalDate.of(2026, 7, 9);
+        BookingRequest request = BookingRequest.builder()
+                .userId(1)
+                .roomNumber(1)
+                .checkIn(checkIn)
+                .checkOut(checkOut)
+                .build();
+
+        User user = User.builder().id(1).balance(Long.MAX_VALUE).build();
+        Room room = Room.builder()
+                .id(1)
+                .type(RoomType.SUITE)
+                .roomPricePerNight(Long.MAX_VALUE)
+                .build();
+
+        when(userService.findUserById(1)).thenReturn(Optional.of(user));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(Long.MAX_VALUE, 2)).thenThrow(new IllegalArgumentException("Amount overflow"));
+
+        // When & Then
+        assertThatThrownBy(() -> hotelService.bookRoom(request))
+                .isInstanceOf(InsufficientBalanceException.class)
+                .hasMessageContaining("Coût hors limites");
+
+        verify(bookingService, never()).createBooking(any());
+        verify(userService, never()).tryDeductBalance(anyInt(), anyLong());
     }
 
     @Test
@@ -280,4 +393,295 @@ class HotelServiceImplTest {
         // Then
         verify(userService).printAllUsers();
     }
+
+    @Test
+    @DisplayName("Should return one result per batch request without stopping at first failure")
+    void shouldReturnOneResultPerBatchRequestWithoutStoppingAtFirstFailure() {
+        // Given
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        LocalDate checkOut = LocalDate.of(2026, 7, 9);
+        BookingRequest unknownUser = BookingRequest.builder()
+                .userId(999).roomNumber(1).checkIn(checkIn).checkOut(checkOut).build();
+        BookingRequest valid = BookingRequest.builder()
+                .userId(1).roomNumber(1).checkIn(checkIn).checkOut(checkOut).build();
+
+        User user = User.builder().id(1).balance(5000).build();
+        Room room = Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build();
+        Booking booking = Booking.builder().id(1).userId(1).roomNumber(1).build();
+
+        when(userService.findUserById(999)).thenReturn(Optional.empty());
+        when(userService.findUserById(1)).thenReturn(Optional.of(user));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 2000)).thenReturn(true);
+        when(bookingService.createBooking(any())).thenReturn(booking);
+
+        // When
+        List<BookingResult> results = hotelService.bookRooms(List.of(unknownUser, valid));
+
+        // Then
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getError()).isInstanceOf(EntityNotFoundException.class);
+        assertThat(results.get(1).isSuccess()).isTrue();
+        assertThat(results.get(1).getBooking()).isSameAs(booking);
+    }
+
+    @Test
+    @DisplayName("Should reject batch requests without a user or a room on their own")
+    void shouldRejectIncompleteBatchRequestsOnTheirOwn() {
+        // Given
+        LocalDate checkIn = LocalDate.of(2026, 7, 7);
+        LocalDate checkOut = LocalDate.of(2026, 7, 9);
+        BookingRequest noRoom = BookingRequest.builder()
+                .userId(1).checkIn(checkIn).checkOut(checkOut).build();
+        BookingRequest noUser = BookingRequest.builder()
+                .roomNumber(1).checkIn(checkIn).checkOut(checkOut).build();
+        BookingRequest valid = BookingRequest.builder()
+                .userId(1).roomNumber(1).checkIn(checkIn).checkOut(checkOut).build();
+        Booking booking = Booking.builder().id(1).userId(1).roomNumber(1).build();
+
+        when(userService.findUserById(1)).thenReturn(Optional.of(User.builder().id(1).balance(5000).build()));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(
+                Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build()));
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(true);
+        when(userService.tryDeductBalance(1, 2000)).thenReturn(true);
+        when(bookingService.createBooking(any())).thenReturn(booking);
+
+        // When
+        List<BookingResult> results = hotelService.bookRooms(List.of(noRoom, noUser, valid));
+
+        // Then
+        assertThat(results.get(0).getError()).isInstanceOf(InvalidBookingRequestException.class)
+                .hasMessageContaining("roomNumber");
+        assertThat(results.get(1).getError()).isInstanceOf(InvalidBookingRequestException.class)
+                .hasMessageContaining("userId");
+        assertThat(results.get(2).getBooking()).isSameAs(booking);
+        assertThatThrownBy(() -> hotelService.bookRoom(noRoom)).isInstanceOf(InvalidBookingRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should read the room under its lock when booking")
+    void shouldReadRoomUnderItsLockWhenBooking() throws Exception {
+        // Given - a room update attempted while the booking reads the room
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDate checkOut = checkIn.plusDays(2);
+        BookingRequest request = BookingRequest.builder()
+                .userId(1).roomNumber(1).checkIn(checkIn).checkOut(checkOut).build();
+        Room room = Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Future<?>> update = new ArrayList<>();
+
+        when(userService.findUserById(1)).thenReturn(Optional.of(User.builder().id(1).balance(5000).build()));
+        when(roomService.findRoomByNumber(1)).thenAnswer(invocation -> {
+            update.add(executor.submit(() -> hotelService.setRoom(room.toBuilder().roomPricePerNight(2000).build())));
+            assertThatThrownBy(() -> update.get(0).get(200, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+            return Optional.of(room);
+        });
+        when(bookingService.calculateNumberOfNights(checkIn, checkOut)).thenReturn(2);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
+        when(bookingService.isRoomAvailable(1, checkIn, checkOut)).thenReturn(false);
+
+        // When
+        assertThatThrownBy(() -> hotelService.bookRoom(request)).isInstanceOf(RoomNotAvailableException.class);
+        update.get(0).get();
+        executor.shutdown();
+
+        // Then
+        verify(roomService).setRoom(1, RoomType.STANDARD, 2000);
+    }
+
+    @Test
+    @DisplayName("Should reject batch requests overlapping each other on the same room")
+    void shouldRejectBatchRequestsOverlappingEachOther() {
+        // Given - listed latest first, processed by check-in date
+        BookingRequest later = BookingRequest.builder()
+                .userId(1).roomNumber(1)
+                .checkIn(LocalDate.of(2026, 7, 8)).checkOut(LocalDate.of(2026, 7, 10)).build();
+        BookingRequest earlier = BookingRequest.builder()
+                .userId(1).roomNumber(1)
+                .checkIn(LocalDate.of(2026, 7, 7)).checkOut(LocalDate.of(2026, 7, 9)).build();
+
+        User user = User.builder().id(1).balance(5000).build();
+        Room room = Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build();
+
+        when(userService.findUserById(1)).thenReturn(Optional.of(user));
+        when(roomService.findRoomByNumber(1)).thenReturn(Optional.of(room));
+        when(bookingService.calculateNumberOfNights(earlier.getCheckIn(), earlier.getCheckOut())).thenReturn(2);
+        when(bookingService.calculateTotalCost(1000, 2)).thenReturn(2000L);
+        when(bookingService.isRoomAvailable(1, earlier.getCheckIn(), earlier.getCheckOut())).thenReturn(true);
+        when(userService.tryDeductBalance(1, 2000)).thenReturn(true);
+
+        // When
+        List<BookingResult> results = hotelService.bookRooms(List.of(later, earlier));
+
+        // Then
+        assertThat(results.get(1).isSuccess()).isTrue();
+        assertThat(results.get(0).isSuccess()).isFalse();
+        assertThat(results.get(0).getError()).isInstanceOf(RoomNotAvailableException.class);
+        verify(bookingService, times(1)).createBooking(any());
+        verify(bookingService, never()).isRoomAvailable(1, later.getCheckIn(), later.getCheckOut());
+    }
+
+    @Test
+    @DisplayName("Should compute occupancy rate over all rooms")
+    void shouldComputeOccupancyRateOverAllRooms() {
+        // Given
+        LocalDate from = LocalDate.of(2026, 7, 1);
+        LocalDate to = LocalDate.of(2026, 7, 11);
+        Room first = Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build();
+        Room second = Room.builder().id(2).type(RoomType.SUITE).roomPricePerNight(3000).build();
+
+        when(roomService.getAllRooms()).thenReturn(List.of(first, second));
+        when(bookingService.countBookedNights(1, from, to)).thenReturn(10);
+        when(bookingService.countBookedNights(2, from, to)).thenReturn(5);
+        when(bookingService.calculateNumberOfNights(from, to)).thenReturn(10);
+
+        // When
+        double rate = hotelService.getOccupancyRate(from, to);
+
+        // Then
+        assertThat(rate).isEqualTo(0.75);
+    }
+
+    @Test
+    @DisplayName("Should refund the user when cancelling a booking")
+    void shouldRefundUserWhenCancellingBooking() {
+        // Given
+        Booking booking = Booking.builder().id(7).userId(1).roomNumber(1).totalCost(2000).build();
+        when(bookingService.findBookingById(7)).thenReturn(Optional.of(booking));
+        when(userService.creditBalance(1, 2000)).thenReturn(true);
+
+        // When
+        hotelService.cancelBooking(7);
+
+        // Then
+        verify(bookingService).cancelBooking(eq(booking), any());
+        verify(userService).creditBalance(1, 2000);
+    }
+
+    @Test
+    @DisplayName("Should reject changes to a cancelled booking")
+    void shouldRejectChangesToCancelledBooking() {
+        // Given
+        Booking booking = Booking.builder().id(7).userId(1).roomNumber(1).totalCost(2000)
+                .status(BookingStatus.CANCELLED).build();
+        when(bookingService.findBookingById(7)).thenReturn(Optional.of(booking));
+
+        // When & Then
+        assertThatThrownBy(() -> hotelService.cancelBooking(7)).isInstanceOf(BookingCancelledException.class);
+        verify(userService, never()).creditBalance(anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should move the booking back when the user cannot pay the difference")
+    void shouldMoveBookingBackWhenUserCannotPayDifference() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        LocalDateTime lastModified = LocalDateTime.now().minusDays(3);
+        Booking booking = Booking.builder().id(7).userId(1).roomNumber(1).pricePerNight(1000)
+                .checkIn(checkIn).checkOut(checkIn.plusDays(2)).totalCost(2000).lastModifiedDate(lastModified).build();
+        when(bookingService.findBookingById(7)).thenReturn(Optional.of(booking));
+        when(bookingService.calculateNumberOfNights(checkIn, checkIn.plusDays(5))).thenReturn(5);
+        when(bookingService.calculateTotalCost(1000L, 5)).thenReturn(5000L);
+        when(bookingService.rescheduleBooking(eq(booking), any(), any(), anyLong(), any())).thenAnswer(invocation -> {
+            booking.setCheckIn(invocation.getArgument(1));
+            booking.setCheckOut(invocation.getArgument(2));
+            booking.setTotalCost(invocation.getArgument(3));
+            return true;
+        });
+        when(userService.tryDeductBalance(1, 3000)).thenReturn(false);
+        when(userService.findUserById(1)).thenReturn(Optional.of(User.builder().id(1).balance(500).build()));
+
+        // When & Then
+        assertThatThrownBy(() -> hotelService.modifyBooking(7, checkIn, checkIn.plusDays(5)))
+                .isInstanceOf(InsufficientBalanceException.class);
+        verify(bookingService).rescheduleBooking(booking, checkIn, checkIn.plusDays(2), 2000L, lastModified);
+        assertThat(booking.getTotalCost()).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("Should refund the difference when shortening a booking")
+    void shouldRefundDifferenceWhenShorteningBooking() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Booking booking = Booking.builder().id(7).userId(1).roomNumber(1).pricePerNight(1000)
+                .checkIn(checkIn).checkOut(checkIn.plusDays(3)).totalCost(3000).build();
+        when(bookingService.findBookingById(7)).thenReturn(Optional.of(booking));
+        when(bookingService.calculateNumberOfNights(checkIn, checkIn.plusDays(1))).thenReturn(1);
+        when(bookingService.calculateTotalCost(1000L, 1)).thenReturn(1000L);
+        when(bookingService.rescheduleBooking(eq(booking), eq(checkIn), eq(checkIn.plusDays(1)), eq(1000L), any()))
+                .thenAnswer(invocation -> {
+                    booking.setCheckOut(checkIn.plusDays(1));
+                    booking.setTotalCost(invocation.getArgument(3));
+                    return true;
+                });
+        when(userService.creditBalance(1, 2000)).thenReturn(true);
+
+        // When
+        Booking modified = hotelService.modifyBooking(7, checkIn, checkIn.plusDays(1));
+
+        // Then
+        assertThat(modified.getTotalCost()).isEqualTo(1000);
+        verify(userService).creditBalance(1, 2000);
+        verify(userService, never()).tryDeductBalance(anyInt(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Should leave the booking unchanged when the balance cannot take the refund")
+    void shouldLeaveBookingUnchangedWhenBalanceCannotTakeRefund() {
+        // Given - a booking whose user balance was then set near the largest amount
+        HotelServiceImpl hotel = new HotelServiceImpl();
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        hotel.setRoom(Room.builder().id(1).type(RoomType.STANDARD).roomPricePerNight(1000).build());
+        hotel.setUser(User.builder().id(1).balance(5000).build());
+        Booking booking = hotel.bookRoom(BookingRequest.builder()
+                .userId(1).roomNumber(1).checkIn(checkIn).checkOut(checkIn.plusDays(3)).build());
+        hotel.setUser(User.builder().id(1).balance(Long.MAX_VALUE - 500).build());
+
+        // When & Then
+        assertThatThrownBy(() -> hotel.cancelBooking(booking.getId())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> hotel.modifyBooking(booking.getId(), checkIn, checkIn.plusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        Booking stored = hotel.getBookingService().findBookingById(booking.getId()).orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        assertThat(stored.getCheckOut()).isEqualTo(checkIn.plusDays(3));
+        assertThat(stored.getTotalCost()).isEqualTo(3000);
+        assertThat(hotel.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(Long.MAX_VALUE - 500);
+        assertThat(hotel.isRoomAvailable(1, checkIn.plusDays(2), checkIn.plusDays(3))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should price the new dates of a booking with the stay pricing")
+    void shouldPriceNewDatesWithStayPricing() {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(10);
+        Booking booking = Booking.builder().id(7).userId(1).roomNumber(1).pricePerNight(1000)
+                .checkIn(checkIn).checkOut(checkIn.plusDays(2)).totalCost(2000).build();
+        StayPricing pricing = mock(StayPricing.class);
+        hotelService.setPricing(pricing);
+        when(bookingService.findBookingById(7)).thenReturn(Optional.of(booking));
+        when(bookingService.calculateNumberOfNights(checkIn, checkIn.plusDays(3))).thenReturn(3);
+        when(pricing.totalCost(booking, checkIn, checkIn.plusDays(3))).thenReturn(3600L);
+        when(bookingService.rescheduleBooking(eq(booking), eq(checkIn), eq(checkIn.plusDays(3)), eq(3600L), any()))
+                .thenAnswer(invocation -> {
+                    booking.setCheckOut(checkIn.plusDays(3));
+                    booking.setTotalCost(invocation.getArgument(3));
+                    return true;
+                });
+        when(userService.tryDeductBalance(1, 1600L)).thenReturn(true);
+
+        // When
+        Booking modified = hotelService.modifyBooking(7, checkIn, checkIn.plusDays(3));
+
+        // Then
+        assertThat(modified.getTotalCost()).isEqualTo(3600L);
+        verify(userService).tryDeductBalance(1, 1600L);
+        verify(bookingService, never()).calculateTotalCost(anyLong(), anyInt());
+    }
 }
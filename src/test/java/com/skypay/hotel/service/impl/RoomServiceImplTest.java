@@ -54,6 +54,25 @@ class RoomServiceImplTest {
         assertThat(room.get().getLastModifiedDate()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should publish a new version on update and leave the previous one unchanged")
+    void shouldPublishNewVersionOnUpdate() {
+        // Given
+        roomService.setRoom(1, RoomType.STANDARD, 1000);
+        Room previous = roomService.findRoomByNumber(1).orElseThrow();
+
+        // When
+        roomService.setRoom(1, RoomType.SUITE, 3000);
+
+        // Then
+        Room current = roomService.findRoomByNumber(1).orElseThrow();
+        assertThat(current).isNotSameAs(previous);
+        assertThat(current.getVersion()).isEqualTo(previous.getVersion() + 1);
+        assertThat(current.getCreatedDate()).isEqualTo(previous.getCreatedDate());
+        assertThat(previous.getType()).isEqualTo(RoomType.STANDARD);
+        assertThat(previous.getRoomPricePerNight()).isEqualTo(1000);
+    }
+
     @Test
     @DisplayName("Should return empty Optional when room not found")
     void shouldReturnEmptyOptionalWhenRoomNotFound() {
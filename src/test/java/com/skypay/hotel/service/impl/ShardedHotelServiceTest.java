@@ -0,0 +1,149 @@
+package com.skypay.hotel.service.impl;
+
+import com.skypay.hotel.dto.BookingRequest;
+import com.skypay.hotel.dto.BookingResult;
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.Room;
+import com.skypay.hotel.entity.RoomType;
+import com.skypay.hotel.entity.User;
+import com.skypay.hotel.exception.InvalidBookingRequestException;
+import com.skypay.hotel.exception.RoomNotAvailableException;
+import com.skypay.hotel.store.BookingStoreType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("ShardedHotelService Tests")
+class ShardedHotelServiceTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.now().plusDays(10);
+
+    private ShardedHotelService hotelService;
+
+    @BeforeEach
+    void setUp() {
+        // Rooms 100-199 in shard 1, 200-299 in shard 2, 300-399 in shard 0
+        hotelService = new ShardedHotelService(3, 100, BookingStoreType.COLUMNAR);
+        for (int roomNumber : new int[]{101, 201, 301}) {
+            hotelService.setRoom(Room.builder().id(roomNumber).type(RoomType.STANDARD).roomPricePerNight(1000).build());
+        }
+        hotelService.setUser(User.builder().id(1).balance(100_000).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        hotelService.close();
+    }
+
+    @Test
+    @DisplayName("Should keep a room range in one shard and route bookings back by ID")
+    void shouldRouteBookingsBackById() {
+        // When
+        Booking first = hotelService.bookRoom(request(201, CHECK_IN));
+        Booking second = hotelService.bookRoom(request(301, CHECK_IN));
+        Booking cancelled = hotelService.cancelBooking(first.getId());
+        Booking modified = hotelService.modifyBooking(second.getId(), CHECK_IN.plusDays(5), CHECK_IN.plusDays(6));
+
+        // Then
+        assertThat(hotelService.shardOfRoom(201)).isEqualTo(hotelService.shardOfRoom(299)).isEqualTo(2);
+        assertThat(hotelService.shardOfBooking(first.getId())).isEqualTo(2);
+        assertThat(hotelService.shardOfBooking(second.getId())).isZero();
+        assertThat(cancelled.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(modified.getCheckIn()).isEqualTo(CHECK_IN.plusDays(5));
+        assertThat(hotelService.getUserService().findUserById(1).orElseThrow().getBalance()).isEqualTo(99_000);
+    }
+
+    @Test
+    @DisplayName("Should book a batch across shards and return results in request order")
+    void shouldBookBatchAcrossShardsInRequestOrder() {
+        // When
+        List<BookingResult> results = hotelService.bookRooms(List.of(
+                request(301, CHECK_IN),
+                request(101, CHECK_IN),
+                request(301, CHECK_IN),
+                request(201, CHECK_IN)));
+
+        // Then
+        assertThat(results).extracting(result -> result.getRequest().getRoomNumber())
+                .containsExactly(301, 101, 301, 201);
+        assertThat(results).extracting(BookingResult::isSuccess).containsExactly(true, true, false, true);
+        assertThat(results).extracting(result -> result.isSuccess() ? result.getBooking().getId() : 0)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("Should reject a batch request without a room and book the others")
+    void shouldRejectBatchRequestWithoutRoom() {
+        // Given
+        BookingRequest noRoom = BookingRequest.builder()
+                .userId(1).checkIn(CHECK_IN).checkOut(CHECK_IN.plusDays(1)).build();
+
+        // When
+        List<BookingResult> results = hotelService.bookRooms(List.of(request(101, CHECK_IN), noRoom,
+                request(201, CHECK_IN)));
+
+        // Then
+        assertThat(results).extracting(BookingResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isInstanceOf(InvalidBookingRequestException.class);
+        assertThatThrownBy(() -> hotelService.bookRoom(noRoom)).isInstanceOf(InvalidBookingRequestException.class);
+    }
+
+    @Test
+    @DisplayName("Should gather the availability and occupancy of every shard")
+    void shouldGatherAvailabilityAndOccupancyOfEveryShard() {
+        // Given
+        hotelService.bookRoom(request(101, CHECK_IN));
+
+        // When
+        List<Room> available = hotelService.findAvailableRooms(null, CHECK_IN, CHECK_IN.plusDays(1), null);
+        double occupancy = hotelService.getOccupancyRate(CHECK_IN, CHECK_IN.plusDays(1));
+
+        // Then - creation order, across shards
+        assertThat(available).extracting(Room::getRoomNumber).containsExactly(201, 301);
+        assertThat(occupancy).isEqualTo(1.0 / 3);
+        assertThatThrownBy(() -> hotelService.bookRoom(request(101, CHECK_IN)))
+                .isInstanceOf(RoomNotAvailableException.class);
+    }
+
+    @Test
+    @DisplayName("Should print the rooms and bookings of every shard as one list from latest to oldest")
+    void shouldPrintShardsAsOneListFromLatestToOldest() {
+        // Given
+        Booking first = hotelService.bookRoom(request(301, CHECK_IN));
+        Booking second = hotelService.bookRoom(request(101, CHECK_IN));
+        Booking third = hotelService.bookRoom(request(201, CHECK_IN));
+        StringBuilder out = new StringBuilder();
+
+        // When
+        hotelService.printAll(out);
+
+        // Then
+        String report = out.toString();
+        assertThat(report).doesNotContain("SHARD");
+        assertThat(report.indexOf("Room 301")).isLessThan(report.indexOf("Room 201"));
+        assertThat(report.indexOf("Room 201")).isLessThan(report.indexOf("Room 101"));
+        assertThat(report.indexOf("Booking #" + third.getId() + " "))
+                .isLessThan(report.indexOf("Booking #" + second.getId() + " "));
+        assertThat(report.indexOf("Booking #" + second.getId() + " "))
+                .isLessThan(report.indexOf("Booking #" + first.getId() + " "));
+        assertThat(report.indexOf("BOOKINGS")).isGreaterThan(report.indexOf("Room 101"));
+    }
+
+    private static BookingRequest request(int roomNumber, LocalDate checkIn) {
+        return BookingRequest.builder()
+                .userId(1)
+                .roomNumber(roomNumber)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(1))
+                .build();
+    }
+
+}
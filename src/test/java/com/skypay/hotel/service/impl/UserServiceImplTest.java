@@ -7,6 +7,10 @@ import org.junit.jupiter.api.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -51,6 +55,40 @@ class UserServiceImplTest {
         assertThat(user.get().getLastModifiedDate()).isNotNull();
     }
 
+    @Test
+    @DisplayName("Should keep balances past the int range and reject a credit that overflows")
+    void shouldKeepBalancesPastIntRangeAndRejectOverflowingCredit() {
+        // Given
+        userService.setUser(1, 5_000_000_000L);
+
+        // When
+        userService.tryDeductBalance(1, 1);
+
+        // Then
+        assertThat(userService.findUserById(1).orElseThrow().getBalance()).isEqualTo(4_999_999_999L);
+        assertThatThrownBy(() -> userService.creditBalance(1, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(userService.findUserById(1).orElseThrow().getBalance()).isEqualTo(4_999_999_999L);
+    }
+
+    @Test
+    @DisplayName("Should publish a new version on every balance change")
+    void shouldPublishNewVersionOnEveryBalanceChange() {
+        // Given
+        userService.setUser(1, 5000);
+        User previous = userService.findUserById(1).orElseThrow();
+
+        // When
+        userService.deductBalance(1, 1000);
+        userService.creditBalance(1, 500);
+
+        // Then
+        User current = userService.findUserById(1).orElseThrow();
+        assertThat(current.getVersion()).isEqualTo(previous.getVersion() + 2);
+        assertThat(current.getBalance()).isEqualTo(4500);
+        assertThat(previous.getBalance()).isEqualTo(5000);
+    }
+
     @Test
     @DisplayName("Should return empty Optional when user not found")
     void shouldReturnEmptyOptionalWhenUserNotFound() {
@@ -237,4 +275,63 @@ class UserServiceImplTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("User ID must be positive");
     }
+
+    @Test
+    @DisplayName("Should deduct balance atomically when sufficient")
+    void shouldDeductBalanceAtomicallyWhenSufficient() {
+        // Given
+        userService.setUser(1, 5000);
+
+        // When
+        boolean deducted = userService.tryDeductBalance(1, 2000);
+
+        // Then
+        assertThat(deducted).isTrue();
+        assertThat(userService.findUserById(1).get().getBalance()).isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("Should refuse deduction when balance is insufficient")
+    void shouldRefuseDeductionWhenBalanceIsInsufficient() {
+        // Given
+        userService.setUser(1, 1000);
+
+        // When
+        boolean deducted = userService.tryDeductBalance(1, 2000);
+
+        // Then
+        assertThat(deducted).isFalse();
+        assertThat(userService.findUserById(1).get().getBalance()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("Should refuse deduction for non-existent user")
+    void shouldRefuseDeductionForNonExistentUser() {
+        // When & Then
+        assertThat(userService.tryDeductBalance(999, 1)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never lose nor overdraw concurrent deductions")
+    void shouldNeverLoseNorOverdrawConcurrentDeductions() throws InterruptedException {
+        // Given
+        userService.setUser(1, 10_000);
+        AtomicInteger succeeded = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When - 16 000 attempts of 1 for a balance of 10 000
+        for (int i = 0; i < 16_000; i++) {
+            executor.execute(() -> {
+                if (userService.tryDeductBalance(1, 1)) {
+                    succeeded.incrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(succeeded.get()).isEqualTo(10_000);
+        assertThat(userService.findUserById(1).get().getBalance()).isZero();
+    }
 }
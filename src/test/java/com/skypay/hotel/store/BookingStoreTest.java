@@ -0,0 +1,201 @@
+package com.skypay.hotel.store;
+
+import com.skypay.hotel.entity.Booking;
+import com.skypay.hotel.entity.BookingStatus;
+import com.skypay.hotel.entity.RoomType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BookingStore Tests")
+class BookingStoreTest {
+
+    private static final LocalDate CHECK_IN = LocalDate.of(2026, 7, 7);
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should read back every field of a booking")
+    void shouldReadBackEveryField(BookingStoreType type) {
+        // Given
+        BookingStore store = type.create();
+        Booking booking = booking(1, CHECK_IN);
+
+        // When
+        store.append(booking);
+
+        // Then
+        assertThat(store.findById(1)).hasValueSatisfying(stored -> {
+            assertThat(stored).isNotSameAs(booking);
+            assertThat(stored).usingRecursiveComparison().isEqualTo(booking);
+        });
+        assertThat(store.findById(2)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should keep updates made through the store only")
+    void shouldKeepUpdatesMadeThroughStoreOnly(BookingStoreType type) {
+        // Given
+        BookingStore store = type.create();
+        store.append(booking(1, CHECK_IN));
+        Booking copy = store.findById(1).orElseThrow();
+        LocalDateTime cancelledAt = LocalDateTime.of(2026, 6, 2, 9, 30);
+
+        // When
+        copy.setStatus(BookingStatus.CANCELLED);
+        copy.setLastModifiedDate(cancelledAt);
+
+        // Then
+        assertThat(store.findById(1).orElseThrow().getStatus()).isEqualTo(BookingStatus.CONFIRMED);
+        store.update(copy);
+        assertThat(store.findById(1)).hasValueSatisfying(stored -> {
+            assertThat(stored.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+            assertThat(stored.getLastModifiedDate()).isEqualTo(cancelledAt);
+        });
+        assertThatThrownBy(() -> store.update(booking(9, CHECK_IN))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should keep append order across blocks")
+    void shouldKeepAppendOrderAcrossBlocks(BookingStoreType type) {
+        // Given - more rows than a block, IDs not in row order
+        BookingStore store = type.create();
+        int count = 10_000;
+        for (int i = 0; i < count; i++) {
+            store.append(booking(count - i, CHECK_IN.plusDays(i % 30)));
+        }
+
+        // When
+        List<Integer> descending = new ArrayList<>();
+        store.forEachDescending(booking -> descending.add(booking.getId()));
+
+        // Then
+        assertThat(store.size()).isEqualTo(count);
+        assertThat(store.toList()).extracting(Booking::getId).startsWith(count, count - 1).endsWith(1);
+        assertThat(descending).startsWith(1, 2).endsWith(count);
+        assertThat(store.findById(4097)).hasValueSatisfying(stored ->
+                assertThat(stored.getCheckIn()).isEqualTo(CHECK_IN.plusDays((count - 4097) % 30)));
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should index only the IDs of an interleaved sequence")
+    void shouldIndexOnlyInterleavedIds(BookingStoreType type) {
+        // Given - the third store of eight sharing the ID space
+        BookingStore store = type.create();
+        store.interleaveIds(3, 8);
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            store.append(booking(3 + i * 8, CHECK_IN));
+        }
+
+        // Then
+        assertThat(store.findById(3)).isPresent();
+        assertThat(store.findById(3 + 9_999 * 8)).isPresent();
+        assertThat(store.findById(4)).isEmpty();
+        assertThat(store.findById(3 + 10_000 * 8)).isEmpty();
+        assertThatThrownBy(() -> store.append(booking(5, CHECK_IN))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.interleaveIds(1, 2)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should scan the columns of a row range across blocks")
+    void shouldScanRowRangeAcrossBlocks(BookingStoreType type) {
+        // Given
+        BookingStore store = type.create();
+        for (int i = 0; i < 10_000; i++) {
+            store.append(booking(i + 1, CHECK_IN.plusDays(i % 30)));
+        }
+        Booking cancelled = store.findById(5000).orElseThrow();
+        cancelled.setStatus(BookingStatus.CANCELLED);
+        store.update(cancelled);
+
+        // When
+        List<Integer> checkIns = new ArrayList<>();
+        List<Integer> statuses = new ArrayList<>();
+        store.scan(4000, 20_000, (roomNumber, roomType, status, checkIn, checkOut, nights, totalCost) -> {
+            assertThat(roomNumber).isEqualTo(101);
+            assertThat(roomType).isEqualTo(RoomType.SUITE.ordinal());
+            assertThat(checkOut - checkIn).isEqualTo(nights).isEqualTo(2);
+            assertThat(totalCost).isEqualTo(6000);
+            checkIns.add(checkIn);
+            statuses.add(status);
+        });
+
+        // Then - rows past the size are not visited
+        assertThat(checkIns).hasSize(6000).startsWith((int) CHECK_IN.plusDays(4000 % 30).toEpochDay());
+        assertThat(statuses.get(999)).isEqualTo(BookingStatus.CANCELLED.ordinal());
+        assertThat(statuses).filteredOn(status -> status == BookingStatus.CONFIRMED.ordinal()).hasSize(5999);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BookingStoreType.class)
+    @DisplayName("Should never read part of an update")
+    void shouldNeverReadPartOfAnUpdate(BookingStoreType type) throws Exception {
+        // Given - a booking moved back and forth between two stays of different lengths
+        BookingStore store = type.create();
+        store.append(booking(1, CHECK_IN));
+        Booking longer = booking(1, CHECK_IN);
+        longer.setCheckOut(CHECK_IN.plusDays(5));
+        longer.setNumberOfNights(5);
+        longer.setTotalCost(15_000);
+        Booking shorter = booking(1, CHECK_IN);
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            for (int i = 0; running.get(); i++) {
+                store.update(i % 2 == 0 ? longer : shorter);
+            }
+        });
+
+        // When
+        List<String> torn = new ArrayList<>();
+        try {
+            for (int i = 0; i < 20_000; i++) {
+                Booking stored = store.findById(1).orElseThrow();
+                if (stored.getTotalCost() != stored.getNumberOfNights() * 3000L
+                        || !stored.getCheckIn().plusDays(stored.getNumberOfNights()).equals(stored.getCheckOut())) {
+                    torn.add(stored.toString());
+                }
+                store.scan(0, 1, (roomNumber, roomType, status, checkIn, checkOut, nights, totalCost) -> {
+                    if (totalCost != nights * 3000L || checkOut - checkIn != nights) {
+                        torn.add(nights + " nights for " + totalCost);
+                    }
+                });
+            }
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+
+        // Then
+        assertThat(torn).isEmpty();
+    }
+
+    private static Booking booking(int id, LocalDate checkIn) {
+        return Booking.builder()
+                .id(id)
+                .userId(3)
+                .roomNumber(101)
+                .roomType(RoomType.SUITE)
+                .pricePerNight(3000)
+                .checkIn(checkIn)
+                .checkOut(checkIn.plusDays(2))
+                .numberOfNights(2)
+                .totalCost(6000)
+                .createdDate(LocalDateTime.of(2026, 6, 1, 12, 0, 0, 123_456_789))
+                .build();
+    }
+
+}
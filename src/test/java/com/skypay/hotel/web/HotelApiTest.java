@@ -0,0 +1,259 @@
+package com.skypay.hotel.web;
+
+import com.jayway.jsonpath.JsonPath;
+import com.skypay.hotel.query.BookingReadModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@DisplayName("Hotel REST API Tests")
+class HotelApiTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookingReadModel readModel;
+
+    // Each test uses its own room and user numbers: the context is shared
+
+    @Test
+    @DisplayName("Should create a room and a user, then book")
+    void shouldCreateRoomAndUserThenBook() throws Exception {
+        // Given
+        mockMvc.perform(put("/api/rooms/101").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"JUNIOR\",\"pricePerNight\":2000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roomNumber").value(101))
+                .andExpect(jsonPath("$.type").value("JUNIOR"));
+        mockMvc.perform(put("/api/users/101").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"balance\":5000}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(5000));
+
+        // When / Then
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson(101, 101, LocalDate.now().plusDays(3), 2)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.roomNumber").value(101))
+                .andExpect(jsonPath("$.totalCost").value(4000));
+        mockMvc.perform(get("/api/users/101"))
+                .andExpect(jsonPath("$.balance").value(1000));
+    }
+
+    @Test
+    @DisplayName("Should report availability of a room")
+    void shouldReportAvailability() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        mockMvc.perform(put("/api/rooms/102").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"STANDARD\",\"pricePerNight\":1000}"));
+        mockMvc.perform(put("/api/users/102").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":5000}"));
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson(102, 102, checkIn, 1)));
+
+        // When / Then
+        mockMvc.perform(get("/api/availability/102")
+                        .param("checkIn", checkIn.toString())
+                        .param("checkOut", checkIn.plusDays(1).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.available").value(false));
+        mockMvc.perform(get("/api/availability/102")
+                        .param("checkIn", checkIn.plusDays(2).toString())
+                        .param("checkOut", checkIn.plusDays(3).toString()))
+                .andExpect(jsonPath("$.available").value(true));
+    }
+
+    @Test
+    @DisplayName("Should list the free rooms of a type under a price")
+    void shouldListFreeRoomsOfTypeUnderPrice() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        for (int roomNumber : new int[]{105, 106, 107}) {
+            mockMvc.perform(put("/api/rooms/" + roomNumber).contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"type\":\"SUITE\",\"pricePerNight\":" + (roomNumber == 107 ? 9000 : 4000) + "}"));
+        }
+        mockMvc.perform(put("/api/users/105").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":10000}"));
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson(105, 105, checkIn, 2)));
+
+        // When / Then
+        mockMvc.perform(get("/api/availability")
+                        .param("type", "SUITE")
+                        .param("checkIn", checkIn.plusDays(1).toString())
+                        .param("checkOut", checkIn.plusDays(4).toString())
+                        .param("maxPrice", "5000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].roomNumber", hasItem(106)))
+                .andExpect(jsonPath("$[*].roomNumber", not(hasItem(105))))
+                .andExpect(jsonPath("$[*].roomNumber", not(hasItem(107))));
+    }
+
+    @Test
+    @DisplayName("Should modify then cancel a booking")
+    void shouldModifyThenCancelBooking() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(5);
+        mockMvc.perform(put("/api/rooms/108").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"STANDARD\",\"pricePerNight\":1000}"));
+        mockMvc.perform(put("/api/users/108").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":5000}"));
+        String created = mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson(108, 108, checkIn, 1)))
+                .andReturn().getResponse().getContentAsString();
+        int bookingId = JsonPath.read(created, "$.id");
+
+        // When / Then
+        mockMvc.perform(patch("/api/bookings/" + bookingId).contentType(MediaType.APPLICATION_JSON)
+                        .content(String.format("{\"checkIn\":\"%s\",\"checkOut\":\"%s\"}",
+                                checkIn, checkIn.plusDays(3))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalCost").value(3000));
+        mockMvc.perform(get("/api/users/108"))
+                .andExpect(jsonPath("$.balance").value(2000));
+        mockMvc.perform(delete("/api/bookings/" + bookingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+        mockMvc.perform(get("/api/users/108"))
+                .andExpect(jsonPath("$.balance").value(5000));
+        mockMvc.perform(delete("/api/bookings/" + bookingId))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("BookingCancelledException"));
+    }
+
+    @Test
+    @DisplayName("Should map booking errors to problem responses")
+    void shouldMapBookingErrorsToProblemResponses() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(7);
+        mockMvc.perform(put("/api/rooms/103").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"SUITE\",\"pricePerNight\":3000}"));
+        mockMvc.perform(put("/api/users/103").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":1000}"));
+
+        // When / Then
+        mockMvc.perform(get("/api/rooms/999"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.title").value("EntityNotFoundException"));
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson(103, 103, checkIn, 1)))
+                .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson(103, 103, checkIn, 0)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("InvalidDateException"));
+    }
+
+    @Test
+    @DisplayName("Should reject a body missing a required field as a bad request")
+    void shouldRejectBodyMissingRequiredField() throws Exception {
+        // When / Then
+        mockMvc.perform(put("/api/rooms/110").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"type\":\"SUITE\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("IllegalArgumentException"));
+        mockMvc.perform(put("/api/users/110").contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":110,\"checkIn\":\"" + LocalDate.now().plusDays(3)
+                                + "\",\"checkOut\":\"" + LocalDate.now().plusDays(4) + "\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("InvalidBookingRequestException"));
+        mockMvc.perform(get("/api/rooms/110"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return one result per batch request")
+    void shouldReturnOneResultPerBatchRequest() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(9);
+        mockMvc.perform(put("/api/rooms/104").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"STANDARD\",\"pricePerNight\":100}"));
+        mockMvc.perform(put("/api/users/104").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":1000}"));
+
+        // When / Then
+        mockMvc.perform(post("/api/bookings/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + bookingJson(104, 104, checkIn, 1) + ","
+                                + bookingJson(104, 104, checkIn, 1) + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].errorMessage").isNotEmpty());
+    }
+
+    @Test
+    @DisplayName("Should export booking metrics through the actuator")
+    void shouldExportBookingMetrics() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                .content(bookingJson(109, 999, LocalDate.now().plusDays(2), 1)));
+
+        // When / Then
+        mockMvc.perform(get("/actuator/metrics/hotel.booking.rejected").param("tag", "reason:entity_not_found"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.measurements[0].value").value(greaterThanOrEqualTo(1.0)));
+        mockMvc.perform(get("/actuator/metrics/hotel.booking.stage"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[*].tag").value(hasItem("stage")));
+    }
+
+    @Test
+    @DisplayName("Should report a user's bookings from the read model")
+    void shouldReportUserBookingsFromReadModel() throws Exception {
+        // Given
+        LocalDate checkIn = LocalDate.now().plusDays(6);
+        mockMvc.perform(put("/api/rooms/110").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"type\":\"SUITE\",\"pricePerNight\":3000}"));
+        mockMvc.perform(put("/api/users/110").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"balance\":10000}"));
+        mockMvc.perform(post("/api/bookings").contentType(MediaType.APPLICATION_JSON)
+                        .content(bookingJson(110, 110, checkIn, 2)))
+                .andExpect(status().isCreated());
+
+        // When
+        readModel.awaitApplied();
+
+        // Then
+        mockMvc.perform(get("/api/reports/users/110/bookings"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].roomNumber").value(110))
+                .andExpect(jsonPath("$[0].totalCost").value(6000));
+        mockMvc.perform(get("/api/reports/check-ins")
+                        .param("from", checkIn.toString())
+                        .param("to", checkIn.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + checkIn + "']").value(greaterThanOrEqualTo(1)));
+    }
+
+    private static String bookingJson(int userId, int roomNumber, LocalDate checkIn, int nights) {
+        return String.format("{\"userId\":%d,\"roomNumber\":%d,\"checkIn\":\"%s\",\"checkOut\":\"%s\"}",
+                userId, roomNumber, checkIn, checkIn.plusDays(nights));
+    }
+
+}